@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.5.0"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.sidebeam"
@@ -23,6 +24,10 @@ dependencies {
     implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-yaml")
     implementation("com.fasterxml.jackson.core:jackson-databind")
 
+    // Binary response formats (pre-encoded per snapshot, also registered as MVC message converters)
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+
     // GitLab API
     implementation("org.gitlab4j:gitlab4j-api:6.0.0-rc.10")
     implementation("jakarta.ws.rs:jakarta.ws.rs-api:4.0.0")
@@ -31,6 +36,9 @@ dependencies {
     implementation("org.everit.json:org.everit.json.schema:1.5.1")
     implementation("org.json:json:20231013")
 
+    // Compressed bitmaps for metadata filter indexes
+    implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
+
     // Lombok
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
@@ -40,14 +48,40 @@ dependencies {
 
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.projectreactor:reactor-test")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
 
     // Lombok for tests
     testCompileOnly("org.projectlombok:lombok")
     testAnnotationProcessor("org.projectlombok:lombok")
+
+    // Benchmarks (src/jmh)
+    jmh("org.openjdk.jol:jol-core:0.17")
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+
+// Load tests take tens of seconds and print throughput; run them explicitly with ./gradlew loadTest
+tasks.register<Test>("loadTest") {
+    description = "Runs the tests tagged 'load'."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+jmh {
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
 }
@@ -0,0 +1,119 @@
+package com.sidebeam.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code List<Bookmark>} representation with {@link BookmarkColumnStore}:
+ * retained heap (printed once per trial), filter scans and full serialization.
+ *
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BookmarkColumnStoreBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private List<Bookmark> bookmarks;
+    private BookmarkColumnStore store;
+    private ObjectMapper mapper;
+    private String category;
+    private String owner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookmarks = SyntheticBookmarks.generate(size, 42);
+        store = BookmarkColumnStore.from(bookmarks);
+        mapper = new ObjectMapper();
+        category = bookmarks.get(size / 2).getCategory();
+        owner = (String) bookmarks.get(size / 2).getMeta().get("owner");
+
+        long listBytes = GraphLayout.parseInstance(bookmarks).totalSize();
+        long storeBytes = GraphLayout.parseInstance(store).totalSize();
+        System.out.printf("%n[heap] size=%d list=%d KB columnStore=%d KB (%.1f%%)%n",
+                size, listBytes / 1024, storeBytes / 1024, 100.0 * storeBytes / listBytes);
+    }
+
+    @Benchmark
+    public int scanListByCategory() {
+        int matches = 0;
+        for (Bookmark bookmark : bookmarks) {
+            if (category.equals(bookmark.getCategory())) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int scanStoreByCategory() {
+        return store.selectByCategory(category).length;
+    }
+
+    @Benchmark
+    public int scanListByMeta() {
+        int matches = 0;
+        for (Bookmark bookmark : bookmarks) {
+            if (owner.equals(bookmark.getMeta().get("owner"))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int scanStoreByMeta() {
+        return store.select(row -> owner.equals(store.metaValue(row, "owner"))).length;
+    }
+
+    @Benchmark
+    public long serializeList() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        mapper.writeValue(out, bookmarks);
+        return out.count;
+    }
+
+    @Benchmark
+    public long serializeStore() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        mapper.writeValue(out, store.rows());
+        return out.count;
+    }
+
+    /**
+     * Discards output while counting bytes, so serialization cost is measured without buffering.
+     */
+    static final class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
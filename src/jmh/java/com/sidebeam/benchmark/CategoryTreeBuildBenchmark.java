@@ -0,0 +1,58 @@
+package com.sidebeam.benchmark;
+
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.tree.CategoryTreeBuilder;
+import com.sidebeam.bookmark.domain.tree.IndexedCategoryTree;
+import com.sidebeam.bookmark.domain.tree.ParallelCategoryTreeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares category tree construction: the original linear child scan in
+ * {@link CategoryNode#buildTree(List)}, the hashed {@link CategoryTreeBuilder}, and the
+ * fork/join {@link ParallelCategoryTreeBuilder} on the common pool.
+ *
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CategoryTreeBuildBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private List<String> categoryPaths;
+    private ParallelCategoryTreeBuilder parallelBuilder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        categoryPaths = SyntheticBookmarks.categoryPaths(size, 42);
+        parallelBuilder = new ParallelCategoryTreeBuilder();
+    }
+
+    @Benchmark
+    public CategoryNode linear() {
+        return CategoryNode.buildTree(categoryPaths);
+    }
+
+    @Benchmark
+    public IndexedCategoryTree hashed() {
+        return CategoryTreeBuilder.buildTree(categoryPaths);
+    }
+
+    @Benchmark
+    public IndexedCategoryTree parallel() {
+        return parallelBuilder.build(categoryPaths);
+    }
+}
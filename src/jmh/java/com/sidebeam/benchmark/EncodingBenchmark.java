@@ -0,0 +1,95 @@
+package com.sidebeam.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+import com.sidebeam.bookmark.domain.snapshot.EncodedBody;
+import com.sidebeam.bookmark.domain.tree.CategoryTreeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes the bookmark list and the category tree as JSON, CBOR and Smile, and decodes them
+ * back the way a client would. Body sizes (raw and gzip) are printed once per trial.
+ *
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EncodingBenchmark {
+
+    private static final TypeReference<List<Bookmark>> BOOKMARK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private BookmarkRows rows;
+    private CategoryNode tree;
+    private byte[] bookmarksBytes;
+    private byte[] treeBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Bookmark> bookmarks = SyntheticBookmarks.generate(size, 42);
+        rows = BookmarkColumnStore.from(bookmarks).rows();
+        tree = CategoryTreeBuilder.buildTree(bookmarks.stream().map(Bookmark::getCategory).toList()).getRoot();
+
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        mapper = new ObjectMapper().copyWith(factory);
+        bookmarksBytes = mapper.writeValueAsBytes(rows);
+        treeBytes = mapper.writeValueAsBytes(tree);
+
+        EncodedBody bookmarksBody = EncodedBody.of(bookmarksBytes);
+        EncodedBody treeBody = EncodedBody.of(treeBytes);
+        System.out.printf("%n[size] format=%s bookmarks=%d KB (gzip %d KB) categories=%d KB (gzip %d KB)%n", format,
+                bookmarksBytes.length / 1024, bookmarksBody.getGzip().length / 1024,
+                treeBytes.length / 1024, treeBody.getGzip().length / 1024);
+    }
+
+    @Benchmark
+    public byte[] encodeBookmarks() throws IOException {
+        return mapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public List<Bookmark> decodeBookmarks() throws IOException {
+        return mapper.readValue(bookmarksBytes, BOOKMARK_LIST);
+    }
+
+    @Benchmark
+    public byte[] encodeCategories() throws IOException {
+        return mapper.writeValueAsBytes(tree);
+    }
+
+    @Benchmark
+    public CategoryNode decodeCategories() throws IOException {
+        return mapper.readValue(treeBytes, CategoryNode.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sidebeam.benchmark;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.search.EditDistance;
+import com.sidebeam.bookmark.domain.search.SearchIndex;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typo-tolerant search: trigram candidates verified with a bounded edit distance, against a
+ * brute-force bounded edit distance over every word of every bookmark name.
+ *
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FuzzySearchBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private List<Bookmark> bookmarks;
+    private SearchIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookmarks = SyntheticBookmarks.generate(size, 42);
+        index = SearchIndex.build(BookmarkColumnStore.from(bookmarks), List.of("owner"), 64);
+
+        // Words taken from real names with one typo: a substitution, deletion or transposition
+        Random random = new Random(7);
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String word = bookmarks.get(random.nextInt(size)).getName().split(" ")[0].toLowerCase(Locale.ROOT);
+            int at = 1 + random.nextInt(word.length() - 2);
+            switch (random.nextInt(3)) {
+                case 0 -> word = word.substring(0, at) + 'x' + word.substring(at + 1);
+                case 1 -> word = word.substring(0, at) + word.substring(at + 1);
+                default -> word = word.substring(0, at) + word.charAt(at + 1) + word.charAt(at) + word.substring(at + 2);
+            }
+            queries[i] = word;
+        }
+    }
+
+    private String nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public int[] trigramSearch() {
+        return index.search(nextQuery(), 20, true);
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        String query = nextQuery();
+        int max = query.length() < 8 ? 1 : 2;
+        int matches = 0;
+        for (Bookmark bookmark : bookmarks) {
+            for (String word : bookmark.getName().toLowerCase(Locale.ROOT).split(" ")) {
+                if (EditDistance.boundedDamerau(query, word, max) <= max) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sidebeam.benchmark;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.search.SearchIndex;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link SearchIndex} against a linear scan of the bookmark list.
+ * Sample-time mode reports percentiles, including p99, per query shape.
+ *
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private List<Bookmark> bookmarks;
+    private SearchIndex index;
+    private String[] queries;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bookmarks = SyntheticBookmarks.generate(size, 42);
+        BookmarkColumnStore store = BookmarkColumnStore.from(bookmarks);
+        index = SearchIndex.build(store, List.of("owner"), 64);
+
+        // Two-word queries taken from real names, with the last word cut to a prefix
+        Random random = new Random(7);
+        queries = new String[1024];
+        for (int i = 0; i < queries.length; i++) {
+            String[] words = bookmarks.get(random.nextInt(size)).getName().split(" ");
+            String last = words[1].substring(0, 1 + random.nextInt(words[1].length()));
+            queries[i] = words[0] + " " + last;
+        }
+
+        // Single-word queries of one to three letters, which expand to many dictionary terms
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = bookmarks.get(random.nextInt(size)).getName().split(" ")[0];
+            prefixes[i] = word.substring(0, Math.min(word.length(), 1 + random.nextInt(3)));
+        }
+    }
+
+    private String nextQuery() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    @Benchmark
+    public int[] indexSearch() {
+        return index.search(nextQuery(), 20);
+    }
+
+    @Benchmark
+    public int[] indexPrefixSearch() {
+        next = (next + 1) & (prefixes.length - 1);
+        return index.search(prefixes[next], 20);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        String[] words = nextQuery().toLowerCase(Locale.ROOT).split(" ");
+        int matches = 0;
+        for (Bookmark bookmark : bookmarks) {
+            String name = bookmark.getName().toLowerCase(Locale.ROOT);
+            if (name.contains(words[0]) && name.contains(words[1])) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
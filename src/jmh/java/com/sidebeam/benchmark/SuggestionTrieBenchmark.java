@@ -0,0 +1,58 @@
+package com.sidebeam.benchmark;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.search.Suggestion;
+import com.sidebeam.bookmark.domain.search.SuggestionTrie;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead lookups against {@link SuggestionTrie}, for prefixes of one to six characters taken
+ * from bookmark names. The result list of each lookup is included in the measured time.
+ *
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SuggestionTrieBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private SuggestionTrie trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Bookmark> bookmarks = SyntheticBookmarks.generate(size, 42);
+        trie = SuggestionTrie.build(BookmarkColumnStore.from(bookmarks), 10);
+
+        Random random = new Random(7);
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = bookmarks.get(random.nextInt(size)).getName().toLowerCase(Locale.ROOT);
+            prefixes[i] = name.substring(0, Math.min(name.length(), 1 + random.nextInt(6)));
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> suggest() {
+        next = (next + 1) & (prefixes.length - 1);
+        return trie.suggest(prefixes[next], 10);
+    }
+}
@@ -0,0 +1,134 @@
+package com.sidebeam.benchmark;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.PackageNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic bookmark data for benchmarks.
+ * Value distributions roughly follow the production data: few modules, a few hundred
+ * category segments, heavily repeated domains and owners.
+ */
+public final class SyntheticBookmarks {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ra", "to", "su", "vi", "de", "po",
+            "gi", "ba", "ze", "qu", "fa", "ho", "ju", "we", "yo", "xi"
+    };
+    private static final String[] ENVIRONMENTS = {"dev", "stage", "prod"};
+
+    private SyntheticBookmarks() {
+    }
+
+    /**
+     * Generates {@code count} bookmarks with unique URLs.
+     */
+    public static List<Bookmark> generate(int count, long seed) {
+        Random random = new Random(seed);
+        String[] words = words(400, random);
+        String[] segments = words(300, random);
+        String[] domains = domains(Math.max(10, count / 50), words, random);
+        String[] owners = words(50, random);
+        List<List<PackageNode>> packageSets = packageSets(words, random);
+
+        List<Bookmark> bookmarks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String domain = domains[skewed(random, domains.length)];
+            String module = "module-" + random.nextInt(20);
+
+            Map<String, Object> meta = new HashMap<>();
+            meta.put("owner", owners[skewed(random, owners.length)]);
+            meta.put("env", ENVIRONMENTS[random.nextInt(ENVIRONMENTS.length)]);
+            meta.put("module", module);
+
+            bookmarks.add(Bookmark.builder()
+                    .name(capitalize(words[random.nextInt(words.length)]) + " "
+                            + capitalize(words[random.nextInt(words.length)]) + " " + i)
+                    .url("https://" + domain + "/" + words[random.nextInt(words.length)] + "/" + i)
+                    .domain(domain)
+                    .category(categoryPath(segments, random))
+                    .packages(random.nextInt(10) < 3 ? packageSets.get(random.nextInt(packageSets.size())) : null)
+                    .meta(meta)
+                    .sourcePath(module + ":bookmarks-" + random.nextInt(10) + ".yml")
+                    .build());
+        }
+        return bookmarks;
+    }
+
+    /**
+     * Generates {@code count} category paths drawn from a fixed segment vocabulary.
+     */
+    public static List<String> categoryPaths(int count, long seed) {
+        Random random = new Random(seed);
+        String[] segments = words(300, random);
+        List<String> paths = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            paths.add(categoryPath(segments, random));
+        }
+        return paths;
+    }
+
+    private static String categoryPath(String[] segments, Random random) {
+        int depth = 2 + random.nextInt(3);
+        StringBuilder path = new StringBuilder();
+        for (int level = 0; level < depth; level++) {
+            if (level > 0) {
+                path.append('/');
+            }
+            // Upper levels draw from a narrower range so the tree has a realistic fan-out
+            int range = Math.min(segments.length, 8 << (level * 2));
+            path.append(capitalize(segments[random.nextInt(range)]));
+        }
+        return path.toString();
+    }
+
+    private static String[] words(int count, Random random) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = 2 + random.nextInt(3);
+            StringBuilder word = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String[] domains(int count, String[] words, Random random) {
+        String[] domains = new String[count];
+        for (int i = 0; i < count; i++) {
+            domains[i] = words[random.nextInt(words.length)] + i + ".example.com";
+        }
+        return domains;
+    }
+
+    private static List<List<PackageNode>> packageSets(String[] words, Random random) {
+        List<List<PackageNode>> sets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            List<String> paths = new ArrayList<>();
+            for (int j = 0; j < 1 + random.nextInt(3); j++) {
+                paths.add("/" + words[random.nextInt(10)] + "/" + words[random.nextInt(40)]);
+            }
+            sets.add(PackageNode.buildTree(paths).getChildren());
+        }
+        return sets;
+    }
+
+    /**
+     * Picks an index with a skewed distribution so that low indexes repeat more often.
+     */
+    private static int skewed(Random random, int bound) {
+        double value = random.nextDouble();
+        return (int) (value * value * bound);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
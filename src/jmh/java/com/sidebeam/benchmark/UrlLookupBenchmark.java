@@ -0,0 +1,67 @@
+package com.sidebeam.benchmark;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.UrlIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL lookups against the canonical URL index, for URLs already in canonical form (no allocation)
+ * and for URLs that need rewriting (a browser's "https://host/" with a trailing slash and fragment),
+ * half of them unknown. Run with {@code ./gradlew jmh -Pjmh.profilers=gc} to see bytes per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UrlLookupBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private UrlIndex index;
+    private String[] canonical;
+    private String[] rewritten;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Bookmark> bookmarks = SyntheticBookmarks.generate(size, 42);
+        index = UrlIndex.build(BookmarkColumnStore.from(bookmarks));
+
+        Random random = new Random(7);
+        canonical = new String[1024];
+        rewritten = new String[1024];
+        for (int i = 0; i < canonical.length; i++) {
+            String url = index.canonicalUrl(random.nextInt(size));
+            if ((i & 1) == 1) {
+                url = url + "-missing";
+            }
+            canonical[i] = url;
+            rewritten[i] = url + "/#top";
+        }
+    }
+
+    @Benchmark
+    public int canonicalUrl() {
+        next = (next + 1) & (canonical.length - 1);
+        return index.find(canonical[next]);
+    }
+
+    @Benchmark
+    public int rewrittenUrl() {
+        next = (next + 1) & (rewritten.length - 1);
+        return index.find(rewritten[next]);
+    }
+}
@@ -12,4 +12,13 @@ public class CacheProperties {
     private boolean enabled = true;
 
     private long ttl = 3600;
+
+    /**
+     * Seconds clients may reuse a bookmark response before revalidating it with If-None-Match.
+     * When unset, it is derived as the smaller of {@link #ttl} and {@code snapshot.refresh-check-interval}:
+     * the server itself may serve an outdated snapshot for up to one refresh check after the bookmark
+     * cache is evicted, so letting clients reuse a response for the same interval at most doubles that
+     * window, and a response is never reused longer than the cache holds its data.
+     */
+    private Long clientMaxAge;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sidebeam.bookmark.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "filter")
+public class FilterProperties {
+
+    /**
+     * Metadata keys with a secondary index, usable as meta.{key}=value filters on /bookmarks.
+     * List values such as tags are indexed per element; "module" indexes the module column.
+     */
+    private List<String> metaKeys = new ArrayList<>(List.of("owner", "env", "tags", "module"));
+}
@@ -0,0 +1,22 @@
+package com.sidebeam.bookmark.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "lookup")
+public class LookupProperties {
+
+    /**
+     * Maximum number of URLs accepted by one POST /bookmarks/lookup request.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Target false-positive rate of the Bloom filter served at /bookmarks/url-filter.
+     * Halving it adds about 1.44 bits per bookmark URL to the download.
+     */
+    private double urlFilterFalsePositiveRate = 0.01;
+}
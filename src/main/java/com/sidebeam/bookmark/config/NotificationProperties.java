@@ -0,0 +1,29 @@
+package com.sidebeam.bookmark.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification")
+public class NotificationProperties {
+
+    /**
+     * Seconds between keep-alive comments on idle event streams.
+     * One timer is shared by all open streams.
+     */
+    private long heartbeatInterval = 30;
+
+    /**
+     * Seconds after which an event stream is closed so that clients reconnect, spreading
+     * connections across instances. Must be shorter than spring.mvc.async.request-timeout.
+     */
+    private long maxLifetime = 1800;
+
+    /**
+     * Largest number of added, changed and removed bookmarks sent inline with an event.
+     * Larger deltas are left to /bookmarks/changes.
+     */
+    private int maxDeltaSize = 200;
+}
@@ -0,0 +1,21 @@
+package com.sidebeam.bookmark.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+
+    /**
+     * Page size used when a cursor is given without a limit.
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Upper bound for the limit parameter; larger limits are clamped.
+     */
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,46 @@
+package com.sidebeam.bookmark.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search")
+@Validated
+public class SearchProperties {
+
+    /**
+     * Metadata keys whose values are indexed for search, in addition to name, domain and category.
+     */
+    private List<String> metaKeys = new ArrayList<>(List.of("owner", "description"));
+
+    /**
+     * Number of results returned when no limit is given.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Upper bound for the limit parameter; larger limits are clamped.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Maximum number of dictionary terms the last (prefix) query term expands to.
+     * When more terms match, the ones that occur in the most bookmarks are used. Must be at least 1.
+     */
+    @Min(1)
+    private int maxPrefixTerms = 64;
+
+    /**
+     * Number of suggestions precomputed per trie node; also the largest limit /bookmarks/suggest returns.
+     * Must be at least 1.
+     */
+    @Min(1)
+    private int suggestionsPerNode = 10;
+}
@@ -0,0 +1,28 @@
+package com.sidebeam.bookmark.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Number of snapshot versions, including the current one, kept for /snapshots/{version} URLs.
+     */
+    private int historySize = 5;
+
+    /**
+     * Number of diffs between consecutive snapshots kept for /bookmarks/changes.
+     * Clients holding an older version receive the full list instead.
+     */
+    private int diffHistorySize = 50;
+
+    /**
+     * Seconds between checks for an evicted bookmark cache. A new snapshot is then built and
+     * published right away instead of on the next request, so event stream clients learn of it.
+     */
+    private long refreshCheckInterval = 10;
+}
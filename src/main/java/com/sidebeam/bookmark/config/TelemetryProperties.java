@@ -0,0 +1,61 @@
+package com.sidebeam.bookmark.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "telemetry")
+public class TelemetryProperties {
+
+    /**
+     * Seconds between folding the counted clicks into the popularity scores.
+     */
+    private long aggregationInterval = 60;
+
+    /**
+     * Seconds after which a click counts half as much towards popularity.
+     */
+    private long halfLife = 7 * 24 * 3600;
+
+    /**
+     * Maximum number of click events accepted by one POST /bookmarks/clicks request.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * Number of results of /bookmarks/popular when no limit is given.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Upper bound for the limit parameter of /bookmarks/popular; also the length of the kept ranking.
+     */
+    private int maxLimit = 200;
+
+    /**
+     * Seconds covered by one trending window; clicks older than all kept windows no longer count.
+     */
+    private long trendingWindow = 300;
+
+    /**
+     * Number of trending windows kept, so trending covers {@code trendingWindow * trendingWindows} seconds.
+     */
+    private int trendingWindows = 12;
+
+    /**
+     * Counters per row of each window's count-min sketch.
+     */
+    private int sketchWidth = 2048;
+
+    /**
+     * Rows of each window's count-min sketch.
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * Trending bookmarks kept per category; also the upper bound for the limit parameter of the trending endpoint.
+     */
+    private int trendingTopK = 20;
+}
@@ -0,0 +1,35 @@
+package com.sidebeam.bookmark.controller;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 스냅샷마다 한 번 인코딩해 두는 응답 본문의 형식입니다.
+ * 형식마다 바이트가 다르므로 ETag에 형식별 접미어를 붙여 구분합니다.
+ */
+enum BodyFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "-smile");
+
+    static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+
+    BodyFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return 스냅샷 버전에 형식 접미어를 붙인 ETag 값 (따옴표 제외)
+     */
+    String tag(String version) {
+        return version + etagSuffix;
+    }
+}
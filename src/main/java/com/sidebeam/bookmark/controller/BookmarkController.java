@@ -1,17 +1,68 @@
 package com.sidebeam.bookmark.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.config.CacheProperties;
+import com.sidebeam.bookmark.config.LookupProperties;
+import com.sidebeam.bookmark.config.PaginationProperties;
+import com.sidebeam.bookmark.config.SnapshotProperties;
+import com.sidebeam.bookmark.config.TelemetryProperties;
+import com.sidebeam.bookmark.domain.json.BookmarkNdjsonWriter;
 import com.sidebeam.bookmark.domain.model.Bookmark;
 import com.sidebeam.bookmark.domain.model.CategoryNode;
-import com.sidebeam.bookmark.service.BookmarkService;
+import com.sidebeam.bookmark.domain.model.PackageTreeNode;
+import com.sidebeam.bookmark.domain.search.Suggestion;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkChanges;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkField;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkLookup;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkPage;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.domain.snapshot.LazyEncodedBody;
+import com.sidebeam.bookmark.domain.snapshot.PackageIndex;
+import com.sidebeam.bookmark.domain.snapshot.PageCursor;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotDiff;
+import com.sidebeam.bookmark.domain.snapshot.UrlIndex;
+import com.sidebeam.bookmark.domain.tree.CategoryPaths;
+import com.sidebeam.bookmark.domain.tree.IndexedCategoryTree;
+import com.sidebeam.bookmark.service.BookmarkSearchService;
+import com.sidebeam.bookmark.service.BookmarkSnapshotService;
+import com.sidebeam.bookmark.service.ClickTelemetryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * 북마크 데이터를 제공하는 API 컨트롤러입니다.
@@ -23,32 +74,685 @@ import java.util.List;
 @Tag(name = "Bookmarks", description = "API for accessing bookmark data")
 public class BookmarkController {
 
-    private final BookmarkService bookmarkService;
+    private static final String META_PARAM_PREFIX = "meta.";
+    private static final String NDJSON_SUFFIX = "-ndjson";
+    private static final String TRENDING = "trending";
 
-    public BookmarkController(BookmarkService bookmarkService) {
-        this.bookmarkService = bookmarkService;
+    private final BookmarkSnapshotService bookmarkSnapshotService;
+    private final BookmarkSearchService bookmarkSearchService;
+    private final ClickTelemetryService clickTelemetryService;
+    private final PaginationProperties paginationProperties;
+    private final LookupProperties lookupProperties;
+    private final TelemetryProperties telemetryProperties;
+    private final BookmarkNdjsonWriter ndjsonWriter;
+    private final CacheControl cacheControl;
+
+    public BookmarkController(BookmarkSnapshotService bookmarkSnapshotService,
+                              BookmarkSearchService bookmarkSearchService,
+                              ClickTelemetryService clickTelemetryService,
+                              CacheProperties cacheProperties, SnapshotProperties snapshotProperties,
+                              PaginationProperties paginationProperties,
+                              LookupProperties lookupProperties, TelemetryProperties telemetryProperties,
+                              ObjectMapper objectMapper) {
+        this.bookmarkSnapshotService = bookmarkSnapshotService;
+        this.bookmarkSearchService = bookmarkSearchService;
+        this.clickTelemetryService = clickTelemetryService;
+        this.paginationProperties = paginationProperties;
+        this.lookupProperties = lookupProperties;
+        this.telemetryProperties = telemetryProperties;
+        this.ndjsonWriter = new BookmarkNdjsonWriter(objectMapper);
+        this.cacheControl = CacheControl.maxAge(clientMaxAge(cacheProperties, snapshotProperties), TimeUnit.SECONDS)
+                .mustRevalidate();
+    }
+
+    /**
+     * 클라이언트가 재검증 없이 응답을 재사용할 수 있는 시간(초)을 반환합니다.
+     * cache.client-max-age가 설정되지 않았으면 cache.ttl과 snapshot.refresh-check-interval 중 작은 값을 사용합니다.
+     * 캐시가 비워진 뒤 새 스냅샷이 게시되기까지 서버도 최대 한 번의 확인 주기 동안 이전 스냅샷을 제공하므로,
+     * 같은 시간만큼만 재사용을 허용하여 클라이언트가 보는 지연이 설정과 무관한 고정값에 묶이지 않게 합니다.
+     */
+    private static long clientMaxAge(CacheProperties cacheProperties, SnapshotProperties snapshotProperties) {
+        if (cacheProperties.getClientMaxAge() != null) {
+            return cacheProperties.getClientMaxAge();
+        }
+        return Math.max(0, Math.min(cacheProperties.getTtl(), snapshotProperties.getRefreshCheckInterval()));
     }
 
     /**
      * 모든 북마크를 가져옵니다.
      * YAML 파일에서 가져온 모든 북마크 목록을 반환합니다.
+     * 응답은 스냅샷 생성 시 한 번 직렬화된 바이트를 Accept-Encoding에 따라 그대로 반환합니다.
+     * 요청의 If-None-Match가 현재 스냅샷 버전과 일치하면 본문 없이 304를 반환합니다.
+     * limit 또는 cursor가 주어지면 페이지 단위로, fields가 주어지면 지정한 필드만 반환합니다.
+     * category가 주어지면 스냅샷의 카테고리 인덱스로 해당 카테고리(subtree이면 하위 카테고리 포함)의 북마크만 반환합니다.
+     * meta.{key}=value 파라미터가 주어지면 메타데이터 비트맵 인덱스의 교집합으로 모든 조건을 만족하는 북마크만 반환합니다.
+     * 같은 키를 여러 번 지정하면 그 값 중 하나와 일치하면 되며, 인덱스가 없는 키이면 400을 반환합니다.
      */
     @GetMapping
-    @Operation(summary = "Get all bookmarks", description = "Returns a list of all bookmarks from all YAML files")
-    public ResponseEntity<List<Bookmark>> getAllBookmarks() {
+    @Operation(summary = "Get all bookmarks", description = "Returns a list of all bookmarks from all YAML files. "
+            + "With limit or cursor the result is paginated within one snapshot version; fields selects the returned fields; "
+            + "category (with subtree) restricts the result to a category; meta.{key}=value (e.g. meta.owner=platform&meta.env=prod) "
+            + "keeps bookmarks matching every given key, any of the values given for the same key")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<?> getAllBookmarks(
+            @Parameter(description = "Maximum number of bookmarks per page")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Category path to filter by", example = "DevOps/CI")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Whether to include bookmarks of descendant categories")
+            @RequestParam(defaultValue = "false") boolean subtree,
+            @Parameter(hidden = true)
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("REST request to get all bookmarks");
-        return ResponseEntity.ok(bookmarkService.getAllBookmarks());
+        Map<String, List<String>> metaFilters = metaFilters(params);
+        ResponseEntity<String> invalidMeta = checkMetaKeys(metaFilters);
+        if (invalidMeta != null) {
+            return invalidMeta;
+        }
+        if (limit == null && cursor == null && fields == null && category == null && metaFilters.isEmpty()) {
+            BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+            return EncodedResponses.ok(snapshot.getBookmarksBody(), BodyFormat.JSON, snapshot.getVersion(), cacheControl,
+                    acceptEncoding, ifNoneMatch);
+        }
+        return rows(filteredRows(category, subtree, metaFilters), listingQuery(category, subtree, metaFilters),
+                limit, cursor, fields);
+    }
+
+    /**
+     * 모든 북마크를 CBOR(application/cbor) 또는 Smile(application/x-jackson-smile)로 반환합니다.
+     * 둘 다 허용되면 Accept 헤더의 q 값이 큰 형식을 선택합니다.
+     * 전체 목록은 스냅샷별로 첫 요청 시 한 번 인코딩한 바이트를 그대로 반환하며, ETag에는 형식별 접미어가 붙습니다.
+     * 페이지, 필드, 카테고리, 메타데이터 조건이 있으면 JSON 조회와 같은 결과를 요청한 형식으로 직렬화합니다.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_CBOR_VALUE, BodyFormat.SMILE_VALUE})
+    @Operation(summary = "Get all bookmarks in a binary format", description = "Same as the JSON listing, encoded as CBOR or Smile; "
+            + "the full list is encoded once per snapshot")
+    public ResponseEntity<?> getAllBookmarksBinary(
+            @Parameter(description = "Maximum number of bookmarks per page")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Category path to filter by", example = "DevOps/CI")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Whether to include bookmarks of descendant categories")
+            @RequestParam(defaultValue = "false") boolean subtree,
+            @Parameter(hidden = true)
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (limit != null || cursor != null || fields != null || category != null || !metaFilters(params).isEmpty()) {
+            // Computed per request; the message converter for the negotiated type writes the result
+            return getAllBookmarks(limit, cursor, fields, category, subtree, params, acceptEncoding, ifNoneMatch);
+        }
+
+        log.info("REST request to get all bookmarks (binary)");
+        BodyFormat format = EncodedResponses.binaryFormat(accept);
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        LazyEncodedBody body = format == BodyFormat.SMILE ? snapshot.getBookmarksSmile() : snapshot.getBookmarksCbor();
+        return EncodedResponses.ok(body, format, snapshot.getVersion(), cacheControl, acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * 북마크 목록을 NDJSON(application/x-ndjson)으로 스트리밍합니다.
+     * Accept 헤더가 application/x-ndjson인 /bookmarks 요청을 처리하며, 한 줄에 북마크 하나를 씁니다.
+     * fields, category, meta.{key} 조건은 JSON 목록 조회와 같게 적용하며, 인덱스가 없는 메타데이터 키이면 400을 반환합니다.
+     * 요청 시점의 스냅샷에서 하나의 JsonGenerator로 행을 차례로 쓰므로 응답 메모리는 스냅샷 크기와 무관하며,
+     * 클라이언트가 느리면 출력 스트림 쓰기가 대기하여 자연스럽게 속도가 조절됩니다.
+     * ETag는 스냅샷 버전에 NDJSON 접미어와 조회 조건의 해시를 붙이므로 JSON 목록이나 다른 조건의 응답과 구별되며,
+     * If-None-Match가 일치하면 본문 없이 304를 반환합니다.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all bookmarks as NDJSON", description = "Streams bookmarks one JSON object per line; "
+            + "fields, category (with subtree) and meta.{key}=value apply as for the JSON listing")
+    public ResponseEntity<?> streamBookmarks(
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Category path to filter by", example = "DevOps/CI")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Whether to include bookmarks of descendant categories")
+            @RequestParam(defaultValue = "false") boolean subtree,
+            @Parameter(hidden = true)
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("REST request to stream all bookmarks as NDJSON");
+        Set<BookmarkField> selected;
+        try {
+            selected = BookmarkField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        Map<String, List<String>> metaFilters = metaFilters(params);
+        ResponseEntity<String> invalidMeta = checkMetaKeys(metaFilters);
+        if (invalidMeta != null) {
+            return invalidMeta;
+        }
+
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        String tag = ndjsonTag(snapshot.getVersion(), selected, category, subtree, metaFilters);
+        if (EncodedResponses.matches(ifNoneMatch, tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(EncodedResponses.etag(tag, false))
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        BookmarkRows projected = filteredRows(category, subtree, metaFilters).apply(snapshot).project(selected);
+        StreamingResponseBody body = out -> ndjsonWriter.write(projected, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .eTag(EncodedResponses.etag(tag, false))
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body);
     }
 
     /**
      * 북마크 카테고리 트리 구조를 반환합니다.
      * 이 메서드는 모든 북마크의 카테고리를 기반으로 계층적 트리 구조를 생성합니다.
      * 트리는 루트 노드에서 시작하여 하위 카테고리로 확장됩니다.
+     * 응답은 현재 스냅샷의 카테고리 트리를 미리 직렬화한 바이트이며, ETag는 북마크 목록과 같은 스냅샷 버전을 따릅니다.
      */
     @GetMapping("/categories")
     @Operation(summary = "Get category tree", description = "Returns a hierarchical tree of all bookmark categories")
-    public ResponseEntity<CategoryNode> getCategoryTree() {
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = CategoryNode.class)))
+    public ResponseEntity<byte[]> getCategoryTree(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("REST request to get category tree");
-        return ResponseEntity.ok(bookmarkService.getCategoryTree());
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        return EncodedResponses.ok(snapshot.getCategoriesBody(), BodyFormat.JSON, snapshot.getVersion(), cacheControl,
+                acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * 카테고리 트리를 CBOR 또는 Smile로 반환합니다.
+     * 스냅샷별로 첫 요청 시 한 번 인코딩한 바이트를 Accept 헤더에 따라 선택하여 그대로 반환합니다.
+     */
+    @GetMapping(value = "/categories", produces = {MediaType.APPLICATION_CBOR_VALUE, BodyFormat.SMILE_VALUE})
+    @Operation(summary = "Get category tree in a binary format", description = "Same as the JSON category tree, encoded as CBOR or Smile")
+    public ResponseEntity<byte[]> getCategoryTreeBinary(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("REST request to get category tree (binary)");
+        BodyFormat format = EncodedResponses.binaryFormat(accept);
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        LazyEncodedBody body = format == BodyFormat.SMILE ? snapshot.getCategoriesSmile() : snapshot.getCategoriesCbor();
+        return EncodedResponses.ok(body, format, snapshot.getVersion(), cacheControl, acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * 지정한 카테고리 경로의 하위 트리를 반환합니다.
+     * 경로는 스냅샷의 카테고리 트리에서 해시 조회로 찾으며, 없는 경로이면 404를 반환합니다.
+     * 경로가 /trending으로 끝나고 그 앞 경로가 카테고리이면 해당 카테고리(하위 카테고리 포함)에서
+     * 최근 클릭이 많은 북마크를 반환합니다. {*path}는 패턴의 마지막에만 올 수 있으므로 같은 핸들러에서 구분하며,
+     * "trending"이라는 이름의 카테고리가 있으면 하위 트리가 우선합니다.
+     */
+    @GetMapping("/categories/{*path}")
+    @Operation(summary = "Get category subtree or trending bookmarks",
+            description = "Returns the subtree of the category tree rooted at the given path, or, for a path ending in "
+                    + "/trending, the most clicked bookmarks of that category and its subcategories in the recent windows")
+    public ResponseEntity<?> getCategorySubtree(
+            @PathVariable String path,
+            @Parameter(description = "Maximum number of trending results")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Comma-separated fields of trending results", example = "name,url,category")
+            @RequestParam(required = false) String fields) {
+        log.info("REST request to get category subtree {}", path);
+        String categoryPath = CategoryPaths.canonical(path.startsWith("/") ? path.substring(1) : path);
+        IndexedCategoryTree tree = bookmarkSnapshotService.getCurrentSnapshot().getCategoryTree();
+        CategoryNode node = tree.findByPath(categoryPath);
+        if (node != null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(node);
+        }
+
+        String parentPath = trendingCategory(categoryPath);
+        if (parentPath == null || tree.findByPath(parentPath) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Set<BookmarkField> selected;
+        try {
+            selected = BookmarkField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        BookmarkRows results = clickTelemetryService.trending(parentPath, limit);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(results.project(selected));
+    }
+
+    /**
+     * 카테고리 경로가 trending으로 끝나면 그 앞의 카테고리 경로(루트는 빈 문자열)를, 아니면 null을 반환합니다.
+     */
+    private static String trendingCategory(String categoryPath) {
+        if (categoryPath.equals(TRENDING)) {
+            return "";
+        }
+        if (categoryPath.endsWith("/" + TRENDING)) {
+            return categoryPath.substring(0, categoryPath.length() - TRENDING.length() - 1);
+        }
+        return null;
+    }
+
+    /**
+     * 모든 북마크의 패키지 트리를 하나로 합친 트리를 반환합니다.
+     * 각 노드에는 해당 패키지(하위 패키지 포함)를 가진 북마크 수가 포함되며,
+     * 응답은 스냅샷 생성 시 한 번 직렬화된 바이트이고 ETag는 스냅샷 버전을 따릅니다.
+     */
+    @GetMapping("/packages")
+    @Operation(summary = "Get package tree", description = "Returns the package trees of all bookmarks merged into one tree, with bookmark counts")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = PackageTreeNode.class)))
+    public ResponseEntity<byte[]> getPackageTree(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("REST request to get package tree");
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        return EncodedResponses.ok(snapshot.getPackagesBody(), snapshot.getVersion(), cacheControl,
+                acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * 지정한 패키지 경로(하위 패키지 포함)에 속한 북마크를 반환합니다.
+     * 스냅샷의 패키지 인덱스에서 경로로 조회하며, 없는 패키지이면 빈 목록을 반환합니다.
+     */
+    @GetMapping("/packages/{*path}")
+    @Operation(summary = "Get bookmarks of a package", description = "Returns the bookmarks whose packages contain the given path, e.g. dev/doc")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<?> getBookmarksByPackage(
+            @PathVariable String path,
+            @Parameter(description = "Maximum number of bookmarks per page")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields) {
+        String packagePath = PackageIndex.canonical(path);
+        log.info("REST request to get bookmarks of package {}", packagePath);
+        return rows(snapshot -> snapshot.getPackageIndex().rows(packagePath), "package=" + packagePath, limit, cursor, fields);
+    }
+
+    /**
+     * 지정한 모듈에서 읽어 온 북마크를 반환합니다.
+     * 스냅샷의 모듈 인덱스로 조회하므로 목록을 순회하지 않으며, 없는 모듈이면 빈 목록을 반환합니다.
+     */
+    @GetMapping("/modules/{module}")
+    @Operation(summary = "Get bookmarks of a module", description = "Returns the bookmarks loaded from the given module")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<?> getBookmarksByModule(
+            @PathVariable String module,
+            @Parameter(description = "Maximum number of bookmarks per page")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields) {
+        log.info("REST request to get bookmarks of module {}", module);
+        return rows(snapshot -> snapshot.getModuleIndex().rows(module), "module=" + module, limit, cursor, fields);
+    }
+
+    /**
+     * 지정한 도메인의 북마크를 반환합니다.
+     * 스냅샷의 도메인 인덱스로 조회하므로 목록을 순회하지 않으며, 없는 도메인이면 빈 목록을 반환합니다.
+     */
+    @GetMapping("/domains/{domain}")
+    @Operation(summary = "Get bookmarks of a domain", description = "Returns the bookmarks whose domain is exactly the given value")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<?> getBookmarksByDomain(
+            @PathVariable String domain,
+            @Parameter(description = "Maximum number of bookmarks per page")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields) {
+        log.info("REST request to get bookmarks of domain {}", domain);
+        return rows(snapshot -> snapshot.getDomainIndex().rows(domain), "domain=" + domain, limit, cursor, fields);
+    }
+
+    /**
+     * 지정한 소스 파일에 정의된 북마크를 반환합니다.
+     * 소스 경로는 슬래시를 포함할 수 있으므로 나머지 경로 전체를 소스 경로로 사용합니다.
+     */
+    @GetMapping("/sources/{*path}")
+    @Operation(summary = "Get bookmarks of a source file", description = "Returns the bookmarks defined in the given source path")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<?> getBookmarksBySource(
+            @PathVariable String path,
+            @Parameter(description = "Maximum number of bookmarks per page")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields) {
+        String sourcePath = path.startsWith("/") ? path.substring(1) : path;
+        log.info("REST request to get bookmarks of source {}", sourcePath);
+        return rows(snapshot -> snapshot.getSourceIndex().rows(sourcePath), "source=" + sourcePath, limit, cursor, fields);
+    }
+
+    /**
+     * 이름, 도메인, 카테고리, 일부 메타데이터를 대상으로 북마크를 검색합니다.
+     * 결과는 BM25F 점수 순으로 정렬되며, 검색어의 마지막 단어는 접두어로도 일치합니다.
+     * fuzzy=true이면 오타가 있는 단어도 편집 거리 1~2 이내의 단어와 일치합니다.
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search bookmarks", description = "Returns bookmarks matching all query terms, best match first")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<?> searchBookmarks(
+            @Parameter(description = "Search query", example = "gitlab runner")
+            @RequestParam String q,
+            @Parameter(description = "Maximum number of results")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Tolerate typos in query terms")
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.info("REST request to search bookmarks: {} (fuzzy={})", q, fuzzy);
+        Set<BookmarkField> selected;
+        try {
+            selected = BookmarkField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        BookmarkRows results = bookmarkSearchService.search(q, limit, fuzzy);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(results.project(selected));
+    }
+
+    /**
+     * 입력 중인 접두어에 대한 자동완성 후보를 반환합니다.
+     * 후보는 북마크 이름, 도메인, 카테고리 이름이며 사용하는 북마크가 많은 순으로 정렬됩니다.
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest completions", description = "Returns bookmark names, domains and category names starting with the prefix")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @Parameter(description = "Typed prefix", example = "git")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions")
+            @RequestParam(required = false) Integer limit) {
+        log.debug("REST request to suggest completions for {}", prefix);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(bookmarkSearchService.suggest(prefix, limit));
+    }
+
+    /**
+     * 여러 URL이 북마크로 등록되어 있는지 한 번에 확인합니다.
+     * URL은 스킴과 호스트의 대소문자, 기본 포트, 경로 끝의 슬래시, 프래그먼트를 무시하고 비교하며,
+     * 스냅샷의 URL 해시 인덱스로 조회하므로 전체 목록을 내려받지 않아도 됩니다.
+     * 결과는 요청한 URL 순서대로 반환되며, 한 번에 설정된 개수보다 많은 URL을 요청하면 400을 반환합니다.
+     */
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up bookmarks by URL", description = "Returns, for each requested URL in order, the bookmark with the same "
+            + "canonical URL (scheme and host case, default port, trailing slash and fragment are ignored), if any")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = BookmarkLookup.class)))
+    public ResponseEntity<?> lookupBookmarks(@RequestBody List<String> urls) {
+        log.debug("REST request to look up {} URLs", urls.size());
+        if (urls.size() > lookupProperties.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().body("At most " + lookupProperties.getMaxBatchSize() + " URLs can be looked up at once");
+        }
+
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        UrlIndex urlIndex = snapshot.getUrlIndex();
+        List<BookmarkLookup.Result> results = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            int row = urlIndex.find(url);
+            results.add(new BookmarkLookup.Result(url, row < 0 ? null : snapshot.getColumnStore().toBookmark(row)));
+        }
+        return ResponseEntity.ok(BookmarkLookup.builder()
+                .version(snapshot.getVersion())
+                .results(results)
+                .build());
+    }
+
+    /**
+     * 모든 북마크 URL의 블룸 필터를 바이너리(SBBF 형식)로 반환합니다.
+     * 클라이언트는 필터로 URL을 먼저 확인하고, 포함될 가능성이 있을 때만 /bookmarks/lookup을 호출합니다.
+     * 필터는 스냅샷마다 한 번 생성되며 ETag는 스냅샷 버전을 따릅니다. 형식은 UrlBloomFilter에 설명되어 있습니다.
+     */
+    @GetMapping(value = "/url-filter", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Get Bloom filter of bookmark URLs",
+            description = "Binary SBBF v1 filter, big-endian: \"SBBF\", version (1 byte), k (1 byte), reserved (2 bytes), "
+                    + "m bits (4 bytes), n URLs (4 bytes), snapshot version (16 bytes), then m/8 bytes of bits (bit i = byte[32 + i/8] >> i%8 & 1). "
+                    + "A canonical URL's UTF-8 bytes may be present if bits ((h1 + i*h2) mod 2^32) mod m are set for i < k, "
+                    + "where h1 = murmur3_x86_32(seed 0) and h2 = murmur3_x86_32(seed h1)")
+    public ResponseEntity<byte[]> getUrlFilter(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("REST request to get URL filter");
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        return EncodedResponses.ok(snapshot.getUrlFilter(), MediaType.APPLICATION_OCTET_STREAM, snapshot.getVersion(),
+                cacheControl, ifNoneMatch);
+    }
+
+    /**
+     * 클라이언트가 모아 보낸 북마크 클릭 이벤트를 기록합니다.
+     * 요청 본문은 클릭된 북마크 URL의 배열이며, 같은 URL이 여러 번 있으면 그만큼 집계합니다.
+     * 클릭은 잠금 없는 카운터에 더해지고 주기적으로 인기 점수에 반영되므로 응답은 202입니다.
+     */
+    @PostMapping("/clicks")
+    @Operation(summary = "Record bookmark clicks", description = "Counts one click per URL in the body; "
+            + "URLs that are not bookmarks are ignored. Popularity is updated periodically")
+    public ResponseEntity<?> recordClicks(@RequestBody List<String> urls) {
+        if (urls.size() > telemetryProperties.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().body("At most " + telemetryProperties.getMaxBatchSize() + " clicks can be sent at once");
+        }
+        int recorded = clickTelemetryService.recordClicks(urls);
+        log.debug("Recorded {} of {} clicks", recorded, urls.size());
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * 자주 쓰이는 북마크를 인기 점수 순으로 반환합니다.
+     * 점수는 최근 클릭일수록 크게 반영되며(설정된 반감기에 따라 감쇠), 주기적인 집계 시점에 갱신됩니다.
+     */
+    @GetMapping("/popular")
+    @Operation(summary = "Get popular bookmarks", description = "Returns bookmarks by time-decayed click count, most used first")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<?> getPopularBookmarks(
+            @Parameter(description = "Maximum number of results")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Comma-separated fields to return", example = "name,url,category")
+            @RequestParam(required = false) String fields) {
+        log.debug("REST request to get popular bookmarks");
+        Set<BookmarkField> selected;
+        try {
+            selected = BookmarkField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        BookmarkRows results = clickTelemetryService.popular(limit);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(results.project(selected));
+    }
+
+    /**
+     * 클라이언트가 보유한 스냅샷 버전 이후의 변경 사항(추가, 변경, 삭제된 북마크)을 반환합니다.
+     * 북마크는 URL로 식별합니다. 해당 버전의 변경 이력이 더 이상 보관되지 않았거나
+     * since가 없으면 현재 스냅샷의 전체 목록을 full=true로 반환합니다.
+     */
+    @GetMapping("/changes")
+    @Operation(summary = "Get changes since a version",
+            description = "Returns bookmarks added, changed and removed (by URL) since the given snapshot version, "
+                    + "or the full list when that version's history is no longer kept")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = BookmarkChanges.class)))
+    public ResponseEntity<BookmarkChanges> getChanges(
+            @Parameter(description = "Snapshot version the client holds")
+            @RequestParam(required = false) String since) {
+        log.info("REST request to get bookmark changes since {}", since);
+        SnapshotDiff diff = since == null ? null : bookmarkSnapshotService.getChangesSince(since);
+        BookmarkChanges changes = diff == null
+                ? BookmarkChanges.full(since, bookmarkSnapshotService.getCurrentSnapshot())
+                : BookmarkChanges.of(since, diff);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(changes);
+    }
+
+    /**
+     * 카테고리와 메타데이터 조건으로 스냅샷의 결과 행을 계산하는 함수를 반환합니다.
+     * 조건이 없으면 스냅샷의 모든 행을 반환합니다.
+     */
+    private static Function<BookmarkSnapshot, BookmarkRows> filteredRows(String category, boolean subtree,
+                                                                        Map<String, List<String>> metaFilters) {
+        if (!metaFilters.isEmpty()) {
+            return snapshot -> snapshot.getMetaIndex().rows(metaFilters,
+                    category == null ? null : snapshot.getCategoryIndex().rows(category, subtree));
+        }
+        if (category != null) {
+            return snapshot -> snapshot.getCategoryIndex().rows(category, subtree);
+        }
+        return snapshot -> snapshot.getColumnStore().rows();
+    }
+
+    /**
+     * 메타데이터 조건의 키가 모두 현재 스냅샷에 인덱스된 키인지 확인합니다.
+     *
+     * @return 인덱스가 없는 키가 있으면 400 응답, 모두 인덱스되어 있으면 null
+     */
+    private ResponseEntity<String> checkMetaKeys(Map<String, List<String>> metaFilters) {
+        if (metaFilters.isEmpty()) {
+            return null;
+        }
+        Set<String> indexed = bookmarkSnapshotService.getCurrentSnapshot().getMetaIndex().getKeys();
+        for (String key : metaFilters.keySet()) {
+            if (!indexed.contains(key)) {
+                return ResponseEntity.badRequest().header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .body("Metadata key is not indexed: " + key + "; indexed keys are " + indexed);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * NDJSON 응답의 ETag 값을 생성합니다.
+     * 조건이 없으면 스냅샷 버전에 "-ndjson"을 붙이고, 조건이 있으면 정규화한 조건의 해시를 더 붙입니다.
+     */
+    private static String ndjsonTag(String version, Set<BookmarkField> fields, String category, boolean subtree,
+                                    Map<String, List<String>> metaFilters) {
+        String tag = version + NDJSON_SUFFIX;
+        if (fields.size() == BookmarkField.values().length && category == null && metaFilters.isEmpty()) {
+            return tag;
+        }
+        return tag + "-" + queryHash("fields=" + fields + "&" + listingQuery(category, subtree, metaFilters));
+    }
+
+    /**
+     * 북마크 목록 조회 조건을 정규화한 문자열로 만듭니다.
+     * 메타데이터 조건은 키와 값의 순서와 무관하게 같은 문자열이 됩니다.
+     */
+    private static String listingQuery(String category, boolean subtree, Map<String, List<String>> metaFilters) {
+        StringBuilder query = new StringBuilder("category=").append(category)
+                .append("&subtree=").append(category != null && subtree);
+        Map<String, List<String>> sortedMeta = new TreeMap<>();
+        metaFilters.forEach((key, values) -> sortedMeta.put(key, values.stream().sorted().toList()));
+        sortedMeta.forEach((key, values) -> query.append('&').append(key).append('=').append(values));
+        return query.toString();
+    }
+
+    /**
+     * 정규화한 조회 조건의 SHA-256 해시 앞 8바이트를 16진수 문자열로 반환합니다.
+     */
+    private static String queryHash(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 요청 파라미터 중 meta.{key} 형식의 파라미터를 키별 값 목록으로 모읍니다.
+     */
+    private static Map<String, List<String>> metaFilters(MultiValueMap<String, String> params) {
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            if (param.getKey().startsWith(META_PARAM_PREFIX) && param.getKey().length() > META_PARAM_PREFIX.length()) {
+                filters.put(param.getKey().substring(META_PARAM_PREFIX.length()), List.copyOf(param.getValue()));
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * 스냅샷에 대한 조회 결과를 필드 선택과 페이지 처리를 적용하여 반환합니다.
+     * 커서에는 스냅샷 버전이 포함되어 있으므로 다음 페이지는 새 스냅샷이 한 번 게시된 후에도
+     * 같은 스냅샷에서 같은 조회로 계산됩니다. 커서의 버전이 더 이상 보관되지 않으면 410을 반환합니다.
+     * 커서에는 조회 조건의 해시도 포함되어 있으므로, 다른 조건으로 보낸 커서는 다른 결과의 위치를 가리키지 않도록 400을 반환합니다.
+     * 결과는 Accept 헤더에 따라 JSON, CBOR, Smile로 직렬화되므로 모든 응답에 Vary: Accept를 지정합니다.
+     *
+     * @param query    스냅샷에서 결과 행을 계산하는 함수
+     * @param queryKey 결과 행을 결정하는 조회 조건을 정규화한 문자열
+     * @param limit    페이지 크기 (없으면 cursor가 있을 때만 기본 크기로 페이지 처리)
+     * @param cursor   이전 페이지의 nextCursor
+     * @param fields   쉼표로 구분한 필드 목록
+     */
+    private ResponseEntity<?> rows(Function<BookmarkSnapshot, BookmarkRows> query, String queryKey,
+                                   Integer limit, String cursor, String fields) {
+        Set<BookmarkField> selected;
+        try {
+            selected = BookmarkField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(e.getMessage());
+        }
+
+        if (limit == null && cursor == null) {
+            BookmarkRows rows = query.apply(bookmarkSnapshotService.getCurrentSnapshot());
+            return ResponseEntity.ok().cacheControl(cacheControl).header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .body(rows.project(selected));
+        }
+
+        int pageSize = limit == null ? paginationProperties.getDefaultPageSize() : limit;
+        if (pageSize < 1) {
+            return ResponseEntity.badRequest().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body("limit must be positive");
+        }
+        pageSize = Math.min(pageSize, paginationProperties.getMaxPageSize());
+
+        String queryHash = queryHash(queryKey);
+        BookmarkSnapshot snapshot;
+        int offset = 0;
+        if (cursor == null) {
+            snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        } else {
+            PageCursor pageCursor;
+            try {
+                pageCursor = PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(e.getMessage());
+            }
+            if (!pageCursor.getQuery().equals(queryHash)) {
+                return ResponseEntity.badRequest().header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .body("Cursor was issued for a different query; restart from the first page");
+            }
+            snapshot = bookmarkSnapshotService.getSnapshot(pageCursor.getVersion());
+            if (snapshot == null) {
+                return ResponseEntity.status(HttpStatus.GONE)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                        .body("Snapshot " + pageCursor.getVersion() + " is no longer available; restart from the first page");
+            }
+            offset = pageCursor.getOffset();
+        }
+
+        BookmarkRows rows = query.apply(snapshot);
+        int end = (int) Math.min((long) offset + pageSize, rows.size());
+        BookmarkPage page = BookmarkPage.builder()
+                .version(snapshot.getVersion())
+                .items(rows.slice(offset, end).project(selected))
+                .nextCursor(end < rows.size() ? new PageCursor(snapshot.getVersion(), queryHash, end).encode() : null)
+                .build();
+        return ResponseEntity.ok().cacheControl(cacheControl).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(page);
     }
 }
\ No newline at end of file
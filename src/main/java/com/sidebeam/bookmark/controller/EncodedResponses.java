@@ -0,0 +1,246 @@
+package com.sidebeam.bookmark.controller;
+
+import com.sidebeam.bookmark.domain.snapshot.EncodedBody;
+import com.sidebeam.bookmark.domain.snapshot.LazyEncodedBody;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * 스냅샷마다 미리 직렬화된 응답 본문을 HTTP 응답으로 변환하는 유틸리티입니다.
+ * 요청의 Accept-Encoding 헤더에 따라 gzip 압축본 또는 원본 바이트를 그대로 반환하며,
+ * 스냅샷 버전으로 만든 ETag가 If-None-Match와 일치하면 본문 없이 304 응답을 반환합니다.
+ * JSON 외에 첫 요청 시 CBOR, Smile로 인코딩되는 본문도 같은 방식으로 반환합니다.
+ */
+final class EncodedResponses {
+
+    static final String GZIP = "gzip";
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private EncodedResponses() {
+    }
+
+    /**
+     * 미리 직렬화된 JSON 본문으로 응답을 생성합니다.
+     * 원본과 gzip 압축본은 바이트가 다르므로 서로 다른 강한(strong) ETag를 가지지만,
+     * 내용이 같으므로 If-None-Match 비교 시에는 두 ETag 모두 같은 버전으로 취급합니다.
+     *
+     * @param body           스냅샷의 응답 본문
+     * @param version        스냅샷 버전
+     * @param cacheControl   응답에 설정할 Cache-Control 정책
+     * @param acceptEncoding 요청의 Accept-Encoding 헤더 값 (없으면 null)
+     * @param ifNoneMatch    요청의 If-None-Match 헤더 값 (없으면 null)
+     * @return 클라이언트가 허용하는 인코딩의 200 응답, 또는 캐시가 유효하면 304 응답
+     */
+    static ResponseEntity<byte[]> ok(EncodedBody body, String version, CacheControl cacheControl,
+                                     String acceptEncoding, String ifNoneMatch) {
+        return ok(() -> body, BodyFormat.JSON, version, cacheControl, acceptEncoding, ifNoneMatch, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Accept 헤더로 형식을 협상하는 리소스의 미리 직렬화된 본문으로 응답을 생성합니다.
+     * ETag에는 형식별 접미어가 붙고, 캐시가 형식별로 따로 저장하도록 Vary에 Accept를 함께 지정합니다.
+     *
+     * @param body           선택한 형식의 스냅샷 응답 본문
+     * @param format         본문의 형식
+     * @param version        스냅샷 버전
+     * @param cacheControl   응답에 설정할 Cache-Control 정책
+     * @param acceptEncoding 요청의 Accept-Encoding 헤더 값 (없으면 null)
+     * @param ifNoneMatch    요청의 If-None-Match 헤더 값 (없으면 null)
+     * @return 클라이언트가 허용하는 인코딩의 200 응답, 또는 캐시가 유효하면 304 응답
+     */
+    static ResponseEntity<byte[]> ok(EncodedBody body, BodyFormat format, String version, CacheControl cacheControl,
+                                     String acceptEncoding, String ifNoneMatch) {
+        return ok(() -> body, format, version, cacheControl, acceptEncoding, ifNoneMatch,
+                HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * 첫 요청 시 인코딩되는 본문으로 응답을 생성합니다. 304 응답에는 본문이 필요 없으므로 인코딩하지 않습니다.
+     *
+     * @param body           선택한 형식의 스냅샷 응답 본문
+     * @param format         본문의 형식
+     * @param version        스냅샷 버전
+     * @param cacheControl   응답에 설정할 Cache-Control 정책
+     * @param acceptEncoding 요청의 Accept-Encoding 헤더 값 (없으면 null)
+     * @param ifNoneMatch    요청의 If-None-Match 헤더 값 (없으면 null)
+     * @return 클라이언트가 허용하는 인코딩의 200 응답, 또는 캐시가 유효하면 304 응답
+     */
+    static ResponseEntity<byte[]> ok(LazyEncodedBody body, BodyFormat format, String version, CacheControl cacheControl,
+                                     String acceptEncoding, String ifNoneMatch) {
+        return ok(body::get, format, version, cacheControl, acceptEncoding, ifNoneMatch,
+                HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private static ResponseEntity<byte[]> ok(Supplier<EncodedBody> body, BodyFormat format, String version,
+                                             CacheControl cacheControl, String acceptEncoding, String ifNoneMatch,
+                                             String vary) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String tag = format.tag(version);
+        String etag = etag(tag, gzip);
+
+        if (matches(ifNoneMatch, tag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.VARY, vary)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.VARY, vary);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        EncodedBody encoded = body.get();
+        return builder.body(gzip ? encoded.getGzip() : encoded.getIdentity());
+    }
+
+    /**
+     * 압축 변형이 없는 바이너리 본문으로 응답을 생성합니다.
+     * 압축해도 크기가 줄지 않는 본문(예: 블룸 필터)에 사용하며, ETag와 304 처리는 JSON 본문과 같습니다.
+     *
+     * @param body         스냅샷의 응답 본문
+     * @param contentType  응답의 Content-Type
+     * @param version      스냅샷 버전
+     * @param cacheControl 응답에 설정할 Cache-Control 정책
+     * @param ifNoneMatch  요청의 If-None-Match 헤더 값 (없으면 null)
+     * @return 200 응답, 또는 캐시가 유효하면 304 응답
+     */
+    static ResponseEntity<byte[]> ok(byte[] body, MediaType contentType, String version, CacheControl cacheControl,
+                                     String ifNoneMatch) {
+        String etag = etag(version, false);
+        if (matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+
+    /**
+     * 스냅샷 버전(형식 접미어 포함)과 인코딩으로 강한 ETag 값을 생성합니다.
+     */
+    static String etag(String version, boolean gzip) {
+        return "\"" + version + (gzip ? GZIP_SUFFIX : "") + "\"";
+    }
+
+    /**
+     * If-None-Match 헤더에 현재 버전의 ETag가 포함되어 있는지 확인합니다.
+     * RFC 9110에 따라 If-None-Match는 약한 비교를 사용하므로 W/ 접두어는 무시합니다.
+     *
+     * @param ifNoneMatch If-None-Match 헤더 값
+     * @param version     현재 스냅샷 버전
+     * @return 일치하는 ETag 또는 와일드카드(*)가 있으면 true
+     */
+    static boolean matches(String ifNoneMatch, String version) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        for (String token : ifNoneMatch.split(",")) {
+            String tag = token.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+                continue;
+            }
+            tag = tag.substring(1, tag.length() - 1);
+            if (tag.endsWith(GZIP_SUFFIX)) {
+                tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length());
+            }
+            if (tag.equals(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accept-Encoding 헤더가 gzip을 허용하는지 확인합니다.
+     * gzip(또는 x-gzip)이 명시되어 있으면 해당 항목의 q 값을, 없으면 와일드카드(*)의 q 값을 따릅니다.
+     *
+     * @param acceptEncoding Accept-Encoding 헤더 값
+     * @return q 값이 0보다 큰 gzip 허용 항목이 있으면 true
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim();
+            double quality = quality(parts);
+            if (GZIP.equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if ("*".equals(coding)) {
+                wildcardQuality = quality;
+            }
+        }
+
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    /**
+     * Accept 헤더에서 CBOR와 Smile 중 선호하는 바이너리 형식을 고릅니다.
+     * q 값이 더 큰 형식을 선택하며, 같거나 둘 다 명시되지 않았으면 CBOR를 선택합니다.
+     *
+     * @param accept Accept 헤더 값
+     * @return 선택한 형식
+     */
+    static BodyFormat binaryFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return BodyFormat.CBOR;
+        }
+
+        double cborQuality = 0;
+        double smileQuality = 0;
+        for (String token : accept.split(",")) {
+            String[] parts = token.split(";");
+            String type = parts[0].trim();
+            if (MediaType.APPLICATION_CBOR_VALUE.equalsIgnoreCase(type)) {
+                cborQuality = Math.max(cborQuality, quality(parts));
+            } else if (BodyFormat.SMILE_VALUE.equalsIgnoreCase(type)) {
+                smileQuality = Math.max(smileQuality, quality(parts));
+            }
+        }
+        return smileQuality > cborQuality ? BodyFormat.SMILE : BodyFormat.CBOR;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.startsWith("q=") || parameter.startsWith("Q="))) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,141 @@
+package com.sidebeam.bookmark.controller;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotBodies;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotPointer;
+import com.sidebeam.bookmark.service.BookmarkSnapshotService;
+import com.sidebeam.bookmark.service.SnapshotEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 버전별 스냅샷 데이터를 제공하는 API 컨트롤러입니다.
+ * /snapshots/{version} 아래의 응답은 내용이 바뀌지 않으므로 CDN과 브라우저가 무기한 캐시할 수 있으며,
+ * 클라이언트는 작은 /snapshots/current 포인터만 주기적으로 확인하거나 /snapshots/events를 구독하면 됩니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/snapshots")
+@Tag(name = "Snapshots", description = "API for accessing immutable, versioned bookmark snapshots")
+public class SnapshotController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final BookmarkSnapshotService bookmarkSnapshotService;
+    private final SnapshotEventService snapshotEventService;
+
+    public SnapshotController(BookmarkSnapshotService bookmarkSnapshotService,
+                              SnapshotEventService snapshotEventService) {
+        this.bookmarkSnapshotService = bookmarkSnapshotService;
+        this.snapshotEventService = snapshotEventService;
+    }
+
+    /**
+     * 현재 스냅샷의 버전과 버전별 URL을 반환합니다.
+     * 응답은 매번 재검증되도록 no-cache로 설정되며, ETag가 일치하면 304를 반환합니다.
+     */
+    @GetMapping("/current")
+    @Operation(summary = "Get current snapshot pointer", description = "Returns the version and immutable URLs of the current snapshot")
+    public ResponseEntity<SnapshotPointer> getCurrentSnapshot(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        String version = snapshot.getVersion();
+        String etag = EncodedResponses.etag(version, false);
+
+        if (EncodedResponses.matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        SnapshotPointer pointer = SnapshotPointer.builder()
+                .version(version)
+                .createdAt(snapshot.getCreatedAt())
+                .bookmarks("/snapshots/" + version + "/bookmarks")
+                .categories("/snapshots/" + version + "/categories")
+                .build();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(pointer);
+    }
+
+    /**
+     * 스냅샷 변경 알림을 서버 전송 이벤트(text/event-stream)로 보냅니다.
+     * 연결 직후 현재 버전을, 이후 새 스냅샷이 게시될 때마다 "snapshot" 이벤트를 보내며
+     * 이벤트 id는 스냅샷 버전입니다. changes=true이면 작은 변경 사항을 이벤트에 함께 포함합니다.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream snapshot changes", description = "Server-sent events announcing each new snapshot version, "
+            + "optionally with the changes from the previous version")
+    public Flux<ServerSentEvent<String>> streamEvents(
+            @Parameter(description = "Whether to include small deltas in events")
+            @RequestParam(defaultValue = "false") boolean changes) {
+        log.debug("Opening snapshot event stream (changes={})", changes);
+        return snapshotEventService.events(changes);
+    }
+
+    /**
+     * 지정한 버전의 북마크 목록을 반환합니다.
+     * 보관 중인 버전이 아니면 404를 반환합니다.
+     */
+    @GetMapping("/{version}/bookmarks")
+    @Operation(summary = "Get bookmarks of a snapshot", description = "Returns the bookmarks of the given snapshot version")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Bookmark.class))))
+    public ResponseEntity<byte[]> getBookmarks(
+            @PathVariable String version,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("REST request to get bookmarks of snapshot {}", version);
+        SnapshotBodies bodies = bookmarkSnapshotService.getSnapshotBodies(version);
+        if (bodies == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return EncodedResponses.ok(bodies.getBookmarksBody(), version, IMMUTABLE, acceptEncoding, ifNoneMatch);
+    }
+
+    /**
+     * 지정한 버전의 카테고리 트리를 반환합니다.
+     * 보관 중인 버전이 아니면 404를 반환합니다.
+     */
+    @GetMapping("/{version}/categories")
+    @Operation(summary = "Get category tree of a snapshot", description = "Returns the category tree of the given snapshot version")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = CategoryNode.class)))
+    public ResponseEntity<byte[]> getCategoryTree(
+            @PathVariable String version,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.info("REST request to get category tree of snapshot {}", version);
+        SnapshotBodies bodies = bookmarkSnapshotService.getSnapshotBodies(version);
+        if (bodies == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return EncodedResponses.ok(bodies.getCategoriesBody(), version, IMMUTABLE, acceptEncoding, ifNoneMatch);
+    }
+}
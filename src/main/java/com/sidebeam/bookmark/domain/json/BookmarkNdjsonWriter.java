@@ -0,0 +1,60 @@
+package com.sidebeam.bookmark.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams {@link BookmarkRows} as newline-delimited JSON, one bookmark object per line.
+ *
+ * All rows go through a single {@link JsonGenerator} straight from the column store, so memory
+ * use is the generator's buffer whatever the number of rows. The generator is flushed every
+ * {@code flushInterval} rows; a blocking output stream then applies the client's backpressure.
+ */
+public final class BookmarkNdjsonWriter {
+
+    /**
+     * Rows written between flushes by default.
+     */
+    public static final int DEFAULT_FLUSH_INTERVAL = 512;
+
+    private final ObjectMapper objectMapper;
+    private final int flushInterval;
+
+    public BookmarkNdjsonWriter(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public BookmarkNdjsonWriter(ObjectMapper objectMapper, int flushInterval) {
+        this.objectMapper = objectMapper;
+        this.flushInterval = Math.max(1, flushInterval);
+    }
+
+    /**
+     * Writes the rows, projected onto the view's fields. The stream is flushed but not closed.
+     *
+     * @param rows The rows to write
+     * @param out  The target stream
+     */
+    public void write(BookmarkRows rows, OutputStream out) throws IOException {
+        BookmarkColumnStore store = rows.getStore();
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated explicitly; the default root separator is a space
+            gen.setRootValueSeparator(null);
+            for (int i = 0; i < rows.size(); i++) {
+                BookmarkRowsSerializer.writeRow(store, rows.row(i), rows.getFields(), gen, provider);
+                gen.writeRaw('\n');
+                if ((i + 1) % flushInterval == 0) {
+                    gen.flush();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sidebeam.bookmark.domain.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkField;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Writes {@link BookmarkRows} straight from the column store.
+ * Each row produces the same JSON object as serializing the corresponding {@code Bookmark},
+ * restricted to the fields the view is projected onto.
+ */
+public class BookmarkRowsSerializer extends StdSerializer<BookmarkRows> {
+
+    public BookmarkRowsSerializer() {
+        super(BookmarkRows.class);
+    }
+
+    @Override
+    public void serialize(BookmarkRows rows, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        BookmarkColumnStore store = rows.getStore();
+        Set<BookmarkField> fields = rows.getFields();
+        int size = rows.size();
+
+        gen.writeStartArray(rows, size);
+        for (int i = 0; i < size; i++) {
+            writeRow(store, rows.row(i), fields, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Writes one row as a bookmark object containing the given fields.
+     */
+    public static void writeRow(BookmarkColumnStore store, int row, Set<BookmarkField> fields,
+                                JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        if (fields.contains(BookmarkField.NAME)) {
+            gen.writeStringField("name", store.name(row));
+        }
+        if (fields.contains(BookmarkField.URL)) {
+            gen.writeStringField("url", store.url(row));
+        }
+        if (fields.contains(BookmarkField.DOMAIN)) {
+            gen.writeStringField("domain", store.domain(row));
+        }
+        if (fields.contains(BookmarkField.CATEGORY)) {
+            gen.writeStringField("category", store.category(row));
+        }
+        if (fields.contains(BookmarkField.PACKAGES)) {
+            gen.writeFieldName("packages");
+            provider.defaultSerializeValue(store.packages(row), gen);
+        }
+        if (fields.contains(BookmarkField.META)) {
+            gen.writeFieldName("meta");
+            writeMeta(store, row, gen, provider);
+        }
+        if (fields.contains(BookmarkField.SOURCE_PATH)) {
+            gen.writeStringField("sourcePath", store.sourcePath(row));
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeMeta(BookmarkColumnStore store, int row, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (store.isMetaNull(row)) {
+            gen.writeNull();
+            return;
+        }
+
+        gen.writeStartObject();
+        for (int entry = store.metaStart(row); entry < store.metaEnd(row); entry++) {
+            gen.writeFieldName(store.metaKey(entry));
+            provider.defaultSerializeValue(store.metaValue(entry), gen);
+        }
+        String module = store.module(row);
+        if (module != null) {
+            gen.writeStringField(BookmarkColumnStore.MODULE_KEY, module);
+        }
+        gen.writeEndObject();
+    }
+}
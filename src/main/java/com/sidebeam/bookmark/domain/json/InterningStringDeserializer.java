@@ -0,0 +1,34 @@
+package com.sidebeam.bookmark.domain.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.sidebeam.common.util.StringInternPool;
+
+import java.io.IOException;
+
+/**
+ * String deserializer for fields whose values repeat heavily across bookmarks.
+ * Values are shared through the {@link StringInternPool} registered on the
+ * deserialization context; without a pool it behaves like the default deserializer.
+ */
+public class InterningStringDeserializer extends StdScalarDeserializer<String> {
+
+    public InterningStringDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return intern(ctxt, StringDeserializer.instance.deserialize(p, ctxt));
+    }
+
+    /**
+     * Interns the value through the pool registered on the context, if any.
+     */
+    static String intern(DeserializationContext ctxt, String value) {
+        Object pool = ctxt.getAttribute(StringInternPool.ATTRIBUTE);
+        return pool instanceof StringInternPool ? ((StringInternPool) pool).intern(value) : value;
+    }
+}
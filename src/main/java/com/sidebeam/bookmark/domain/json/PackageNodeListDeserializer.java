@@ -0,0 +1,111 @@
+package com.sidebeam.bookmark.domain.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.sidebeam.bookmark.domain.model.PackageNode;
+import com.sidebeam.common.util.StringInternPool;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming deserializer for {@code Bookmark.packages}.
+ *
+ * Accepts both supported formats and builds the package tree while reading tokens:
+ * <ul>
+ *     <li>the tree format: {@code [{key: dev, children: [{key: doc}]}]}</li>
+ *     <li>the legacy path format: {@code ["/dev/doc/gitlab", "/dev/ci"]}</li>
+ * </ul>
+ * Both formats may be mixed in one list; path entries are merged into the tree.
+ * The resulting subtrees are canonicalized through the {@link PackageNodePool}
+ * registered on the deserialization context, or a per-value pool if none is registered.
+ * Keys are shared through the registered {@link StringInternPool}, if any; without one they are kept as read.
+ */
+public class PackageNodeListDeserializer extends StdDeserializer<List<PackageNode>> {
+
+    private static final String KEY_FIELD = "key";
+    private static final String CHILDREN_FIELD = "children";
+
+    public PackageNodeListDeserializer() {
+        super(List.class);
+    }
+
+    @Override
+    public List<PackageNode> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        StringInternPool keys = resolveStringPool(ctxt);
+        PackageNode.TreeBuilder root = new PackageNode.TreeBuilder(null);
+        JsonToken token = p.currentToken();
+
+        if (token == JsonToken.START_ARRAY) {
+            readNodes(p, ctxt, keys, root);
+        } else {
+            // A single path or node without the surrounding list
+            readNode(p, ctxt, keys, root, token);
+        }
+
+        return resolveNodePool(ctxt).canonicalize(root.buildChildren());
+    }
+
+    /**
+     * Reads the elements of a list into the children of the given parent.
+     * The parser must be positioned on {@code START_ARRAY}.
+     */
+    private void readNodes(JsonParser p, DeserializationContext ctxt, StringInternPool keys,
+                           PackageNode.TreeBuilder parent) throws IOException {
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            readNode(p, ctxt, keys, parent, token);
+        }
+    }
+
+    /**
+     * Reads a single list element (a path string or a node object) into the children of the given parent.
+     */
+    private void readNode(JsonParser p, DeserializationContext ctxt, StringInternPool keys,
+                          PackageNode.TreeBuilder parent, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            readObjectNode(p, ctxt, keys, parent);
+            return;
+        }
+        if (token != null && token.isScalarValue()) {
+            parent.addPath(p.getValueAsString(), keys);
+            return;
+        }
+        ctxt.handleUnexpectedToken(PackageNode.class, p);
+    }
+
+    /**
+     * Reads a {@code {key, children}} object. The parser must be positioned on {@code START_OBJECT}.
+     * Unknown fields are skipped, matching the lenient binding of {@code Bookmark}.
+     */
+    private void readObjectNode(JsonParser p, DeserializationContext ctxt, StringInternPool keys,
+                                PackageNode.TreeBuilder parent) throws IOException {
+        PackageNode.TreeBuilder node = parent.appendChild(null);
+
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            if (KEY_FIELD.equals(field)) {
+                String key = token == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+                node.setKey(keys == null ? key : keys.intern(key));
+            } else if (CHILDREN_FIELD.equals(field) && token == JsonToken.START_ARRAY) {
+                readNodes(p, ctxt, keys, node);
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private StringInternPool resolveStringPool(DeserializationContext ctxt) {
+        Object pool = ctxt.getAttribute(StringInternPool.ATTRIBUTE);
+        return pool instanceof StringInternPool ? (StringInternPool) pool : null;
+    }
+
+    private PackageNodePool resolveNodePool(DeserializationContext ctxt) {
+        Object pool = ctxt.getAttribute(PackageNodePool.ATTRIBUTE);
+        return pool instanceof PackageNodePool ? (PackageNodePool) pool : new PackageNodePool();
+    }
+}
@@ -0,0 +1,115 @@
+package com.sidebeam.bookmark.domain.json;
+
+import com.sidebeam.bookmark.domain.model.PackageNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonicalizes package trees so that structurally identical subtrees are shared.
+ * A pool lives for a single snapshot parse; bookmarks that declare the same packages
+ * end up referencing the same {@link PackageNode} instances, which are immutable values.
+ */
+public class PackageNodePool {
+
+    /**
+     * Deserialization attribute under which the pool for the current parse is registered.
+     */
+    public static final Object ATTRIBUTE = PackageNodePool.class;
+
+    private final Map<PackageNode, PackageNode> nodes = new HashMap<>();
+
+    private static final int NODE_BYTES = 24;
+    private static final int LIST_BYTES = 32;
+    private static final int REFERENCE_BYTES = 4;
+
+    private long sharedNodes;
+
+    private long savedBytes;
+
+    /**
+     * Canonicalizes a list of package trees.
+     *
+     * @param roots The top-level package nodes
+     * @return An immutable list of canonical nodes
+     */
+    public List<PackageNode> canonicalize(List<PackageNode> roots) {
+        if (roots == null || roots.isEmpty()) {
+            return List.of();
+        }
+
+        List<PackageNode> canonical = new ArrayList<>(roots.size());
+        for (PackageNode root : roots) {
+            canonical.add(canonicalize(root));
+        }
+        return List.copyOf(canonical);
+    }
+
+    /**
+     * Canonicalizes a package tree bottom-up. Nodes are immutable, so the returned node
+     * and its descendants can be shared by any number of bookmarks.
+     *
+     * @param node The node to canonicalize
+     * @return The canonical node for the given subtree
+     */
+    public PackageNode canonicalize(PackageNode node) {
+        List<PackageNode> children = canonicalize(node.getChildren());
+        if (!sameNodes(children, node.getChildren())) {
+            node = new PackageNode(node.getKey(), children);
+        }
+
+        PackageNode existing = nodes.putIfAbsent(node, node);
+        if (existing != null) {
+            sharedNodes++;
+            savedBytes += estimateRetainedSize(node);
+            return existing;
+        }
+        return node;
+    }
+
+    /**
+     * Checks whether two lists hold the same node instances.
+     */
+    private static boolean sameNodes(List<PackageNode> a, List<PackageNode> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The estimated heap, in bytes, no longer retained because parsed nodes were shared
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    /**
+     * Estimates the heap held by a node itself; its children are already shared at this point.
+     */
+    private static long estimateRetainedSize(PackageNode node) {
+        int children = node.getChildren().size();
+        return NODE_BYTES + (children == 0 ? 0 : LIST_BYTES + (long) children * REFERENCE_BYTES);
+    }
+
+    /**
+     * @return The number of distinct package nodes held by this pool
+     */
+    public int getDistinctNodes() {
+        return nodes.size();
+    }
+
+    /**
+     * @return The number of parsed nodes that were replaced by an existing shared node
+     */
+    public long getSharedNodes() {
+        return sharedNodes;
+    }
+}
@@ -1,6 +1,9 @@
 package com.sidebeam.bookmark.domain.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.sidebeam.bookmark.domain.json.InterningStringDeserializer;
+import com.sidebeam.bookmark.domain.json.PackageNodeListDeserializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -37,6 +40,7 @@ public class Bookmark {
      * The domain of the URL.
      */
     @NotBlank(message = "Domain is required")
+    @JsonDeserialize(using = InterningStringDeserializer.class)
     private String domain;
 
     /**
@@ -44,11 +48,14 @@ public class Bookmark {
      */
     @NotBlank(message = "Category is required")
     @Pattern(regexp = "^[^/]+(/[^/]+)*$", message = "Category must be in format 'Parent/Child/Grandchild'")
+    @JsonDeserialize(using = InterningStringDeserializer.class)
     private String category;
 
     /**
      * Optional list of package nodes.
+     * Accepts both the tree format and the legacy list of package paths.
      */
+    @JsonDeserialize(using = PackageNodeListDeserializer.class)
     private List<PackageNode> packages;
 
     /**
@@ -1,5 +1,6 @@
 package com.sidebeam.bookmark.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -37,6 +38,29 @@ public class CategoryNode {
     @Builder.Default
     private int count = 0;
 
+    /**
+     * The count of bookmarks in this node and all of its descendants.
+     * Only populated by the indexed tree builder; not serialized.
+     */
+    @JsonIgnore
+    @Builder.Default
+    private int totalCount = 0;
+
+    /**
+     * The full category path of this node (e.g., "Parent/Child"); empty for the root.
+     * Only populated by the indexed tree builder; not serialized.
+     */
+    @JsonIgnore
+    private String path;
+
+    /**
+     * A stable identifier derived from {@link #path}, identical across snapshots.
+     * Only populated by the indexed tree builder; not serialized.
+     */
+    @JsonIgnore
+    @Builder.Default
+    private long pathId = 0L;
+
     /**
      * Adds a child node with the given name if it doesn't exist already.
      * Returns the child node (either existing or newly created).
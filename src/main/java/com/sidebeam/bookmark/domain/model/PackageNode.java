@@ -1,57 +1,46 @@
 package com.sidebeam.bookmark.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sidebeam.common.util.StringInternPool;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents a node in the package tree.
  * Each node has a key and can have children nodes.
+ *
+ * Nodes are immutable values, so structurally identical subtrees can be shared between bookmarks
+ * (see {@code PackageNodePool}) and used as hash keys. Trees are assembled with a {@link TreeBuilder}.
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
-public class PackageNode {
+public final class PackageNode {
 
     /**
      * The key of this package node.
      */
-    private String key;
+    private final String key;
 
     /**
-     * The children of this package node.
+     * The children of this package node; unmodifiable.
      */
-    @Builder.Default
-    private List<PackageNode> children = new ArrayList<>();
+    private final List<PackageNode> children;
 
-    /**
-     * Adds a child node with the given key if it doesn't exist already.
-     * Returns the child node (either existing or newly created).
-     *
-     * @param childKey The key of the child node to add
-     * @return The child node
-     */
-    public PackageNode addChild(String childKey) {
-        // Check if child already exists
-        for (PackageNode child : children) {
-            if (child.getKey().equals(childKey)) {
-                return child;
-            }
-        }
-
-        // Create new child
-        PackageNode child = PackageNode.builder()
-                .key(childKey)
-                .build();
-        children.add(child);
-        return child;
+    @Builder
+    @JsonCreator
+    public PackageNode(@JsonProperty("key") String key, @JsonProperty("children") List<PackageNode> children) {
+        this.key = key;
+        this.children = children == null ? List.of() : List.copyOf(children);
     }
 
     /**
@@ -61,32 +50,104 @@ public class PackageNode {
      * @return The root node of the package tree
      */
     public static PackageNode buildTree(List<String> packagePaths) {
-        PackageNode root = PackageNode.builder()
-                .key("root")
-                .build();
+        TreeBuilder root = new TreeBuilder("root");
 
         if (packagePaths == null || packagePaths.isEmpty()) {
-            return root;
+            return root.build();
         }
 
         for (String path : packagePaths) {
-            if (path == null || path.isEmpty()) {
-                continue;
+            root.addPath(path, null);
+        }
+
+        return root.build();
+    }
+
+    /**
+     * A mutable node used while assembling a package tree.
+     * It is never shared; {@link #build()} turns it into immutable {@link PackageNode}s.
+     */
+    public static final class TreeBuilder {
+
+        private String key;
+        private final List<TreeBuilder> children = new ArrayList<>();
+
+        public TreeBuilder(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Sets the key, which the tree format may give after the children.
+         */
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Appends a new child, even if a child with the same key exists.
+         *
+         * @return The new child
+         */
+        public TreeBuilder appendChild(String childKey) {
+            TreeBuilder child = new TreeBuilder(childKey);
+            children.add(child);
+            return child;
+        }
+
+        /**
+         * Adds a child node with the given key if it doesn't exist already.
+         * Returns the child node (either existing or newly created).
+         *
+         * @param childKey The key of the child node to add
+         * @return The child node
+         */
+        public TreeBuilder addChild(String childKey) {
+            for (TreeBuilder child : children) {
+                if (Objects.equals(child.key, childKey)) {
+                    return child;
+                }
             }
-            
-            String[] parts = path.split("/");
-            PackageNode current = root;
+            return appendChild(childKey);
+        }
 
-            // Skip empty first part if path starts with "/"
-            int startIndex = (path.startsWith("/") && parts.length > 0) ? 1 : 0;
+        /**
+         * Adds the nodes along the given package path below this node.
+         * Empty segments (including the one produced by a leading "/") are skipped.
+         *
+         * @param path The package path (e.g., "/dev/doc/gitlab")
+         * @param keys The snapshot's pool used to share repeated keys, or {@code null} to keep keys as split
+         * @return The node at the end of the path, or this node if the path has no segments
+         */
+        public TreeBuilder addPath(String path, StringInternPool keys) {
+            TreeBuilder current = this;
+            if (path == null || path.isEmpty()) {
+                return current;
+            }
 
-            for (int i = startIndex; i < parts.length; i++) {
-                if (!parts[i].isEmpty()) {
-                    current = current.addChild(parts[i]);
+            for (String part : path.split("/")) {
+                if (!part.isEmpty()) {
+                    current = current.addChild(keys == null ? part : keys.intern(part));
                 }
             }
+            return current;
         }
 
-        return root;
+        /**
+         * @return The immutable nodes built so far below this node
+         */
+        public List<PackageNode> buildChildren() {
+            List<PackageNode> built = new ArrayList<>(children.size());
+            for (TreeBuilder child : children) {
+                built.add(child.build());
+            }
+            return built;
+        }
+
+        /**
+         * @return The immutable tree rooted at this node
+         */
+        public PackageNode build() {
+            return new PackageNode(key, buildChildren());
+        }
     }
-}
\ No newline at end of file
+}
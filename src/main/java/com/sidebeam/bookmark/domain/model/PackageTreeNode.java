@@ -0,0 +1,44 @@
+package com.sidebeam.bookmark.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a node of the package tree merged over all bookmarks.
+ * Unlike {@link PackageNode}, which describes the packages of one bookmark,
+ * each node carries the number of bookmarks that declare it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class PackageTreeNode {
+
+    /**
+     * The key of this package node.
+     */
+    private String key;
+
+    /**
+     * The full package path of this node (e.g., "dev/doc"); empty for the root.
+     */
+    private String path;
+
+    /**
+     * The number of bookmarks whose packages contain this node (directly or through a descendant).
+     */
+    private int count;
+
+    /**
+     * The children of this package node, in order of first appearance.
+     */
+    @Builder.Default
+    private List<PackageTreeNode> children = new ArrayList<>();
+}
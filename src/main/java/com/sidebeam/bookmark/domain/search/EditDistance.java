@@ -0,0 +1,73 @@
+package com.sidebeam.bookmark.domain.search;
+
+/**
+ * Bounded edit distance for verifying fuzzy candidates.
+ */
+public final class EditDistance {
+
+    private EditDistance() {
+    }
+
+    /**
+     * Computes the optimal string alignment distance (Damerau-Levenshtein with adjacent
+     * transpositions, each substring edited at most once), giving up as soon as it must exceed
+     * {@code max}. Only a band of width {@code 2 * max + 1} around the diagonal is evaluated.
+     *
+     * @param a   The first string
+     * @param b   The second string
+     * @param max The largest distance of interest
+     * @return The distance, or {@code max + 1} if it is larger than {@code max}
+     */
+    public static int boundedDamerau(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+
+        int outside = max + 1;
+        int[] previousPrevious = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : outside;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+
+            int rowMinimum = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = Math.min(value, outside);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = outside;
+            }
+            if (rowMinimum > max) {
+                return outside;
+            }
+
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[m], outside);
+    }
+}
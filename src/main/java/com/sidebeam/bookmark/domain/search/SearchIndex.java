@@ -0,0 +1,720 @@
+package com.sidebeam.bookmark.domain.search;
+
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory inverted index over the rows of a {@link BookmarkColumnStore}.
+ *
+ * Bookmarks are indexed by the terms of their name, domain, category segments and selected
+ * metadata values. Ranking follows BM25F: term frequencies are length-normalized per field,
+ * weighted by field, combined, and saturated once. Because that part of the score does not
+ * depend on the query, it is multiplied by the term's IDF at build time, so a query only
+ * sums precomputed posting scores.
+ *
+ * The term dictionary is sorted, which lets the last query term match as a prefix for
+ * type-ahead: a prefix covers a contiguous range of term ids. When the query has other terms,
+ * their (small) intersection is filtered through a forward index of each row's term ids, so
+ * a short prefix such as "g" costs a range check per candidate term instead of a union of
+ * large posting lists. All query terms must match (AND semantics). A trigram index over the
+ * dictionary supports an optional typo-tolerant mode. The index is immutable.
+ */
+public final class SearchIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    /**
+     * The indexed fields and their BM25F weights.
+     */
+    enum Field {
+        NAME(3.0f),
+        DOMAIN(1.5f),
+        CATEGORY(1.5f),
+        META(1.0f);
+
+        private final float weight;
+
+        Field(float weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int[] NO_ROWS = new int[0];
+    private static final int[] NO_TERMS = new int[0];
+
+    private final int rowCount;
+    private final int maxPrefixTerms;
+
+    /**
+     * The term dictionary, sorted.
+     */
+    private final String[] terms;
+
+    /**
+     * Postings of term {@code t} are {@code [postingOffsets[t], postingOffsets[t + 1])}, ascending by row.
+     */
+    private final int[] postingOffsets;
+    private final int[] postingRows;
+    private final float[] postingScores;
+
+    /**
+     * Forward index: the terms of row {@code r} are {@code [forwardOffsets[r], forwardOffsets[r + 1])}.
+     */
+    private final int[] forwardOffsets;
+    private final int[] forwardTerms;
+    private final float[] forwardScores;
+
+    private final TrigramIndex trigramIndex;
+
+    private SearchIndex(int rowCount, int maxPrefixTerms, String[] terms, int[] postingOffsets,
+                        int[] postingRows, float[] postingScores,
+                        int[] forwardOffsets, int[] forwardTerms, float[] forwardScores,
+                        TrigramIndex trigramIndex) {
+        this.rowCount = rowCount;
+        this.maxPrefixTerms = maxPrefixTerms;
+        this.terms = terms;
+        this.postingOffsets = postingOffsets;
+        this.postingRows = postingRows;
+        this.postingScores = postingScores;
+        this.forwardOffsets = forwardOffsets;
+        this.forwardTerms = forwardTerms;
+        this.forwardScores = forwardScores;
+        this.trigramIndex = trigramIndex;
+    }
+
+    /**
+     * Builds the index of a snapshot.
+     *
+     * @param store          The snapshot's rows
+     * @param metaKeys       The metadata keys whose values are indexed
+     * @param maxPrefixTerms The maximum number of dictionary terms a prefix query term expands to; must be positive
+     * @return The index
+     */
+    public static SearchIndex build(BookmarkColumnStore store, Collection<String> metaKeys, int maxPrefixTerms) {
+        if (maxPrefixTerms < 1) {
+            throw new IllegalArgumentException("maxPrefixTerms must be positive: " + maxPrefixTerms);
+        }
+        int rows = store.size();
+        Field[] fields = Field.values();
+
+        // Pass 1: field lengths, for length normalization
+        int[][] lengths = new int[fields.length][rows];
+        double[] averageLengths = new double[fields.length];
+        for (int row = 0; row < rows; row++) {
+            for (Field field : fields) {
+                int length = fieldTerms(store, row, field, metaKeys).size();
+                lengths[field.ordinal()][row] = length;
+                averageLengths[field.ordinal()] += length;
+            }
+        }
+        for (Field field : fields) {
+            averageLengths[field.ordinal()] = rows == 0 ? 0 : Math.max(averageLengths[field.ordinal()] / rows, 1e-9);
+        }
+
+        // Pass 2: one (term, row, combined tf) entry per distinct term of each row, in row order
+        Map<String, Integer> termIds = new HashMap<>();
+        Entries entries = new Entries(rows * 8);
+        Map<String, Float> rowTerms = new HashMap<>();
+        int[] forwardOffsets = new int[rows + 1];
+        for (int row = 0; row < rows; row++) {
+            forwardOffsets[row] = entries.size;
+            rowTerms.clear();
+            for (Field field : fields) {
+                int length = lengths[field.ordinal()][row];
+                if (length == 0) {
+                    continue;
+                }
+                float norm = (float) (1 - B + B * length / averageLengths[field.ordinal()]);
+                float increment = field.weight / norm;
+                for (String term : fieldTerms(store, row, field, metaKeys)) {
+                    rowTerms.merge(term, increment, Float::sum);
+                }
+            }
+            for (Map.Entry<String, Float> term : rowTerms.entrySet()) {
+                Integer termId = termIds.get(term.getKey());
+                if (termId == null) {
+                    termId = termIds.size();
+                    termIds.put(term.getKey(), termId);
+                }
+                entries.add(termId, row, term.getValue());
+            }
+        }
+        forwardOffsets[rows] = entries.size;
+
+        // Sort the dictionary and lay the postings out per term (counting sort keeps row order)
+        String[] terms = termIds.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[] sortedIdOf = new int[terms.length];
+        for (int sortedId = 0; sortedId < terms.length; sortedId++) {
+            sortedIdOf[termIds.get(terms[sortedId])] = sortedId;
+        }
+
+        int[] offsets = new int[terms.length + 1];
+        for (int i = 0; i < entries.size; i++) {
+            offsets[sortedIdOf[entries.termIds[i]] + 1]++;
+        }
+        for (int t = 0; t < terms.length; t++) {
+            offsets[t + 1] += offsets[t];
+        }
+
+        // Entries are in row order, so they directly form the forward index
+        int[] fill = Arrays.copyOf(offsets, terms.length);
+        int[] postingRows = new int[entries.size];
+        float[] postingScores = new float[entries.size];
+        int[] forwardTerms = new int[entries.size];
+        float[] forwardScores = new float[entries.size];
+        for (int i = 0; i < entries.size; i++) {
+            int term = sortedIdOf[entries.termIds[i]];
+            int documentFrequency = offsets[term + 1] - offsets[term];
+            double idf = Math.log(1 + (rows - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            float tf = entries.frequencies[i];
+            float score = (float) (idf * tf * (K1 + 1) / (tf + K1));
+            int position = fill[term]++;
+            postingRows[position] = entries.rows[i];
+            postingScores[position] = score;
+            forwardTerms[i] = term;
+            forwardScores[i] = score;
+        }
+
+        return new SearchIndex(rows, maxPrefixTerms, terms, offsets, postingRows, postingScores,
+                forwardOffsets, forwardTerms, forwardScores, TrigramIndex.build(terms));
+    }
+
+    /**
+     * Returns the terms a field of a row contributes to the index.
+     */
+    static List<String> fieldTerms(BookmarkColumnStore store, int row, Field field, Collection<String> metaKeys) {
+        switch (field) {
+            case NAME:
+                return Tokenizer.tokenize(store.name(row));
+            case DOMAIN:
+                return Tokenizer.tokenize(store.domain(row));
+            case CATEGORY:
+                return Tokenizer.tokenize(store.category(row));
+            default:
+                List<String> terms = new ArrayList<>();
+                for (String key : metaKeys) {
+                    addValueTerms(store.metaValue(row, key), terms);
+                }
+                return terms;
+        }
+    }
+
+    private static void addValueTerms(Object value, List<String> terms) {
+        if (value instanceof String) {
+            terms.addAll(Tokenizer.tokenize((String) value));
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (element instanceof String) {
+                    terms.addAll(Tokenizer.tokenize((String) element));
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query A free-text query; its last term also matches as a prefix
+     * @param limit The maximum number of results
+     * @return The matching rows, best first; ties keep snapshot order
+     */
+    public int[] search(String query, int limit) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return NO_ROWS;
+        }
+
+        String prefix = queryTerms.get(queryTerms.size() - 1);
+        if (queryTerms.size() == 1) {
+            return topRows(prefixPostings(prefix), limit);
+        }
+
+        Postings[] lists = new Postings[queryTerms.size() - 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = exactPostings(queryTerms.get(i));
+            if (lists[i].size == 0) {
+                return NO_ROWS;
+            }
+        }
+        return topRows(filterByPrefix(intersect(lists), prefix), limit);
+    }
+
+    /**
+     * Searches the index, optionally tolerating typos.
+     *
+     * In fuzzy mode every query term also matches dictionary terms within a few edits
+     * (one for terms of four to seven characters, two from eight on). Candidates come from a
+     * trigram index over the dictionary and are verified with a bounded edit distance, so no
+     * query computes a distance against every term or bookmark name.
+     *
+     * @param query A free-text query; its last term also matches as a prefix
+     * @param limit The maximum number of results
+     * @param fuzzy Whether terms may match with typos
+     * @return The matching rows, best first; ties keep snapshot order
+     */
+    public int[] search(String query, int limit, boolean fuzzy) {
+        if (!fuzzy) {
+            return search(query, limit);
+        }
+        List<String> queryTerms = Tokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return NO_ROWS;
+        }
+
+        Postings[] lists = new Postings[queryTerms.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = fuzzyPostings(queryTerms.get(i), i == lists.length - 1);
+            if (lists[i].size == 0) {
+                return NO_ROWS;
+            }
+        }
+        return topRows(intersect(lists), limit);
+    }
+
+    /**
+     * Keeps the candidates that contain one of the {@link #prefixTerms(String) prefix terms},
+     * adding the scores of those terms.
+     */
+    Postings filterByPrefix(Postings candidates, String prefix) {
+        int[] termIds = prefixTerms(prefix);
+        if (termIds.length == 0) {
+            return Postings.EMPTY;
+        }
+        int first = termIds[0];
+        int last = termIds[termIds.length - 1];
+        boolean contiguous = last - first + 1 == termIds.length;
+
+        int[] rows = new int[candidates.size];
+        float[] scores = new float[candidates.size];
+        int size = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            int row = candidates.rows[i];
+            float score = 0;
+            boolean matched = false;
+            for (int entry = forwardOffsets[row]; entry < forwardOffsets[row + 1]; entry++) {
+                int term = forwardTerms[entry];
+                if (term >= first && term <= last && (contiguous || Arrays.binarySearch(termIds, term) >= 0)) {
+                    score += forwardScores[entry];
+                    matched = true;
+                }
+            }
+            if (matched) {
+                rows[size] = row;
+                scores[size] = candidates.scores[i] + score;
+                size++;
+            }
+        }
+        return new Postings(rows, scores, size);
+    }
+
+    /**
+     * Returns the dictionary terms starting with {@code prefix}, at most {@code maxPrefixTerms} of them.
+     * The matching terms are a contiguous id range found with two binary searches. When the range is
+     * larger than the cap, the terms in the most rows are kept (ties to the alphabetically first), so
+     * a short prefix expands to its common completions rather than to the first ones in the dictionary.
+     *
+     * @return The ids of the kept terms, ascending
+     */
+    int[] prefixTerms(String prefix) {
+        int first = lowerBound(prefix);
+        int last = lowerBound(prefix + Character.MAX_VALUE);
+        int count = last - first;
+        if (count <= 0) {
+            return NO_TERMS;
+        }
+        if (count <= maxPrefixTerms) {
+            int[] termIds = new int[count];
+            for (int i = 0; i < count; i++) {
+                termIds[i] = first + i;
+            }
+            return termIds;
+        }
+
+        // Bounded min-heap of (document frequency, reversed term id) keys; the root is the weakest kept term
+        long[] heap = new long[maxPrefixTerms];
+        int size = 0;
+        for (int termId = first; termId < last; termId++) {
+            long key = ((long) (postingOffsets[termId + 1] - postingOffsets[termId]) << 32)
+                    | (Integer.MAX_VALUE - termId);
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+        int[] termIds = new int[size];
+        for (int i = 0; i < size; i++) {
+            termIds[i] = Integer.MAX_VALUE - (int) heap[i];
+        }
+        Arrays.sort(termIds);
+        return termIds;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= heap[index]) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (left + 1 < size && heap[left + 1] < heap[smallest]) {
+                smallest = left + 1;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(heap, smallest, index);
+            index = smallest;
+        }
+    }
+
+    private static void swap(long[] heap, int i, int j) {
+        long value = heap[i];
+        heap[i] = heap[j];
+        heap[j] = value;
+    }
+
+    private int lowerBound(String term) {
+        int index = Arrays.binarySearch(terms, term);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * @return The number of indexed rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return The number of distinct terms
+     */
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    /**
+     * @return The number of postings (distinct term and row pairs)
+     */
+    public int getPostingCount() {
+        return postingRows.length;
+    }
+
+    Postings exactPostings(String term) {
+        int termId = Arrays.binarySearch(terms, term);
+        if (termId < 0) {
+            return Postings.EMPTY;
+        }
+        int from = postingOffsets[termId];
+        int to = postingOffsets[termId + 1];
+        return new Postings(Arrays.copyOfRange(postingRows, from, to), Arrays.copyOfRange(postingScores, from, to),
+                to - from);
+    }
+
+    Postings prefixPostings(String prefix) {
+        int[] termIds = prefixTerms(prefix);
+        if (termIds.length == 0) {
+            return Postings.EMPTY;
+        }
+        if (termIds.length == 1) {
+            return exactPostings(terms[termIds[0]]);
+        }
+
+        float[] weights = new float[termIds.length];
+        Arrays.fill(weights, 1.0f);
+        return union(termIds, weights, termIds.length);
+    }
+
+    /**
+     * Expands a query term to itself, the dictionary terms within {@link #maxDistance(int)} edits
+     * and, for the last query term, the terms it prefixes. A fuzzy match's scores are scaled by
+     * {@code 1 / (1 + distance)}, so exact and prefix matches rank first.
+     */
+    Postings fuzzyPostings(String term, boolean prefix) {
+        int[] own;
+        if (prefix) {
+            own = prefixTerms(term);
+        } else {
+            int termId = Arrays.binarySearch(terms, term);
+            own = termId < 0 ? NO_TERMS : new int[]{termId};
+        }
+
+        long[] matches = trigramIndex.fuzzyMatches(term, maxDistance(term.length()), maxPrefixTerms);
+        int[] termIds = new int[own.length + matches.length];
+        float[] weights = new float[termIds.length];
+        int count = 0;
+        for (int termId : own) {
+            termIds[count] = termId;
+            weights[count++] = 1.0f;
+        }
+        for (long match : matches) {
+            int termId = (int) match;
+            if (Arrays.binarySearch(own, termId) < 0) {
+                termIds[count] = termId;
+                weights[count++] = 1.0f / (1 + (int) (match >>> 32));
+            }
+        }
+        return union(termIds, weights, count);
+    }
+
+    /**
+     * @return The number of edits a fuzzy query term of the given length tolerates
+     */
+    static int maxDistance(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+
+    /**
+     * Unions the postings of the given terms, summing each row's weighted scores.
+     */
+    private Postings union(int[] termIds, float[] weights, int count) {
+        if (count == 0) {
+            return Postings.EMPTY;
+        }
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += postingOffsets[termIds[i] + 1] - postingOffsets[termIds[i]];
+        }
+        if ((long) total * 16 >= rowCount) {
+            return accumulate(termIds, weights, count);
+        }
+
+        // Small union: sort (row, posting) pairs by row and sum equal rows
+        long[] keys = new long[total];
+        float[] weighted = new float[total];
+        int k = 0;
+        for (int i = 0; i < count; i++) {
+            for (int posting = postingOffsets[termIds[i]]; posting < postingOffsets[termIds[i] + 1]; posting++) {
+                weighted[k] = postingScores[posting] * weights[i];
+                keys[k] = ((long) postingRows[posting] << 32) | k;
+                k++;
+            }
+        }
+        Arrays.sort(keys);
+
+        int[] rows = new int[total];
+        float[] scores = new float[total];
+        int size = 0;
+        for (long key : keys) {
+            int row = (int) (key >>> 32);
+            float score = weighted[(int) key];
+            if (size > 0 && rows[size - 1] == row) {
+                scores[size - 1] += score;
+            } else {
+                rows[size] = row;
+                scores[size] = score;
+                size++;
+            }
+        }
+        return new Postings(rows, scores, size);
+    }
+
+    /**
+     * Large union of the postings of the given terms, summed in a dense per-row array.
+     */
+    private Postings accumulate(int[] termIds, float[] weights, int count) {
+        float[] accumulated = new float[rowCount];
+        boolean[] seen = new boolean[rowCount];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            for (int posting = postingOffsets[termIds[i]]; posting < postingOffsets[termIds[i] + 1]; posting++) {
+                int row = postingRows[posting];
+                if (!seen[row]) {
+                    seen[row] = true;
+                    size++;
+                }
+                accumulated[row] += postingScores[posting] * weights[i];
+            }
+        }
+
+        int[] rows = new int[size];
+        float[] scores = new float[size];
+        int index = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (seen[row]) {
+                rows[index] = row;
+                scores[index] = accumulated[row];
+                index++;
+            }
+        }
+        return new Postings(rows, scores, size);
+    }
+
+    static Postings intersect(Postings[] lists) {
+        Postings[] sorted = lists.clone();
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.size, b.size));
+
+        Postings result = sorted[0];
+        for (int i = 1; i < sorted.length && result.size > 0; i++) {
+            Postings other = sorted[i];
+            int[] rows = new int[result.size];
+            float[] scores = new float[result.size];
+            int size = 0;
+            int a = 0;
+            int b = 0;
+            while (a < result.size && b < other.size) {
+                int rowA = result.rows[a];
+                int rowB = other.rows[b];
+                if (rowA == rowB) {
+                    rows[size] = rowA;
+                    scores[size] = result.scores[a] + other.scores[b];
+                    size++;
+                    a++;
+                    b++;
+                } else if (rowA < rowB) {
+                    a++;
+                } else {
+                    b++;
+                }
+            }
+            result = new Postings(rows, scores, size);
+        }
+        return result;
+    }
+
+    /**
+     * Selects the best {@code limit} rows with a bounded min-heap, then orders them best first.
+     */
+    static int[] topRows(Postings postings, int limit) {
+        int k = Math.min(limit, postings.size);
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < postings.size; i++) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, postings);
+            } else if (better(i, heap[0], postings)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, postings);
+            }
+        }
+
+        int[] rows = new int[heapSize];
+        for (int position = heapSize - 1; position >= 0; position--) {
+            rows[position] = postings.rows[heap[0]];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, postings);
+        }
+        return rows;
+    }
+
+    /**
+     * @return Whether posting {@code a} ranks before posting {@code b}
+     */
+    private static boolean better(int a, int b, Postings postings) {
+        float scoreA = postings.scores[a];
+        float scoreB = postings.scores[b];
+        return scoreA > scoreB || (scoreA == scoreB && postings.rows[a] < postings.rows[b]);
+    }
+
+    private static void siftUp(int[] heap, int index, Postings postings) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(heap[parent], heap[index], postings)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, Postings postings) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[left], heap[right], postings)) {
+                worst = right;
+            }
+            if (!better(heap[index], heap[worst], postings)) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    /**
+     * Rows matching (part of) a query, ascending by row, with their accumulated scores.
+     */
+    static final class Postings {
+
+        static final Postings EMPTY = new Postings(NO_ROWS, new float[0], 0);
+
+        final int[] rows;
+        final float[] scores;
+        final int size;
+
+        Postings(int[] rows, float[] scores, int size) {
+            this.rows = rows;
+            this.scores = scores;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Growable parallel arrays of postings collected while building.
+     */
+    private static final class Entries {
+
+        private int[] termIds;
+        private int[] rows;
+        private float[] frequencies;
+        private int size;
+
+        private Entries(int capacity) {
+            int initial = Math.max(16, capacity);
+            this.termIds = new int[initial];
+            this.rows = new int[initial];
+            this.frequencies = new float[initial];
+        }
+
+        private void add(int termId, int row, float frequency) {
+            if (size == rows.length) {
+                int capacity = size * 2;
+                termIds = Arrays.copyOf(termIds, capacity);
+                rows = Arrays.copyOf(rows, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            termIds[size] = termId;
+            rows[size] = row;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.sidebeam.bookmark.domain.search;
+
+import lombok.Getter;
+
+/**
+ * A type-ahead completion: a bookmark name, a domain or a category segment.
+ */
+@Getter
+public class Suggestion {
+
+    /**
+     * The kind of value a suggestion completes to.
+     */
+    public enum Type {
+        NAME,
+        DOMAIN,
+        CATEGORY
+    }
+
+    /**
+     * The completion text, as first seen in the snapshot.
+     */
+    private final String text;
+
+    /**
+     * The kind of value.
+     */
+    private final Type type;
+
+    /**
+     * The number of bookmarks carrying the value; more frequent values rank first.
+     */
+    private final int count;
+
+    Suggestion(String text, Type type, int count) {
+        this.text = text;
+        this.type = type;
+        this.count = count;
+    }
+}
@@ -0,0 +1,285 @@
+package com.sidebeam.bookmark.domain.search;
+
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A path-compressed (radix) trie of lower-cased completion keys for type-ahead.
+ *
+ * Keys are bookmark names (also from each word onwards, so "run" finds "GitLab Runner"),
+ * domains and category segments. Suggestions are numbered by rank, so every node can keep
+ * the ids of the best {@code k} suggestions below it, computed bottom-up at build time.
+ * A lookup walks at most {@code prefix.length()} characters and returns that list; it never
+ * visits the subtree. The trie is immutable and safe to share between request threads.
+ */
+public final class SuggestionTrie {
+
+    private static final Comparator<Suggestion> RANK = Comparator
+            .comparingInt(Suggestion::getCount).reversed()
+            .thenComparingInt(suggestion -> suggestion.getText().length())
+            .thenComparing(Suggestion::getText)
+            .thenComparing(Suggestion::getType);
+
+    private final Suggestion[] suggestions;
+    private final Node root;
+    private final int k;
+
+    private SuggestionTrie(Suggestion[] suggestions, Node root, int k) {
+        this.suggestions = suggestions;
+        this.root = root;
+        this.k = k;
+    }
+
+    /**
+     * Builds the trie of a snapshot.
+     *
+     * @param store The snapshot's rows
+     * @param k     The number of suggestions kept per node, the largest useful limit; must be positive
+     * @return The trie
+     */
+    public static SuggestionTrie build(BookmarkColumnStore store, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        Map<String, Candidate> candidates = new HashMap<>();
+        for (int row = 0; row < store.size(); row++) {
+            String name = store.name(row);
+            if (name != null && !name.isBlank()) {
+                Candidate candidate = candidate(candidates, name.strip(), Suggestion.Type.NAME);
+                candidate.count++;
+                candidate.addWordKeys();
+            }
+            String domain = store.domain(row);
+            if (domain != null && !domain.isBlank()) {
+                candidate(candidates, domain.strip(), Suggestion.Type.DOMAIN).count++;
+            }
+            String category = store.category(row);
+            if (category != null) {
+                for (String segment : category.split("/")) {
+                    if (!segment.isBlank()) {
+                        candidate(candidates, segment.strip(), Suggestion.Type.CATEGORY).count++;
+                    }
+                }
+            }
+        }
+
+        // Number suggestions by rank so that "best" means "smallest id"
+        List<Candidate> ranked = new ArrayList<>(candidates.values());
+        for (Candidate candidate : ranked) {
+            candidate.suggestion = new Suggestion(candidate.text, candidate.type, candidate.count);
+        }
+        ranked.sort((a, b) -> RANK.compare(a.suggestion, b.suggestion));
+        Suggestion[] suggestions = new Suggestion[ranked.size()];
+        List<Key> keys = new ArrayList<>();
+        for (int id = 0; id < ranked.size(); id++) {
+            Candidate candidate = ranked.get(id);
+            suggestions[id] = candidate.suggestion;
+            for (String key : candidate.keys) {
+                keys.add(new Key(key, id));
+            }
+        }
+        keys.sort(Comparator.comparing((Key key) -> key.text).thenComparingInt(key -> key.id));
+
+        Key[] sorted = keys.toArray(new Key[0]);
+        Node root = sorted.length == 0 ? new Node(new int[0]) : buildNode(sorted, 0, sorted.length, 0, k);
+        return new SuggestionTrie(suggestions, root, k);
+    }
+
+    private static Candidate candidate(Map<String, Candidate> candidates, String text, Suggestion.Type type) {
+        String key = text.toLowerCase(Locale.ROOT);
+        return candidates.computeIfAbsent(type + ":" + key, ignored -> new Candidate(text, key, type));
+    }
+
+    /**
+     * Builds the node for the sorted keys {@code [from, to)}, which all share their first {@code depth} characters.
+     */
+    private static Node buildNode(Key[] keys, int from, int to, int depth, int k) {
+        int childrenFrom = from;
+        while (childrenFrom < to && keys[childrenFrom].text.length() == depth) {
+            childrenFrom++;
+        }
+        int[] terminals = new int[childrenFrom - from];
+        for (int i = from; i < childrenFrom; i++) {
+            terminals[i - from] = keys[i].id;
+        }
+
+        List<Character> firstChars = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        int groupFrom = childrenFrom;
+        while (groupFrom < to) {
+            char first = keys[groupFrom].text.charAt(depth);
+            int groupTo = groupFrom + 1;
+            while (groupTo < to && keys[groupTo].text.charAt(depth) == first) {
+                groupTo++;
+            }
+
+            // In a sorted range, the common prefix of the first and last key is shared by all keys
+            String low = keys[groupFrom].text;
+            String high = keys[groupTo - 1].text;
+            int end = depth + 1;
+            while (end < low.length() && end < high.length() && low.charAt(end) == high.charAt(end)) {
+                end++;
+            }
+
+            firstChars.add(first);
+            labels.add(low.substring(depth, end));
+            children.add(buildNode(keys, groupFrom, groupTo, end, k));
+            groupFrom = groupTo;
+        }
+
+        Node node = new Node(topOf(terminals, children, k));
+        if (!children.isEmpty()) {
+            node.firstChars = new char[firstChars.size()];
+            for (int i = 0; i < firstChars.size(); i++) {
+                node.firstChars[i] = firstChars.get(i);
+            }
+            node.labels = labels.toArray(new String[0]);
+            node.children = children.toArray(new Node[0]);
+        }
+        return node;
+    }
+
+    /**
+     * Merges the node's own suggestions with its children's top lists into the {@code k} smallest distinct ids.
+     */
+    private static int[] topOf(int[] terminals, List<Node> children, int k) {
+        // Terminal ids are sorted; merging into an empty list removes repeated ids
+        int[] top = mergeTop(new int[0], terminals, k);
+        for (Node child : children) {
+            top = mergeTop(top, child.top, k);
+        }
+        return top;
+    }
+
+    private static int[] mergeTop(int[] a, int[] b, int k) {
+        int[] merged = new int[Math.min(k, a.length + b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (size < merged.length && (i < a.length || j < b.length)) {
+            int next;
+            if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            if (size == 0 || merged[size - 1] != next) {
+                merged[size++] = next;
+            }
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Returns the best suggestions starting with a prefix.
+     *
+     * @param prefix The typed text; case-insensitive, surrounding whitespace is ignored
+     * @param limit  The maximum number of suggestions, at most {@link #getK()}
+     * @return The suggestions, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = prefix == null ? "" : prefix.strip().toLowerCase(Locale.ROOT);
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            int child = Arrays.binarySearch(node.firstChars, key.charAt(matched));
+            if (child < 0) {
+                return List.of();
+            }
+            String label = node.labels[child];
+            int length = Math.min(label.length(), key.length() - matched);
+            if (!key.regionMatches(matched, label, 0, length)) {
+                return List.of();
+            }
+            matched += length;
+            node = node.children[child];
+        }
+
+        int count = Math.min(Math.max(limit, 0), node.top.length);
+        List<Suggestion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(suggestions[node.top[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of suggestions kept per node
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * @return The number of distinct suggestions
+     */
+    public int size() {
+        return suggestions.length;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_CHARS = new char[0];
+        private static final String[] NO_LABELS = new String[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final int[] top;
+        private char[] firstChars = NO_CHARS;
+        private String[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+
+        private Node(int[] top) {
+            this.top = top;
+        }
+    }
+
+    private static final class Key {
+
+        private final String text;
+        private final int id;
+
+        private Key(String text, int id) {
+            this.text = text;
+            this.id = id;
+        }
+    }
+
+    private static final class Candidate {
+
+        private final String text;
+        private final String key;
+        private final Suggestion.Type type;
+        private final List<String> keys = new ArrayList<>(1);
+        private int count;
+        private Suggestion suggestion;
+
+        private Candidate(String text, String key, Suggestion.Type type) {
+            this.text = text;
+            this.key = key;
+            this.type = type;
+            keys.add(key);
+        }
+
+        /**
+         * Adds a key for each later word of a name, once.
+         */
+        private void addWordKeys() {
+            if (keys.size() > 1 || count > 1) {
+                return;
+            }
+            for (int i = 1; i < key.length(); i++) {
+                if (Character.isLetterOrDigit(key.charAt(i)) && !Character.isLetterOrDigit(key.charAt(i - 1))) {
+                    keys.add(key.substring(i));
+                }
+            }
+        }
+    }
+}
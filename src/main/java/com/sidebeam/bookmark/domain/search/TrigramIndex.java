@@ -0,0 +1,137 @@
+package com.sidebeam.bookmark.domain.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A trigram index over a sorted term dictionary, used to generate fuzzy-match candidates.
+ *
+ * Terms are padded with a start and an end marker, so a term of length {@code L} has {@code L}
+ * trigrams and a single edit changes at most three of them. A term within edit distance
+ * {@code d} of the query therefore shares at least {@code L - 3d} trigrams with it (the q-gram
+ * lemma; {@code L - 4d} when adjacent transpositions count as one edit). Terms below that
+ * count, or whose length differs by more than {@code d}, are skipped without computing a
+ * distance; the rest are verified with {@link EditDistance#boundedDamerau}.
+ */
+final class TrigramIndex {
+
+    private static final char START = '\u0002';
+    private static final char END = '\u0003';
+    private static final int[] NONE = new int[0];
+    private static final long[] NO_MATCHES = new long[0];
+
+    private final String[] terms;
+
+    /**
+     * Trigram to the ascending ids of the terms containing it.
+     */
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(String[] terms, Map<Long, int[]> postings) {
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    /**
+     * @param terms The term dictionary; term ids are array positions
+     */
+    static TrigramIndex build(String[] terms) {
+        Map<Long, int[]> lists = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (int termId = 0; termId < terms.length; termId++) {
+            long[] grams = distinctTrigrams(terms[termId]);
+            for (long gram : grams) {
+                int size = sizes.getOrDefault(gram, 0);
+                int[] list = lists.get(gram);
+                if (list == null) {
+                    list = new int[4];
+                } else if (size == list.length) {
+                    list = Arrays.copyOf(list, size * 2);
+                }
+                list[size] = termId;
+                lists.put(gram, list);
+                sizes.put(gram, size + 1);
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(lists.size() * 2);
+        for (Map.Entry<Long, int[]> entry : lists.entrySet()) {
+            int size = sizes.get(entry.getKey());
+            int[] list = entry.getValue();
+            postings.put(entry.getKey(), size == list.length ? list : Arrays.copyOf(list, size));
+        }
+        return new TrigramIndex(terms, postings);
+    }
+
+    /**
+     * Returns the terms within an edit distance of a query term, excluding the term itself.
+     *
+     * @param term        The query term
+     * @param maxDistance The largest accepted distance
+     * @param limit       The maximum number of matches
+     * @return The matches packed as {@code distance << 32 | termId}, closest first
+     */
+    long[] fuzzyMatches(String term, int maxDistance, int limit) {
+        long[] grams = distinctTrigrams(term);
+        if (maxDistance <= 0 || grams.length == 0 || limit <= 0) {
+            return NO_MATCHES;
+        }
+        // An adjacent transposition can change four trigrams; very short terms still need one in common
+        int required = Math.max(1, grams.length - 4 * maxDistance);
+
+        // Count shared trigrams per term; only terms reached by some trigram are touched
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (long gram : grams) {
+            for (int termId : postings.getOrDefault(gram, NONE)) {
+                shared.merge(termId, 1, Integer::sum);
+            }
+        }
+
+        long[] matches = new long[16];
+        int count = 0;
+        for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+            if (candidate.getValue() < required) {
+                continue;
+            }
+            String other = terms[candidate.getKey()];
+            if (Math.abs(other.length() - term.length()) > maxDistance || other.equals(term)) {
+                continue;
+            }
+            int distance = EditDistance.boundedDamerau(term, other, maxDistance);
+            if (distance <= maxDistance) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, count * 2);
+                }
+                matches[count++] = ((long) distance << 32) | candidate.getKey();
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        return Arrays.copyOf(matches, Math.min(count, limit));
+    }
+
+    /**
+     * @return The distinct padded trigrams of a term, each packed into a long
+     */
+    static long[] distinctTrigrams(String term) {
+        int length = term.length();
+        if (length == 0) {
+            return new long[0];
+        }
+        long[] grams = new long[length];
+        for (int i = 0; i < length; i++) {
+            char first = i == 0 ? START : term.charAt(i - 1);
+            char second = term.charAt(i);
+            char third = i == length - 1 ? END : term.charAt(i + 1);
+            grams[i] = ((long) first << 32) | ((long) second << 16) | third;
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
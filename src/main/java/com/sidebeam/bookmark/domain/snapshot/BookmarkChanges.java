@@ -0,0 +1,86 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The response of a changes request: either the diff from the client's version to the current
+ * one, or, when that diff is no longer available, the full bookmark list.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookmarkChanges {
+
+    /**
+     * The version the client asked for changes since.
+     */
+    private final String since;
+
+    /**
+     * The version of the current snapshot; the client holds this version after applying the response.
+     */
+    private final String version;
+
+    /**
+     * {@code true} if the response carries the full list in {@link #bookmarks} instead of a diff.
+     */
+    private final boolean full;
+
+    /**
+     * Bookmarks to add.
+     */
+    private final List<Bookmark> added;
+
+    /**
+     * Bookmarks to replace, matched by URL.
+     */
+    private final List<Bookmark> changed;
+
+    /**
+     * URLs of bookmarks to remove.
+     */
+    private final List<String> removed;
+
+    /**
+     * The full bookmark list of the current snapshot, only when {@link #full} is {@code true}.
+     */
+    private final BookmarkRows bookmarks;
+
+    /**
+     * @param since The version the client holds
+     * @param diff  The diff from that version to the current one
+     */
+    public static BookmarkChanges of(String since, SnapshotDiff diff) {
+        return BookmarkChanges.builder()
+                .since(since)
+                .version(diff.getToVersion())
+                .added(list(diff.getAdded().values()))
+                .changed(list(diff.getChanged().values()))
+                .removed(list(diff.getRemoved()))
+                .build();
+    }
+
+    /**
+     * @param since    The version the client holds, or {@code null}
+     * @param snapshot The current snapshot
+     */
+    public static BookmarkChanges full(String since, BookmarkSnapshot snapshot) {
+        return BookmarkChanges.builder()
+                .since(since)
+                .version(snapshot.getVersion())
+                .full(true)
+                .bookmarks(snapshot.getColumnStore().rows())
+                .build();
+    }
+
+    private static <T> List<T> list(Collection<T> values) {
+        return new ArrayList<>(values);
+    }
+}
@@ -0,0 +1,397 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.PackageNode;
+import com.sidebeam.common.util.StringInternPool;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * A read-optimized, column-oriented copy of the bookmarks of one snapshot.
+ *
+ * Every bookmark is a row, addressed by its position in the snapshot's bookmark list.
+ * Category, domain, module and source path are dictionary-encoded into {@code int} columns,
+ * so filters compare codes instead of strings. Metadata is stored as one flat run of
+ * key codes and values per row; the {@code module} entry lives in its own column.
+ * The store is immutable once built and safe to share between request threads.
+ */
+public final class BookmarkColumnStore {
+
+    /**
+     * The metadata key holding the module a bookmark was loaded from.
+     */
+    public static final String MODULE_KEY = "module";
+
+    private final int size;
+
+    private final String[] names;
+    private final String[] urls;
+    private final int[] categoryIds;
+    private final int[] domainIds;
+    private final int[] moduleIds;
+    private final int[] sourceIds;
+    private final List<PackageNode>[] packages;
+
+    private final StringDictionary categories;
+    private final StringDictionary domains;
+    private final StringDictionary modules;
+    private final StringDictionary sources;
+
+    /**
+     * Row {@code r} owns the metadata entries in {@code [metaOffsets[r], metaOffsets[r + 1])}.
+     */
+    private final int[] metaOffsets;
+    private final int[] metaKeyIds;
+    private final Object[] metaValues;
+    private final StringDictionary metaKeys;
+    private final BitSet nullMeta;
+
+    @SuppressWarnings("unchecked")
+    private BookmarkColumnStore(List<Bookmark> bookmarks) {
+        this.size = bookmarks.size();
+        this.names = new String[size];
+        this.urls = new String[size];
+        this.categoryIds = new int[size];
+        this.domainIds = new int[size];
+        this.moduleIds = new int[size];
+        this.sourceIds = new int[size];
+        this.packages = (List<PackageNode>[]) new List[size];
+        this.metaOffsets = new int[size + 1];
+        this.nullMeta = new BitSet(size);
+
+        StringDictionary.Builder categoryBuilder = new StringDictionary.Builder();
+        StringDictionary.Builder domainBuilder = new StringDictionary.Builder();
+        StringDictionary.Builder moduleBuilder = new StringDictionary.Builder();
+        StringDictionary.Builder sourceBuilder = new StringDictionary.Builder();
+        StringDictionary.Builder metaKeyBuilder = new StringDictionary.Builder();
+        StringInternPool metaStrings = new StringInternPool();
+
+        int metaEntries = 0;
+        for (Bookmark bookmark : bookmarks) {
+            Map<String, Object> meta = bookmark.getMeta();
+            if (meta != null) {
+                metaEntries += meta.size();
+            }
+        }
+        int[] keyIds = new int[metaEntries];
+        Object[] values = new Object[metaEntries];
+
+        int entry = 0;
+        for (int row = 0; row < size; row++) {
+            Bookmark bookmark = bookmarks.get(row);
+            names[row] = bookmark.getName();
+            urls[row] = bookmark.getUrl();
+            categoryIds[row] = categoryBuilder.encode(bookmark.getCategory());
+            domainIds[row] = domainBuilder.encode(bookmark.getDomain());
+            sourceIds[row] = sourceBuilder.encode(bookmark.getSourcePath());
+            packages[row] = bookmark.getPackages();
+            moduleIds[row] = StringDictionary.NULL_ID;
+
+            metaOffsets[row] = entry;
+            Map<String, Object> meta = bookmark.getMeta();
+            if (meta == null) {
+                nullMeta.set(row);
+                continue;
+            }
+            for (Map.Entry<String, Object> metaEntry : meta.entrySet()) {
+                Object value = metaEntry.getValue();
+                if (MODULE_KEY.equals(metaEntry.getKey()) && (value == null || value instanceof String)) {
+                    moduleIds[row] = moduleBuilder.encode((String) value);
+                    continue;
+                }
+                keyIds[entry] = metaKeyBuilder.encode(metaEntry.getKey());
+                values[entry] = value instanceof String ? metaStrings.intern((String) value) : value;
+                entry++;
+            }
+        }
+        metaOffsets[size] = entry;
+
+        // The module entries moved to their own column; trim the unused tail
+        this.metaKeyIds = entry == metaEntries ? keyIds : Arrays.copyOf(keyIds, entry);
+        this.metaValues = entry == metaEntries ? values : Arrays.copyOf(values, entry);
+        this.categories = categoryBuilder.build();
+        this.domains = domainBuilder.build();
+        this.modules = moduleBuilder.build();
+        this.sources = sourceBuilder.build();
+        this.metaKeys = metaKeyBuilder.build();
+    }
+
+    /**
+     * Builds a column store from the bookmarks of a snapshot.
+     *
+     * @param bookmarks The bookmarks, in snapshot order
+     * @return The column store
+     */
+    public static BookmarkColumnStore from(List<Bookmark> bookmarks) {
+        return new BookmarkColumnStore(bookmarks);
+    }
+
+    /**
+     * @return The number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public String url(int row) {
+        return urls[row];
+    }
+
+    public String category(int row) {
+        return categories.value(categoryIds[row]);
+    }
+
+    public String domain(int row) {
+        return domains.value(domainIds[row]);
+    }
+
+    public String module(int row) {
+        return modules.value(moduleIds[row]);
+    }
+
+    public String sourcePath(int row) {
+        return sources.value(sourceIds[row]);
+    }
+
+    public List<PackageNode> packages(int row) {
+        return packages[row];
+    }
+
+    public int categoryId(int row) {
+        return categoryIds[row];
+    }
+
+    public int domainId(int row) {
+        return domainIds[row];
+    }
+
+    public int moduleId(int row) {
+        return moduleIds[row];
+    }
+
+    public int sourceId(int row) {
+        return sourceIds[row];
+    }
+
+    public StringDictionary getCategories() {
+        return categories;
+    }
+
+    public StringDictionary getDomains() {
+        return domains;
+    }
+
+    public StringDictionary getModules() {
+        return modules;
+    }
+
+    public StringDictionary getSources() {
+        return sources;
+    }
+
+    public StringDictionary getMetaKeys() {
+        return metaKeys;
+    }
+
+    /**
+     * @return {@code true} if the bookmark had no metadata map at all
+     */
+    public boolean isMetaNull(int row) {
+        return nullMeta.get(row);
+    }
+
+    /**
+     * @return The index of the first metadata entry of the row; entries run up to {@link #metaEnd(int)}
+     */
+    public int metaStart(int row) {
+        return metaOffsets[row];
+    }
+
+    /**
+     * @return The index after the last metadata entry of the row
+     */
+    public int metaEnd(int row) {
+        return metaOffsets[row + 1];
+    }
+
+    /**
+     * @param entry An entry index in {@code [metaStart(row), metaEnd(row))}
+     * @return The metadata key of the entry
+     */
+    public String metaKey(int entry) {
+        return metaKeys.value(metaKeyIds[entry]);
+    }
+
+    /**
+     * @param entry An entry index in {@code [metaStart(row), metaEnd(row))}
+     * @return The metadata value of the entry
+     */
+    public Object metaValue(int entry) {
+        return metaValues[entry];
+    }
+
+    /**
+     * Looks up a metadata value of a row, including the {@code module} column.
+     *
+     * @return The value, or {@code null} if the row has no entry for the key
+     */
+    public Object metaValue(int row, String key) {
+        if (MODULE_KEY.equals(key) && moduleIds[row] != StringDictionary.NULL_ID) {
+            return module(row);
+        }
+        int keyId = metaKeys.idOf(key);
+        if (keyId == StringDictionary.NULL_ID) {
+            return null;
+        }
+        for (int entry = metaOffsets[row]; entry < metaOffsets[row + 1]; entry++) {
+            if (metaKeyIds[entry] == keyId) {
+                return metaValues[entry];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Materializes the metadata of a row as a new map.
+     *
+     * @return The metadata, or {@code null} if the bookmark had none
+     */
+    public Map<String, Object> meta(int row) {
+        if (nullMeta.get(row)) {
+            return null;
+        }
+        Map<String, Object> meta = new LinkedHashMap<>();
+        for (int entry = metaOffsets[row]; entry < metaOffsets[row + 1]; entry++) {
+            meta.put(metaKey(entry), metaValues[entry]);
+        }
+        if (moduleIds[row] != StringDictionary.NULL_ID) {
+            meta.put(MODULE_KEY, module(row));
+        }
+        return meta;
+    }
+
+    /**
+     * Materializes a row as a new {@link Bookmark}.
+     */
+    public Bookmark toBookmark(int row) {
+        return Bookmark.builder()
+                .name(names[row])
+                .url(urls[row])
+                .domain(domain(row))
+                .category(category(row))
+                .packages(packages[row])
+                .meta(meta(row))
+                .sourcePath(sourcePath(row))
+                .build();
+    }
+
+    /**
+     * Compares a row with a row of another store field by field, without materializing either.
+     * Two rows are the same exactly when {@link #toBookmark(int)} would return equal bookmarks.
+     */
+    public boolean sameRow(int row, BookmarkColumnStore other, int otherRow) {
+        return Objects.equals(names[row], other.names[otherRow])
+                && Objects.equals(urls[row], other.urls[otherRow])
+                && Objects.equals(category(row), other.category(otherRow))
+                && Objects.equals(domain(row), other.domain(otherRow))
+                && Objects.equals(sourcePath(row), other.sourcePath(otherRow))
+                && Objects.equals(packages[row], other.packages[otherRow])
+                && sameMeta(row, other, otherRow);
+    }
+
+    private boolean sameMeta(int row, BookmarkColumnStore other, int otherRow) {
+        if (nullMeta.get(row) || other.nullMeta.get(otherRow)) {
+            return nullMeta.get(row) == other.nullMeta.get(otherRow);
+        }
+        int otherStart = other.metaOffsets[otherRow];
+        int otherEnd = other.metaOffsets[otherRow + 1];
+        if (metaOffsets[row + 1] - metaOffsets[row] != otherEnd - otherStart
+                || !Objects.equals(module(row), other.module(otherRow))) {
+            return false;
+        }
+        // Keys are unique within a row, so matching every entry of one row is enough
+        for (int entry = metaOffsets[row]; entry < metaOffsets[row + 1]; entry++) {
+            String key = metaKey(entry);
+            boolean found = false;
+            for (int otherEntry = otherStart; otherEntry < otherEnd; otherEntry++) {
+                if (key.equals(other.metaKey(otherEntry))) {
+                    found = Objects.equals(metaValues[entry], other.metaValues[otherEntry]);
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scans all rows and returns those accepted by the predicate, in row order.
+     *
+     * @param predicate Receives row numbers
+     * @return The matching rows
+     */
+    public int[] select(IntPredicate predicate) {
+        int[] rows = new int[Math.min(size, 16)];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(row)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, Math.max(16, count * 2));
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * @return The rows whose category is exactly the given path
+     */
+    public int[] selectByCategory(String category) {
+        int id = categories.idOf(category);
+        return id == StringDictionary.NULL_ID ? new int[0] : select(row -> categoryIds[row] == id);
+    }
+
+    /**
+     * @return The rows whose domain is exactly the given value
+     */
+    public int[] selectByDomain(String domain) {
+        int id = domains.idOf(domain);
+        return id == StringDictionary.NULL_ID ? new int[0] : select(row -> domainIds[row] == id);
+    }
+
+    /**
+     * @return The rows loaded from the given module
+     */
+    public int[] selectByModule(String module) {
+        int id = modules.idOf(module);
+        return id == StringDictionary.NULL_ID ? new int[0] : select(row -> moduleIds[row] == id);
+    }
+
+    /**
+     * @return A view over all rows, in row order
+     */
+    public BookmarkRows rows() {
+        return new BookmarkRows(this, null);
+    }
+
+    /**
+     * @param rows Row numbers, in output order
+     * @return A view over the given rows
+     */
+    public BookmarkRows rows(int[] rows) {
+        return new BookmarkRows(this, rows);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The serialized fields of a bookmark, in output order.
+ * Used to project {@link BookmarkRows} onto a subset of fields.
+ */
+public enum BookmarkField {
+    NAME("name"),
+    URL("url"),
+    DOMAIN("domain"),
+    CATEGORY("category"),
+    PACKAGES("packages"),
+    META("meta"),
+    SOURCE_PATH("sourcePath");
+
+    private static final Set<BookmarkField> ALL = Collections.unmodifiableSet(EnumSet.allOf(BookmarkField.class));
+
+    private final String jsonName;
+
+    BookmarkField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * @return The JSON property name of the field
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * @return An unmodifiable set of all fields
+     */
+    public static Set<BookmarkField> all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a comma-separated list of JSON property names, e.g. {@code "name,url,category"}.
+     *
+     * @param fields The field list; blank means all fields
+     * @return The selected fields
+     * @throws IllegalArgumentException If a name does not match any field
+     */
+    public static Set<BookmarkField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        EnumSet<BookmarkField> selected = EnumSet.noneOf(BookmarkField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fromJsonName(trimmed));
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("No fields selected: " + fields);
+        }
+        return selected;
+    }
+
+    private static BookmarkField fromJsonName(String jsonName) {
+        for (BookmarkField field : values()) {
+            if (field.jsonName.equals(jsonName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown bookmark field: " + jsonName);
+    }
+}
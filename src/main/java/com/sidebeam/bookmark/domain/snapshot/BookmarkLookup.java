@@ -0,0 +1,46 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The response of a batch URL lookup: one result per requested URL, in request order.
+ */
+@Getter
+@Builder
+public class BookmarkLookup {
+
+    /**
+     * The version of the snapshot the URLs were looked up in.
+     */
+    private final String version;
+
+    /**
+     * The results, aligned with the requested URLs.
+     */
+    private final List<Result> results;
+
+    /**
+     * The outcome for one requested URL.
+     */
+    @Getter
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+
+        /**
+         * The URL as requested.
+         */
+        private final String url;
+
+        /**
+         * The bookmark with the same canonical URL, or {@code null} if there is none.
+         */
+        private final Bookmark bookmark;
+    }
+}
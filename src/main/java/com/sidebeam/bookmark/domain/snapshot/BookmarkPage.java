@@ -0,0 +1,29 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One page of a bookmark listing.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookmarkPage {
+
+    /**
+     * The version of the snapshot the page was read from.
+     */
+    private final String version;
+
+    /**
+     * The bookmarks of this page.
+     */
+    private final BookmarkRows items;
+
+    /**
+     * The cursor of the next page, or {@code null} if this is the last page.
+     */
+    private final String nextCursor;
+}
@@ -0,0 +1,95 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sidebeam.bookmark.domain.json.BookmarkRowsSerializer;
+
+import java.util.Set;
+
+/**
+ * A view over rows of a {@link BookmarkColumnStore}.
+ * Serializes as a JSON array of bookmarks, written directly from the columns
+ * without materializing {@code Bookmark} objects. Slicing and projecting a view
+ * only creates a new view; the columns are never copied.
+ */
+@JsonSerialize(using = BookmarkRowsSerializer.class)
+public final class BookmarkRows {
+
+    private final BookmarkColumnStore store;
+
+    /**
+     * Row numbers in output order, or {@code null} for all rows in row order.
+     */
+    private final int[] rows;
+
+    private final int offset;
+    private final int length;
+    private final Set<BookmarkField> fields;
+
+    BookmarkRows(BookmarkColumnStore store, int[] rows) {
+        this(store, rows, 0, rows == null ? store.size() : rows.length, BookmarkField.all());
+    }
+
+    private BookmarkRows(BookmarkColumnStore store, int[] rows, int offset, int length, Set<BookmarkField> fields) {
+        this.store = store;
+        this.rows = rows;
+        this.offset = offset;
+        this.length = length;
+        this.fields = fields;
+    }
+
+    public BookmarkColumnStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return The fields written for each row
+     */
+    public Set<BookmarkField> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return The number of rows in this view
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * @param index A position in this view
+     * @return The store row at that position
+     */
+    public int row(int index) {
+        return rows == null ? offset + index : rows[offset + index];
+    }
+
+    /**
+     * @return The store rows of this view in output order
+     */
+    public int[] toArray() {
+        int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = row(i);
+        }
+        return result;
+    }
+
+    /**
+     * @param from The first position, inclusive; clamped to the view
+     * @param to   The last position, exclusive; clamped to the view
+     * @return A view over positions {@code [from, to)} of this view
+     */
+    public BookmarkRows slice(int from, int to) {
+        int start = Math.min(Math.max(from, 0), length);
+        int end = Math.min(Math.max(to, start), length);
+        return new BookmarkRows(store, rows, offset + start, end - start, fields);
+    }
+
+    /**
+     * @param fields The fields to write for each row
+     * @return A view over the same rows that writes only the given fields
+     */
+    public BookmarkRows project(Set<BookmarkField> fields) {
+        return new BookmarkRows(store, rows, offset, length, fields);
+    }
+}
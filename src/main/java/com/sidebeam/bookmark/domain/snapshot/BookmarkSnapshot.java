@@ -0,0 +1,126 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.search.SearchIndex;
+import com.sidebeam.bookmark.domain.search.SuggestionTrie;
+import com.sidebeam.bookmark.domain.tree.IndexedCategoryTree;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * An immutable, read-optimized view of one load of the bookmark data.
+ * All structures of a snapshot are built together and never change afterwards,
+ * so request threads can read them without synchronization.
+ */
+@Getter
+@Builder
+public class BookmarkSnapshot {
+
+    /**
+     * A content hash of the serialized bookmarks; equal data yields an equal version.
+     */
+    private final String version;
+
+    /**
+     * The bookmarks of the snapshot in column-oriented form, used for filtering, serialization and diffs.
+     * The snapshot does not keep the {@code List<Bookmark>} it was built from.
+     */
+    private final BookmarkColumnStore columnStore;
+
+    /**
+     * The category tree of the snapshot's bookmarks, with lookups by path and path id.
+     */
+    private final IndexedCategoryTree categoryTree;
+
+    /**
+     * Rows grouped by category, for category and subtree queries.
+     */
+    private final CategoryIndex categoryIndex;
+
+    /**
+     * Rows grouped by the module they were loaded from.
+     */
+    private final DictionaryIndex moduleIndex;
+
+    /**
+     * Rows grouped by domain.
+     */
+    private final DictionaryIndex domainIndex;
+
+    /**
+     * Rows grouped by the source file they were defined in.
+     */
+    private final DictionaryIndex sourceIndex;
+
+    /**
+     * Bitmap indexes over the configured metadata keys, for meta.{key} filters.
+     */
+    private final MetaIndex metaIndex;
+
+    /**
+     * The package trees of all bookmarks merged into one trie, with the rows of each package.
+     */
+    private final PackageIndex packageIndex;
+
+    /**
+     * Rows by canonical URL, for URL lookups.
+     */
+    private final UrlIndex urlIndex;
+
+    /**
+     * The full-text index over names, domains, categories and selected metadata.
+     */
+    private final SearchIndex searchIndex;
+
+    /**
+     * The type-ahead trie over names, domains and category segments.
+     */
+    private final SuggestionTrie suggestionTrie;
+
+    /**
+     * The JSON body of {@code GET /bookmarks}, serialized once for the snapshot.
+     */
+    private final EncodedBody bookmarksBody;
+
+    /**
+     * The JSON body of {@code GET /bookmarks/categories}, serialized once for the snapshot.
+     */
+    private final EncodedBody categoriesBody;
+
+    /**
+     * The CBOR body of {@code GET /bookmarks}, encoded on the first request for the snapshot.
+     */
+    private final LazyEncodedBody bookmarksCbor;
+
+    /**
+     * The Smile body of {@code GET /bookmarks}, encoded on the first request for the snapshot.
+     */
+    private final LazyEncodedBody bookmarksSmile;
+
+    /**
+     * The CBOR body of {@code GET /bookmarks/categories}, encoded on the first request for the snapshot.
+     */
+    private final LazyEncodedBody categoriesCbor;
+
+    /**
+     * The Smile body of {@code GET /bookmarks/categories}, encoded on the first request for the snapshot.
+     */
+    private final LazyEncodedBody categoriesSmile;
+
+    /**
+     * The JSON body of {@code GET /bookmarks/packages}, serialized once for the snapshot.
+     */
+    private final EncodedBody packagesBody;
+
+    /**
+     * The body of {@code GET /bookmarks/url-filter}: a Bloom filter of the canonical URLs,
+     * in the format described by {@link UrlBloomFilter}.
+     */
+    private final byte[] urlFilter;
+
+    /**
+     * The time the snapshot was built.
+     */
+    private final Instant createdAt;
+}
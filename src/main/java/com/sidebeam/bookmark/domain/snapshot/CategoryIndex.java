@@ -0,0 +1,127 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.tree.CategoryPaths;
+import com.sidebeam.bookmark.domain.tree.IndexedCategoryTree;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps category paths to the rows of a {@link BookmarkColumnStore}.
+ *
+ * Rows are stored once, ordered by a depth-first walk of the category tree, so the rows of
+ * any subtree form one contiguous range and the rows of a node itself come first in that range.
+ * A lookup is a hash lookup of the path followed by a range view: O(depth) to hash the path
+ * plus O(results) to write them. Within a category, rows keep snapshot order.
+ */
+public final class CategoryIndex {
+
+    private final BookmarkColumnStore store;
+
+    /**
+     * Rows with a category, in depth-first category order.
+     */
+    private final int[] order;
+
+    /**
+     * Node ranges in {@link #order}, indexed by depth-first node number: the node's own rows are
+     * {@code [starts[n], exactEnds[n])} and its subtree's rows are {@code [starts[n], ends[n])}.
+     */
+    private final int[] starts;
+    private final int[] exactEnds;
+    private final int[] ends;
+
+    /**
+     * Path to depth-first node number.
+     */
+    private final Map<String, Integer> nodes;
+
+    private CategoryIndex(BookmarkColumnStore store, IndexedCategoryTree tree) {
+        this.store = store;
+        int nodeCount = countNodes(tree.getRoot());
+        this.starts = new int[nodeCount];
+        this.exactEnds = new int[nodeCount];
+        this.ends = new int[nodeCount];
+        this.nodes = new HashMap<>(nodeCount * 2);
+
+        int total = assignRanges(tree.getRoot(), 0);
+        this.order = new int[total];
+
+        // Several spellings of a category (e.g. with a trailing slash) may share one node
+        StringDictionary categories = store.getCategories();
+        int[] nodeByCategoryId = new int[categories.size()];
+        for (int categoryId = 0; categoryId < categories.size(); categoryId++) {
+            Integer node = nodes.get(CategoryPaths.canonical(categories.value(categoryId)));
+            nodeByCategoryId[categoryId] = node == null ? -1 : node;
+        }
+
+        int[] fill = starts.clone();
+        for (int row = 0; row < store.size(); row++) {
+            int categoryId = store.categoryId(row);
+            if (categoryId == StringDictionary.NULL_ID || nodeByCategoryId[categoryId] < 0) {
+                continue;
+            }
+            order[fill[nodeByCategoryId[categoryId]]++] = row;
+        }
+    }
+
+    /**
+     * Builds the index of a snapshot.
+     *
+     * @param store The snapshot's rows
+     * @param tree  The category tree built from the same rows
+     * @return The index
+     */
+    public static CategoryIndex build(BookmarkColumnStore store, IndexedCategoryTree tree) {
+        return new CategoryIndex(store, tree);
+    }
+
+    private static int countNodes(CategoryNode node) {
+        int count = 1;
+        for (CategoryNode child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private int assignRanges(CategoryNode node, int start) {
+        int number = nodes.size();
+        nodes.put(node.getPath(), number);
+        starts[number] = start;
+        exactEnds[number] = start + node.getCount();
+
+        int end = exactEnds[number];
+        for (CategoryNode child : node.getChildren()) {
+            end = assignRanges(child, end);
+        }
+        ends[number] = end;
+        return end;
+    }
+
+    /**
+     * Returns the rows of a category.
+     *
+     * @param path    A category path (e.g., "Parent/Child"); the empty path addresses the root
+     * @param subtree Whether to include the rows of all descendant categories
+     * @return The rows, empty if no bookmark uses the path
+     */
+    public BookmarkRows rows(String path, boolean subtree) {
+        Integer node = nodes.get(CategoryPaths.canonical(path));
+        if (node == null) {
+            return store.rows(new int[0]);
+        }
+        return store.rows(order).slice(starts[node], subtree ? ends[node] : exactEnds[node]);
+    }
+
+    /**
+     * @return The number of rows {@link #rows(String, boolean)} would return
+     */
+    public int count(String path, boolean subtree) {
+        Integer node = nodes.get(CategoryPaths.canonical(path));
+        if (node == null) {
+            return 0;
+        }
+        return (subtree ? ends[node] : exactEnds[node]) - starts[node];
+    }
+}
@@ -0,0 +1,102 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Maps the values of a dictionary-encoded column of a {@link BookmarkColumnStore} to their rows.
+ *
+ * Rows are grouped by dictionary id with a counting sort, so the rows of one value form a
+ * contiguous range of a single array (compressed sparse row layout). A lookup is the dictionary's
+ * hash lookup followed by a range view: O(1) to find the value plus O(results) to write them.
+ * Within a value, rows keep snapshot order.
+ */
+public final class DictionaryIndex {
+
+    private final BookmarkColumnStore store;
+    private final StringDictionary dictionary;
+
+    /**
+     * The rows of dictionary id {@code d} are {@code order[offsets[d], offsets[d + 1])}.
+     */
+    private final int[] offsets;
+    private final int[] order;
+
+    private DictionaryIndex(BookmarkColumnStore store, StringDictionary dictionary, int[] offsets, int[] order) {
+        this.store = store;
+        this.dictionary = dictionary;
+        this.offsets = offsets;
+        this.order = order;
+    }
+
+    /**
+     * Builds the index of one column.
+     *
+     * @param store      The snapshot's rows
+     * @param dictionary The column's dictionary
+     * @param idOfRow    Returns the column's dictionary id of a row
+     * @return The index
+     */
+    public static DictionaryIndex build(BookmarkColumnStore store, StringDictionary dictionary, IntUnaryOperator idOfRow) {
+        int[] offsets = new int[dictionary.size() + 1];
+        for (int row = 0; row < store.size(); row++) {
+            int id = idOfRow.applyAsInt(row);
+            if (id != StringDictionary.NULL_ID) {
+                offsets[id + 1]++;
+            }
+        }
+        for (int id = 0; id < dictionary.size(); id++) {
+            offsets[id + 1] += offsets[id];
+        }
+
+        int[] order = new int[offsets[dictionary.size()]];
+        int[] fill = offsets.clone();
+        for (int row = 0; row < store.size(); row++) {
+            int id = idOfRow.applyAsInt(row);
+            if (id != StringDictionary.NULL_ID) {
+                order[fill[id]++] = row;
+            }
+        }
+        return new DictionaryIndex(store, dictionary, offsets, order);
+    }
+
+    /**
+     * @return The index of the module column
+     */
+    public static DictionaryIndex modules(BookmarkColumnStore store) {
+        return build(store, store.getModules(), store::moduleId);
+    }
+
+    /**
+     * @return The index of the domain column
+     */
+    public static DictionaryIndex domains(BookmarkColumnStore store) {
+        return build(store, store.getDomains(), store::domainId);
+    }
+
+    /**
+     * @return The index of the source path column
+     */
+    public static DictionaryIndex sources(BookmarkColumnStore store) {
+        return build(store, store.getSources(), store::sourceId);
+    }
+
+    /**
+     * @param value A column value, matched exactly
+     * @return The rows holding the value, empty if none does
+     */
+    public BookmarkRows rows(String value) {
+        int id = dictionary.idOf(value);
+        if (id == StringDictionary.NULL_ID) {
+            return store.rows(new int[0]);
+        }
+        return store.rows(order).slice(offsets[id], offsets[id + 1]);
+    }
+
+    /**
+     * @return The number of rows {@link #rows(String)} would return
+     */
+    public int count(String value) {
+        int id = dictionary.idOf(value);
+        return id == StringDictionary.NULL_ID ? 0 : offsets[id + 1] - offsets[id];
+    }
+}
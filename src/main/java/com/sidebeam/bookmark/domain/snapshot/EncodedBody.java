@@ -0,0 +1,60 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once per snapshot, kept both as-is and gzip-compressed.
+ * Compression runs once when the snapshot is built, so it uses the best compression level.
+ */
+public final class EncodedBody {
+
+    private final byte[] identity;
+    private final byte[] gzip;
+
+    private EncodedBody(byte[] identity, byte[] gzip) {
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Wraps serialized bytes and computes their gzip variant.
+     *
+     * @param identity The uncompressed body
+     * @return The encoded body
+     */
+    public static EncodedBody of(byte[] identity) {
+        return new EncodedBody(identity, gzip(identity));
+    }
+
+    /**
+     * @return The uncompressed body; must not be modified
+     */
+    public byte[] getIdentity() {
+        return identity;
+    }
+
+    /**
+     * @return The gzip-compressed body; must not be modified
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,48 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.util.function.Supplier;
+
+/**
+ * A response body that is encoded on first request and then kept with its snapshot.
+ * Used for formats only some clients ask for, so a snapshot nobody requests in that
+ * format never holds its bytes.
+ */
+public final class LazyEncodedBody {
+
+    private Supplier<byte[]> encoder;
+    private volatile EncodedBody body;
+
+    /**
+     * @param encoder Serializes the body; called at most once
+     */
+    public LazyEncodedBody(Supplier<byte[]> encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Encodes the body on the first call; later calls return the same instance.
+     *
+     * @return The encoded body
+     */
+    public EncodedBody get() {
+        EncodedBody encoded = body;
+        if (encoded == null) {
+            synchronized (this) {
+                encoded = body;
+                if (encoded == null) {
+                    encoded = EncodedBody.of(encoder.get());
+                    body = encoded;
+                    encoder = null;
+                }
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * @return Whether the body has been encoded
+     */
+    public boolean isEncoded() {
+        return body != null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary indexes over selected metadata keys of a {@link BookmarkColumnStore}.
+ *
+ * For every indexed key, each distinct value maps to a compressed bitmap of the rows holding it.
+ * Scalar values are indexed by their string form and each element of a list value (such as
+ * {@code tags}) is indexed separately, so a row can appear under several values of one key.
+ * A filter ORs the bitmaps of the values given for a key and ANDs the keys, which costs
+ * time proportional to the compressed bitmap sizes rather than to the number of rows.
+ */
+public final class MetaIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final BookmarkColumnStore store;
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps;
+
+    private MetaIndex(BookmarkColumnStore store, Map<String, Map<String, RoaringBitmap>> bitmaps) {
+        this.store = store;
+        this.bitmaps = bitmaps;
+    }
+
+    /**
+     * Builds the indexes of the given keys.
+     *
+     * @param store The snapshot's rows
+     * @param keys  The metadata keys to index; {@code module} indexes the module column
+     * @return The index
+     */
+    public static MetaIndex build(BookmarkColumnStore store, Collection<String> keys) {
+        Map<String, Map<String, RoaringBitmap>> bitmaps = new LinkedHashMap<>();
+        for (String key : keys) {
+            Map<String, RoaringBitmap> values = new HashMap<>();
+            for (int row = 0; row < store.size(); row++) {
+                addValue(values, store.metaValue(row, key), row);
+            }
+            for (RoaringBitmap bitmap : values.values()) {
+                bitmap.runOptimize();
+            }
+            bitmaps.put(key, values);
+        }
+        return new MetaIndex(store, bitmaps);
+    }
+
+    private static void addValue(Map<String, RoaringBitmap> values, Object value, int row) {
+        if (value == null || value instanceof Map) {
+            return;
+        }
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                addValue(values, element, row);
+            }
+            return;
+        }
+        values.computeIfAbsent(String.valueOf(value), ignored -> new RoaringBitmap()).add(row);
+    }
+
+    /**
+     * @return The indexed metadata keys
+     */
+    public Set<String> getKeys() {
+        return bitmaps.keySet();
+    }
+
+    /**
+     * Returns the rows matching all the given conditions.
+     *
+     * @param filters For each key, the accepted values; a row matches a key if it holds any of them
+     * @return The matching rows, as a bitmap of row numbers
+     * @throws IllegalArgumentException if a key is not indexed
+     */
+    public RoaringBitmap matching(Map<String, List<String>> filters) {
+        RoaringBitmap[] perKey = new RoaringBitmap[filters.size()];
+        int count = 0;
+        for (Map.Entry<String, List<String>> filter : filters.entrySet()) {
+            Map<String, RoaringBitmap> values = bitmaps.get(filter.getKey());
+            if (values == null) {
+                throw new IllegalArgumentException("Metadata key is not indexed: " + filter.getKey());
+            }
+            RoaringBitmap[] accepted = filter.getValue().stream()
+                    .map(value -> values.getOrDefault(value, EMPTY))
+                    .toArray(RoaringBitmap[]::new);
+            perKey[count++] = accepted.length == 1 ? accepted[0] : FastAggregation.or(accepted);
+        }
+        if (count == 0) {
+            return RoaringBitmap.bitmapOfRange(0, store.size());
+        }
+        return count == 1 ? perKey[0] : FastAggregation.and(perKey);
+    }
+
+    /**
+     * Returns the rows matching all the given conditions, in snapshot order.
+     *
+     * @param filters For each key, the accepted values
+     * @param within  Rows to restrict the result to, or {@code null} for all rows
+     * @return The matching rows
+     * @throws IllegalArgumentException if a key is not indexed
+     */
+    public BookmarkRows rows(Map<String, List<String>> filters, BookmarkRows within) {
+        RoaringBitmap matches = matching(filters);
+        if (within != null) {
+            int[] scope = new int[within.size()];
+            for (int i = 0; i < scope.length; i++) {
+                scope[i] = within.row(i);
+            }
+            matches = RoaringBitmap.and(matches, RoaringBitmap.bitmapOf(scope));
+        }
+        return store.rows(matches.toArray());
+    }
+
+    /**
+     * @return The number of rows holding the value under the key, 0 if the key is not indexed
+     */
+    public int count(String key, String value) {
+        Map<String, RoaringBitmap> values = bitmaps.get(key);
+        return values == null ? 0 : values.getOrDefault(value, EMPTY).getCardinality();
+    }
+}
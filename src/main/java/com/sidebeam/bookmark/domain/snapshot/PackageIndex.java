@@ -0,0 +1,141 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.PackageNode;
+import com.sidebeam.bookmark.domain.model.PackageTreeNode;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The package trees of all rows of a {@link BookmarkColumnStore} merged into one trie.
+ *
+ * Every trie node keeps a compressed bitmap of the rows whose packages contain it. A row that
+ * declares {@code dev/doc/gitlab} belongs to {@code dev}, {@code dev/doc} and {@code dev/doc/gitlab},
+ * so the rows of a node include those of its descendants. Nodes are also reachable by their full
+ * path through a hash map, so a lookup never walks the trie.
+ */
+public final class PackageIndex {
+
+    private final BookmarkColumnStore store;
+    private final Map<String, RoaringBitmap> rowsByPath;
+    private final PackageTreeNode tree;
+
+    private PackageIndex(BookmarkColumnStore store, Map<String, RoaringBitmap> rowsByPath, PackageTreeNode tree) {
+        this.store = store;
+        this.rowsByPath = rowsByPath;
+        this.tree = tree;
+    }
+
+    /**
+     * Builds the index of a snapshot.
+     *
+     * @param store The snapshot's rows
+     * @return The index
+     */
+    public static PackageIndex build(BookmarkColumnStore store) {
+        Node root = new Node("", "");
+        for (int row = 0; row < store.size(); row++) {
+            List<PackageNode> packages = store.packages(row);
+            if (packages != null && !packages.isEmpty()) {
+                root.rows.add(row);
+                add(root, packages, row);
+            }
+        }
+
+        Map<String, RoaringBitmap> rowsByPath = new HashMap<>();
+        PackageTreeNode tree = freeze(root, rowsByPath);
+        return new PackageIndex(store, rowsByPath, tree);
+    }
+
+    private static void add(Node parent, List<PackageNode> packages, int row) {
+        for (PackageNode node : packages) {
+            if (node == null || node.getKey() == null || node.getKey().isEmpty()) {
+                continue;
+            }
+            Node child = parent.children.computeIfAbsent(node.getKey(),
+                    key -> new Node(key, parent.path.isEmpty() ? key : parent.path + "/" + key));
+            child.rows.add(row);
+            if (node.getChildren() != null) {
+                add(child, node.getChildren(), row);
+            }
+        }
+    }
+
+    private static PackageTreeNode freeze(Node node, Map<String, RoaringBitmap> rowsByPath) {
+        node.rows.runOptimize();
+        rowsByPath.put(node.path, node.rows);
+        List<PackageTreeNode> children = new ArrayList<>(node.children.size());
+        for (Node child : node.children.values()) {
+            children.add(freeze(child, rowsByPath));
+        }
+        return PackageTreeNode.builder()
+                .key(node.path.isEmpty() ? "root" : node.key)
+                .path(node.path)
+                .count(node.rows.getCardinality())
+                .children(children)
+                .build();
+    }
+
+    /**
+     * Normalizes a package path: empty segments, including leading and trailing slashes, are dropped.
+     *
+     * @param path A package path such as "/dev/doc/"
+     * @return The path with its segments joined by "/", such as "dev/doc"
+     */
+    public static String canonical(String path) {
+        if (path == null) {
+            return "";
+        }
+        StringBuilder canonical = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                if (!canonical.isEmpty()) {
+                    canonical.append('/');
+                }
+                canonical.append(segment);
+            }
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * @return The merged package tree with bookmark counts; the root counts bookmarks with any package
+     */
+    public PackageTreeNode getTree() {
+        return tree;
+    }
+
+    /**
+     * @param path A package path, see {@link #canonical(String)}
+     * @return The rows whose packages contain the path, in snapshot order; empty if no row does
+     */
+    public BookmarkRows rows(String path) {
+        RoaringBitmap rows = rowsByPath.get(canonical(path));
+        return store.rows(rows == null ? new int[0] : rows.toArray());
+    }
+
+    /**
+     * @return The number of rows {@link #rows(String)} would return
+     */
+    public int count(String path) {
+        RoaringBitmap rows = rowsByPath.get(canonical(path));
+        return rows == null ? 0 : rows.getCardinality();
+    }
+
+    private static final class Node {
+
+        private final String key;
+        private final String path;
+        private final RoaringBitmap rows = new RoaringBitmap();
+        private final Map<String, Node> children = new LinkedHashMap<>();
+
+        private Node(String key, String path) {
+            this.key = key;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * An opaque pagination cursor: the snapshot version a listing was read from, a hash of
+ * the query that produced the listing and the position of the next page. Because the
+ * version is part of the cursor, following pages are read from the same snapshot even
+ * after a newer one has been published; the query hash lets the caller reject a cursor
+ * replayed against a different query, whose offset would point into other rows.
+ */
+public final class PageCursor {
+
+    private final String version;
+    private final String query;
+    private final int offset;
+
+    public PageCursor(String version, String query, int offset) {
+        this.version = version;
+        this.query = query;
+        this.offset = offset;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The URL-safe string form of the cursor
+     */
+    public String encode() {
+        String plain = version + ":" + query + ":" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException If the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        String plain;
+        try {
+            plain = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+
+        int separator = plain.lastIndexOf(':');
+        int querySeparator = separator <= 0 ? -1 : plain.lastIndexOf(':', separator - 1);
+        if (querySeparator <= 0 || querySeparator == separator - 1) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        try {
+            int offset = Integer.parseInt(plain.substring(separator + 1));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            return new PageCursor(plain.substring(0, querySeparator), plain.substring(querySeparator + 1, separator),
+                    offset);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+}
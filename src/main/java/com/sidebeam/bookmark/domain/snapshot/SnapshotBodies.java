@@ -0,0 +1,50 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * The encoded bodies of one snapshot version, served from {@code /snapshots/{version}/...}.
+ * Superseded versions are kept in this form only, so the history does not hold on to the
+ * column store and indexes of every retained version.
+ */
+@Getter
+public final class SnapshotBodies {
+
+    /**
+     * The version of the snapshot the bodies were taken from.
+     */
+    private final String version;
+
+    /**
+     * The time the snapshot was built.
+     */
+    private final Instant createdAt;
+
+    /**
+     * The JSON body of the snapshot's bookmark list.
+     */
+    private final EncodedBody bookmarksBody;
+
+    /**
+     * The JSON body of the snapshot's category tree.
+     */
+    private final EncodedBody categoriesBody;
+
+    private SnapshotBodies(String version, Instant createdAt, EncodedBody bookmarksBody, EncodedBody categoriesBody) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.bookmarksBody = bookmarksBody;
+        this.categoriesBody = categoriesBody;
+    }
+
+    /**
+     * @param snapshot The snapshot whose bodies are kept
+     * @return The bodies of the snapshot, sharing its byte arrays
+     */
+    public static SnapshotBodies of(BookmarkSnapshot snapshot) {
+        return new SnapshotBodies(snapshot.getVersion(), snapshot.getCreatedAt(),
+                snapshot.getBookmarksBody(), snapshot.getCategoriesBody());
+    }
+}
@@ -0,0 +1,203 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The changes between two snapshot versions, with bookmarks keyed by URL.
+ *
+ * A bookmark whose URL exists only in the newer version is added, one whose URL exists only in
+ * the older version is removed, and one whose URL exists in both with any other field differing
+ * is changed. If a URL occurs more than once in a snapshot, its last occurrence is compared.
+ * Diffs of consecutive versions can be composed into the diff across all of them; a bookmark that
+ * ends up with the content it had in the first version is then not reported at all.
+ */
+@Getter
+public final class SnapshotDiff {
+
+    private final String fromVersion;
+    private final String toVersion;
+
+    /**
+     * Bookmarks new in {@link #toVersion}, by URL.
+     */
+    private final Map<String, Bookmark> added;
+
+    /**
+     * Bookmarks whose content differs in {@link #toVersion}, by URL, with their new content.
+     */
+    private final Map<String, Bookmark> changed;
+
+    /**
+     * URLs no longer present in {@link #toVersion}.
+     */
+    private final Set<String> removed;
+
+    /**
+     * The content in {@link #fromVersion} of the changed and removed bookmarks, by URL.
+     * Composing uses it to recognize a bookmark restored to its original content.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Bookmark> original;
+
+    private SnapshotDiff(String fromVersion, String toVersion, Map<String, Bookmark> added,
+                         Map<String, Bookmark> changed, Set<String> removed, Map<String, Bookmark> original) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.added = Collections.unmodifiableMap(added);
+        this.changed = Collections.unmodifiableMap(changed);
+        this.removed = Collections.unmodifiableSet(removed);
+        this.original = original;
+    }
+
+    /**
+     * Computes the diff between two snapshots from their column stores.
+     * Rows are compared field by field; only added and changed rows are materialized as bookmarks.
+     *
+     * @param from The older snapshot
+     * @param to   The newer snapshot
+     * @return The diff from {@code from} to {@code to}
+     */
+    public static SnapshotDiff between(BookmarkSnapshot from, BookmarkSnapshot to) {
+        BookmarkColumnStore before = from.getColumnStore();
+        BookmarkColumnStore after = to.getColumnStore();
+        Map<String, Integer> beforeRows = rowsByUrl(before);
+        Map<String, Integer> afterRows = rowsByUrl(after);
+
+        Map<String, Bookmark> added = new LinkedHashMap<>();
+        Map<String, Bookmark> changed = new LinkedHashMap<>();
+        Map<String, Bookmark> original = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : afterRows.entrySet()) {
+            Integer previous = beforeRows.get(entry.getKey());
+            int row = entry.getValue();
+            if (previous == null) {
+                added.put(entry.getKey(), after.toBookmark(row));
+            } else if (!before.sameRow(previous, after, row)) {
+                changed.put(entry.getKey(), after.toBookmark(row));
+                original.put(entry.getKey(), before.toBookmark(previous));
+            }
+        }
+        Set<String> removed = new LinkedHashSet<>();
+        for (Map.Entry<String, Integer> entry : beforeRows.entrySet()) {
+            if (!afterRows.containsKey(entry.getKey())) {
+                removed.add(entry.getKey());
+                original.put(entry.getKey(), before.toBookmark(entry.getValue()));
+            }
+        }
+        return new SnapshotDiff(from.getVersion(), to.getVersion(), added, changed, removed, original);
+    }
+
+    /**
+     * Maps each URL to its last row, in order of first occurrence.
+     */
+    private static Map<String, Integer> rowsByUrl(BookmarkColumnStore store) {
+        Map<String, Integer> rows = new LinkedHashMap<>(store.size() * 2);
+        for (int row = 0; row < store.size(); row++) {
+            rows.put(store.url(row), row);
+        }
+        return rows;
+    }
+
+    /**
+     * @return The diff of a version to itself
+     */
+    public static SnapshotDiff empty(String version) {
+        return new SnapshotDiff(version, version, new LinkedHashMap<>(), new LinkedHashMap<>(), new LinkedHashSet<>(),
+                Map.of());
+    }
+
+    /**
+     * Composes the diffs of consecutive versions into a single diff.
+     *
+     * @param diffs Diffs in chronological order, each starting at the previous one's {@code toVersion}
+     * @return The diff from the first diff's {@code fromVersion} to the last diff's {@code toVersion}
+     */
+    public static SnapshotDiff compose(List<SnapshotDiff> diffs) {
+        if (diffs.size() == 1) {
+            return diffs.get(0);
+        }
+        Map<String, Bookmark> added = new LinkedHashMap<>();
+        Map<String, Bookmark> changed = new LinkedHashMap<>();
+        Set<String> removed = new LinkedHashSet<>();
+        // Content in the first version of every URL that existed there and was changed or removed since
+        Map<String, Bookmark> original = new LinkedHashMap<>();
+        String toVersion = null;
+        for (SnapshotDiff diff : diffs) {
+            if (toVersion != null && !toVersion.equals(diff.fromVersion)) {
+                throw new IllegalArgumentException("Diffs are not consecutive: " + toVersion + " -> " + diff.fromVersion);
+            }
+            toVersion = diff.toVersion;
+
+            for (String url : diff.removed) {
+                // Removing what an earlier diff added cancels out
+                if (added.remove(url) == null) {
+                    changed.remove(url);
+                    removed.add(url);
+                    original.putIfAbsent(url, diff.original.get(url));
+                }
+            }
+            for (Map.Entry<String, Bookmark> entry : diff.added.entrySet()) {
+                String url = entry.getKey();
+                if (removed.remove(url)) {
+                    // Re-adding what an earlier diff removed is a change, unless the content was restored
+                    recordChange(url, entry.getValue(), changed, original);
+                } else {
+                    added.put(url, entry.getValue());
+                }
+            }
+            for (Map.Entry<String, Bookmark> entry : diff.changed.entrySet()) {
+                String url = entry.getKey();
+                if (added.containsKey(url)) {
+                    added.put(url, entry.getValue());
+                } else {
+                    original.putIfAbsent(url, diff.original.get(url));
+                    recordChange(url, entry.getValue(), changed, original);
+                }
+            }
+        }
+        original.keySet().removeIf(url -> !changed.containsKey(url) && !removed.contains(url));
+        return new SnapshotDiff(diffs.get(0).fromVersion, toVersion, added, changed, removed, original);
+    }
+
+    /**
+     * Records the new content of a URL that existed in the first version, as a change unless it
+     * equals the original content.
+     */
+    private static void recordChange(String url, Bookmark content, Map<String, Bookmark> changed,
+                                Map<String, Bookmark> original) {
+        if (Objects.equals(original.get(url), content)) {
+            changed.remove(url);
+        } else {
+            changed.put(url, content);
+        }
+    }
+
+    /**
+     * @return Whether the two versions hold the same bookmarks
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * @return The number of added, changed and removed bookmarks
+     */
+    public int size() {
+        return added.size() + changed.size() + removed.size();
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotDiff{" + fromVersion + " -> " + toVersion + ", added=" + added.size()
+                + ", changed=" + changed.size() + ", removed=" + removed.size() + "}";
+    }
+}
@@ -0,0 +1,36 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * The payload of a "snapshot" server-sent event.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SnapshotNotification {
+
+    /**
+     * The version of the current snapshot.
+     */
+    private final String version;
+
+    /**
+     * The version it replaced, or {@code null} for the initial event of a stream.
+     */
+    private final String previousVersion;
+
+    /**
+     * The time the snapshot was built.
+     */
+    private final Instant createdAt;
+
+    /**
+     * The changes from {@link #previousVersion}, only if requested and small enough.
+     */
+    private final BookmarkChanges changes;
+}
@@ -0,0 +1,34 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Points clients at the immutable URLs of the current snapshot.
+ */
+@Getter
+@Builder
+public class SnapshotPointer {
+
+    /**
+     * The version of the current snapshot.
+     */
+    private final String version;
+
+    /**
+     * The time the snapshot was built.
+     */
+    private final Instant createdAt;
+
+    /**
+     * The immutable URL of the snapshot's bookmark list.
+     */
+    private final String bookmarks;
+
+    /**
+     * The immutable URL of the snapshot's category tree.
+     */
+    private final String categories;
+}
@@ -0,0 +1,25 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import lombok.Getter;
+
+/**
+ * Published as an application event when a snapshot with a new version replaces the current one.
+ */
+@Getter
+public class SnapshotPublishedEvent {
+
+    /**
+     * The new current snapshot.
+     */
+    private final BookmarkSnapshot snapshot;
+
+    /**
+     * The changes from the previous snapshot, or {@code null} for the first snapshot.
+     */
+    private final SnapshotDiff diff;
+
+    public SnapshotPublishedEvent(BookmarkSnapshot snapshot, SnapshotDiff diff) {
+        this.snapshot = snapshot;
+        this.diff = diff;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable dictionary that maps distinct string values to dense integer codes.
+ * Columns store the codes instead of the values; {@link #NULL_ID} encodes a missing value.
+ */
+public final class StringDictionary {
+
+    /**
+     * The code used for {@code null} values.
+     */
+    public static final int NULL_ID = -1;
+
+    private final String[] values;
+    private final Map<String, Integer> ids;
+
+    private StringDictionary(List<String> values, Map<String, Integer> ids) {
+        this.values = values.toArray(new String[0]);
+        this.ids = ids;
+    }
+
+    /**
+     * @return The number of distinct values
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @param id A code returned by this dictionary
+     * @return The value for the code, or {@code null} for {@link #NULL_ID}
+     */
+    public String value(int id) {
+        return id == NULL_ID ? null : values[id];
+    }
+
+    /**
+     * @return The distinct values in code order; unmodifiable
+     */
+    public List<String> values() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * @param value The value to look up
+     * @return The code of the value, or {@link #NULL_ID} if the value is not in the dictionary
+     */
+    public int idOf(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        return id == null ? NULL_ID : id;
+    }
+
+    /**
+     * Collects distinct values in first-seen order.
+     */
+    public static final class Builder {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        /**
+         * @param value The value to encode
+         * @return The code of the value, assigning a new one if it was not seen before
+         */
+        public int encode(String value) {
+            if (value == null) {
+                return NULL_ID;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                values.add(value);
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        public StringDictionary build() {
+            return new StringDictionary(values, ids);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * A Bloom filter of canonical bookmark URLs that clients download to test URLs locally.
+ *
+ * <p>A negative answer is definite; a positive answer is wrong with about the configured
+ * false-positive rate, so clients confirm hits with {@code POST /bookmarks/lookup}.
+ *
+ * <p>Binary format ("SBBF", all integers big-endian):
+ * <pre>
+ * offset  size  field
+ *      0     4  magic, ASCII "SBBF"
+ *      4     1  format version, 1
+ *      5     1  k, the number of hash functions
+ *      6     2  reserved, 0
+ *      8     4  m, the number of bits (a multiple of 64)
+ *     12     4  n, the number of URLs added
+ *     16    16  the snapshot version (the 32 hex digits of the ETag, as bytes)
+ *     32   m/8  the bits; bit i is (byte[32 + i / 8] &gt;&gt; (i % 8)) &amp; 1
+ * </pre>
+ *
+ * <p>To test a URL, canonicalize it as {@link UrlCanonicalizer} does, encode it as UTF-8 and
+ * compute two 32-bit MurmurHash3 (x86_32) values: {@code h1} with seed 0 and {@code h2} with seed
+ * {@code h1}. The URL may be present if, for every {@code i} in {@code [0, k)}, bit
+ * {@code ((h1 + i * h2) mod 2^32) mod m} is set, where all arithmetic is on unsigned 32-bit integers.
+ * The scheme needs no 64-bit arithmetic, so JavaScript clients can use {@code Math.imul} and {@code >>> 0}.
+ */
+public final class UrlBloomFilter {
+
+    /**
+     * The magic bytes at the start of the serialized filter.
+     */
+    private static final byte[] MAGIC = "SBBF".getBytes(StandardCharsets.US_ASCII);
+
+    public static final int FORMAT_VERSION = 1;
+
+    public static final int HEADER_BYTES = 32;
+
+    private static final int VERSION_BYTES = 16;
+    private static final int MAX_HASHES = 16;
+
+    private final int hashes;
+    private final int entries;
+    private final long bits;
+    private final byte[] bitArray;
+
+    private UrlBloomFilter(int hashes, int entries, byte[] bitArray) {
+        this.hashes = hashes;
+        this.entries = entries;
+        this.bits = bitArray.length * 8L;
+        this.bitArray = bitArray;
+    }
+
+    /**
+     * Builds the filter of a snapshot's URLs, sized for the given false-positive rate.
+     *
+     * @param urlIndex          The snapshot's URL index, whose canonical URLs are added
+     * @param falsePositiveRate The target rate, in (0, 1)
+     * @return The filter
+     */
+    public static UrlBloomFilter build(UrlIndex urlIndex, double falsePositiveRate) {
+        int size = urlIndex.getStore().size();
+        double rate = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+
+        // m = -n ln p / (ln 2)^2 and k = m/n ln 2, the sizes minimizing the false-positive rate
+        double optimalBits = -Math.max(1, size) * Math.log(rate) / (Math.log(2) * Math.log(2));
+        long bits = Math.max(64, ((long) Math.ceil(optimalBits) + 63) / 64 * 64);
+        if (bits > Integer.MAX_VALUE + 1L) {
+            throw new IllegalArgumentException("Bloom filter of " + size + " URLs at rate " + rate + " is too large");
+        }
+        int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bits / Math.max(1, size) * Math.log(2))));
+
+        byte[] bitArray = new byte[(int) (bits / 8)];
+        int entries = 0;
+        for (int row = 0; row < size; row++) {
+            String url = urlIndex.canonicalUrl(row);
+            if (url == null) {
+                continue;
+            }
+            byte[] key = url.getBytes(StandardCharsets.UTF_8);
+            int h1 = murmur3(key, 0);
+            int h2 = murmur3(key, h1);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+                bitArray[(int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+            }
+            entries++;
+        }
+        return new UrlBloomFilter(hashes, entries, bitArray);
+    }
+
+    /**
+     * @param url A URL in any spelling {@link UrlCanonicalizer} folds together
+     * @return {@code false} if the URL is certainly not a bookmark URL
+     */
+    public boolean mightContain(String url) {
+        String canonical = UrlCanonicalizer.canonicalize(url);
+        if (canonical == null) {
+            return false;
+        }
+        byte[] key = canonical.getBytes(StandardCharsets.UTF_8);
+        int h1 = murmur3(key, 0);
+        int h2 = murmur3(key, h1);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((bitArray[(int) (bit >>> 3)] & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Serializes the filter in the format described above.
+     *
+     * @param version The snapshot version, 32 hex digits; other values are stored as zeros
+     * @return The serialized filter
+     */
+    public byte[] toBytes(String version) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + bitArray.length);
+        buffer.put(MAGIC)
+                .put((byte) FORMAT_VERSION)
+                .put((byte) hashes)
+                .putShort((short) 0)
+                .putInt((int) bits)
+                .putInt(entries)
+                .put(versionBytes(version))
+                .put(bitArray);
+        return buffer.array();
+    }
+
+    private static byte[] versionBytes(String version) {
+        if (version != null && version.length() == VERSION_BYTES * 2) {
+            try {
+                return HexFormat.of().parseHex(version);
+            } catch (IllegalArgumentException e) {
+                // Not a content hash; fall through
+            }
+        }
+        return new byte[VERSION_BYTES];
+    }
+
+    /**
+     * Reads a filter written by {@link #toBytes(String)}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a filter of this format
+     */
+    public static UrlBloomFilter fromBytes(byte[] bytes) {
+        if (bytes.length < HEADER_BYTES || !Arrays.equals(bytes, 0, MAGIC.length, MAGIC, 0, MAGIC.length)
+                || bytes[MAGIC.length] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not a version " + FORMAT_VERSION + " SBBF filter");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, MAGIC.length + 1, HEADER_BYTES - MAGIC.length - 1);
+        int hashes = buffer.get();
+        buffer.getShort();
+        long bits = Integer.toUnsignedLong(buffer.getInt());
+        int entries = buffer.getInt();
+        if (bits == 0 || bits % 64 != 0 || bytes.length != HEADER_BYTES + bits / 8) {
+            throw new IllegalArgumentException("SBBF filter length does not match its header");
+        }
+        byte[] bitArray = new byte[(int) (bits / 8)];
+        System.arraycopy(bytes, HEADER_BYTES, bitArray, 0, bitArray.length);
+        return new UrlBloomFilter(hashes, entries, bitArray);
+    }
+
+    /**
+     * MurmurHash3 x86_32 of the bytes.
+     */
+    static int murmur3(byte[] data, int seed) {
+        final int c1 = 0xcc9e2d51;
+        final int c2 = 0x1b873593;
+        int h = seed;
+        int blocks = data.length / 4;
+        for (int i = 0; i < blocks; i++) {
+            int offset = i * 4;
+            int k = (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8
+                    | (data[offset + 2] & 0xff) << 16 | (data[offset + 3] & 0xff) << 24;
+            k *= c1;
+            k = Integer.rotateLeft(k, 15);
+            k *= c2;
+            h ^= k;
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
+        }
+
+        int tail = blocks * 4;
+        int remaining = data.length - tail;
+        if (remaining > 0) {
+            int k = data[tail] & 0xff;
+            if (remaining >= 2) {
+                k ^= (data[tail + 1] & 0xff) << 8;
+            }
+            if (remaining >= 3) {
+                k ^= (data[tail + 2] & 0xff) << 16;
+            }
+            k *= c1;
+            k = Integer.rotateLeft(k, 15);
+            k *= c2;
+            h ^= k;
+        }
+
+        h ^= data.length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * @return k, the number of hash functions
+     */
+    public int getHashes() {
+        return hashes;
+    }
+
+    /**
+     * @return m, the number of bits
+     */
+    public long getBits() {
+        return bits;
+    }
+
+    /**
+     * @return n, the number of URLs added
+     */
+    public int getEntries() {
+        return entries;
+    }
+}
@@ -0,0 +1,134 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+/**
+ * Normalizes URLs so that trivially different spellings of the same page compare equal.
+ *
+ * The canonical form lower-cases the scheme and host, drops the port when it is the scheme's
+ * default (80 for http, 443 for https), drops trailing slashes of the path and drops the fragment.
+ * Query strings, user info and path case are kept, since servers may treat them as significant.
+ * A URL that is already canonical is returned as is, so the common case allocates nothing.
+ */
+public final class UrlCanonicalizer {
+
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private UrlCanonicalizer() {
+    }
+
+    /**
+     * @param url A URL, possibly surrounded by whitespace
+     * @return The canonical form, or {@code null} for {@code null}
+     */
+    public static String canonicalize(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = url.length();
+        while (start < end && url.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && url.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int fragment = url.indexOf('#', start);
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+
+        int separator = url.indexOf(SCHEME_SEPARATOR, start);
+        if (separator < 0 || separator >= end || !isScheme(url, start, separator)) {
+            separator = -1;
+        }
+        int authorityStart = separator < 0 ? start : separator + SCHEME_SEPARATOR.length();
+        int authorityEnd = authorityStart;
+        while (authorityEnd < end && url.charAt(authorityEnd) != '/' && url.charAt(authorityEnd) != '?') {
+            authorityEnd++;
+        }
+        int hostStart = url.lastIndexOf('@', authorityEnd - 1);
+        hostStart = hostStart < authorityStart ? authorityStart : hostStart + 1;
+
+        // Strip the default port, or an empty one
+        int hostEnd = authorityEnd;
+        int colon = url.lastIndexOf(':', authorityEnd - 1);
+        int bracket = colon < 0 ? -1 : url.indexOf(']', colon);
+        if (colon >= hostStart && (bracket < 0 || bracket >= authorityEnd)) {
+            if (colon == authorityEnd - 1 || isDefaultPort(url, start, separator, colon + 1, authorityEnd)) {
+                hostEnd = colon;
+            }
+        }
+
+        int queryStart = url.indexOf('?', authorityEnd);
+        if (queryStart < 0 || queryStart >= end) {
+            queryStart = end;
+        }
+        int pathEnd = queryStart;
+        while (pathEnd > authorityEnd && url.charAt(pathEnd - 1) == '/') {
+            pathEnd--;
+        }
+
+        boolean lowerCase = isLowerCase(url, start, separator) && isLowerCase(url, hostStart, hostEnd);
+        if (lowerCase && start == 0 && end == url.length() && hostEnd == authorityEnd && pathEnd == queryStart) {
+            return url;
+        }
+
+        StringBuilder canonical = new StringBuilder(end - start);
+        if (separator >= 0) {
+            appendLowerCase(canonical, url, start, separator);
+            canonical.append(SCHEME_SEPARATOR);
+        }
+        canonical.append(url, authorityStart, hostStart);
+        appendLowerCase(canonical, url, hostStart, hostEnd);
+        canonical.append(url, authorityEnd, pathEnd);
+        canonical.append(url, queryStart, end);
+        return canonical.toString();
+    }
+
+    private static boolean isScheme(String url, int from, int to) {
+        if (from == to || !isAsciiLetter(url.charAt(from))) {
+            return false;
+        }
+        for (int i = from + 1; i < to; i++) {
+            char c = url.charAt(i);
+            if (!isAsciiLetter(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDefaultPort(String url, int start, int separator, int portStart, int portEnd) {
+        if (separator < 0) {
+            return false;
+        }
+        if (url.regionMatches(true, start, "http", 0, separator - start) && separator - start == 4) {
+            return url.regionMatches(portStart, "80", 0, 2) && portEnd - portStart == 2;
+        }
+        if (url.regionMatches(true, start, "https", 0, separator - start) && separator - start == 5) {
+            return url.regionMatches(portStart, "443", 0, 3) && portEnd - portStart == 3;
+        }
+        return false;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLowerCase(String url, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = url.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendLowerCase(StringBuilder target, String url, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = url.charAt(i);
+            target.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+    }
+}
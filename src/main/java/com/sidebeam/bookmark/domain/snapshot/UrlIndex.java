@@ -0,0 +1,107 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Finds the row of a bookmark by URL, after {@link UrlCanonicalizer canonicalization}.
+ *
+ * Canonical URLs live in an open-addressing hash table of row numbers (linear probing, load
+ * factor at most 1/2), so a lookup is one canonicalization, one hash and usually one string
+ * comparison. No objects are allocated per lookup unless the URL needs rewriting.
+ * When several rows share a canonical URL, the first one is found.
+ */
+public final class UrlIndex {
+
+    private static final int EMPTY = -1;
+
+    private final BookmarkColumnStore store;
+    private final String[] canonicalUrls;
+    private final int[] table;
+    private final int mask;
+    private final int collisions;
+
+    private UrlIndex(BookmarkColumnStore store, String[] canonicalUrls, int[] table, int collisions) {
+        this.store = store;
+        this.canonicalUrls = canonicalUrls;
+        this.table = table;
+        this.mask = table.length - 1;
+        this.collisions = collisions;
+    }
+
+    /**
+     * Builds the index of a snapshot.
+     *
+     * @param store The snapshot's rows
+     * @return The index
+     */
+    public static UrlIndex build(BookmarkColumnStore store) {
+        int size = store.size();
+        int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        String[] canonicalUrls = new String[size];
+
+        int collisions = 0;
+        for (int row = 0; row < size; row++) {
+            String canonical = UrlCanonicalizer.canonicalize(store.url(row));
+            canonicalUrls[row] = canonical;
+            if (canonical == null) {
+                continue;
+            }
+            int slot = spread(canonical.hashCode()) & (capacity - 1);
+            while (table[slot] != EMPTY && !canonical.equals(canonicalUrls[table[slot]])) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (table[slot] == EMPTY) {
+                table[slot] = row;
+            } else {
+                collisions++;
+            }
+        }
+        return new UrlIndex(store, canonicalUrls, table, collisions);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @param url A URL in any spelling {@link UrlCanonicalizer} folds together
+     * @return The row of the bookmark with that URL, or -1 if there is none
+     */
+    public int find(String url) {
+        String canonical = UrlCanonicalizer.canonicalize(url);
+        if (canonical == null) {
+            return EMPTY;
+        }
+        int slot = spread(canonical.hashCode()) & mask;
+        for (int row = table[slot]; row != EMPTY; row = table[slot]) {
+            if (canonical.equals(canonicalUrls[row])) {
+                return row;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * @return The canonical URL of a row
+     */
+    public String canonicalUrl(int row) {
+        return canonicalUrls[row];
+    }
+
+    /**
+     * @return The store the row numbers of {@link #find(String)} refer to
+     */
+    public BookmarkColumnStore getStore() {
+        return store;
+    }
+
+    /**
+     * @return The number of rows whose canonical URL equals that of an earlier row
+     */
+    public int getCollisions() {
+        return collisions;
+    }
+}
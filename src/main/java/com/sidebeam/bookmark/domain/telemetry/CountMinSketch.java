@@ -0,0 +1,105 @@
+package com.sidebeam.bookmark.domain.telemetry;
+
+import com.sidebeam.bookmark.domain.tree.CategoryPaths;
+
+import java.util.Arrays;
+
+/**
+ * A count-min sketch: approximate counts of string keys in fixed memory.
+ *
+ * Each key maps to one counter in each of {@code depth} rows; its estimate is the smallest of
+ * those counters, which never undercounts and overcounts by at most {@code e * N / width} with
+ * probability {@code 1 - e^-depth} after {@code N} total increments. Updates are conservative:
+ * only counters below the key's new estimate are raised, which tightens estimates further.
+ *
+ * Not thread-safe; the owner serializes access.
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int mask;
+    private final long[] counters;
+    private long total;
+
+    /**
+     * @param width Counters per row, rounded up to a power of two
+     * @param depth Number of rows (independent hash functions)
+     */
+    public CountMinSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(2, width) - 1) << 1;
+        this.depth = Math.max(1, depth);
+        this.mask = this.width - 1;
+        this.counters = new long[this.width * this.depth];
+    }
+
+    /**
+     * Adds to the count of a key.
+     *
+     * @param key   The key
+     * @param count The amount to add, non-negative
+     * @return The key's estimated count after the update
+     */
+    public long add(String key, long count) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + ((h1 + row * h2) & mask)]);
+        }
+        long updated = estimate + count;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + ((h1 + row * h2) & mask);
+            if (counters[index] < updated) {
+                counters[index] = updated;
+            }
+        }
+        total += count;
+        return updated;
+    }
+
+    /**
+     * @return The estimated count of a key; never less than the true count
+     */
+    public long estimate(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + ((h1 + row * h2) & mask)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * @return The sum of all counts added since the last {@link #clear()}
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Resets all counts to zero, keeping the allocated counters.
+     */
+    public void clear() {
+        Arrays.fill(counters, 0);
+        total = 0;
+    }
+
+    /**
+     * The FNV-1a hash of the key, finished with the murmur3 mix so that both halves are well distributed.
+     */
+    private static long hash(String key) {
+        long hash = CategoryPaths.pathId(key);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sidebeam.bookmark.domain.telemetry;
+
+/**
+ * The {@code k} keys with the largest estimated counts seen so far, for one category and window.
+ *
+ * Estimates only grow within a window, so a key is re-offered with its new estimate after each
+ * update; a new key replaces the current minimum when its estimate exceeds it. {@code k} is small,
+ * so a linear scan of two arrays is cheaper than a heap with a key index.
+ */
+final class TopK {
+
+    private final String[] keys;
+    private final long[] counts;
+    private int size;
+
+    TopK(int k) {
+        this.keys = new String[Math.max(1, k)];
+        this.counts = new long[keys.length];
+    }
+
+    void offer(String key, long count) {
+        int min = -1;
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                counts[i] = Math.max(counts[i], count);
+                return;
+            }
+            if (min < 0 || counts[i] < counts[min]) {
+                min = i;
+            }
+        }
+        if (size < keys.length) {
+            keys[size] = key;
+            counts[size++] = count;
+        } else if (count > counts[min]) {
+            keys[min] = key;
+            counts[min] = count;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    String key(int index) {
+        return keys[index];
+    }
+}
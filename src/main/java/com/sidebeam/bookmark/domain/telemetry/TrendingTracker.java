@@ -0,0 +1,140 @@
+package com.sidebeam.bookmark.domain.telemetry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming heavy hitters per category over a sliding time range.
+ *
+ * Time is split into rotating windows. Each window holds one {@link CountMinSketch} of all
+ * clicks and, for every category, a {@link TopK} of the keys with the largest estimates in that
+ * window. A click counts for its own category and every ancestor up to the root {@code ""}, so a
+ * category's trending list covers its whole subtree. Rotating drops the oldest window, so memory
+ * stays at {@code windows * (width * depth + categories * k)} regardless of traffic.
+ *
+ * A ranking takes, per category, the union of the windows' candidates and scores each by the sum
+ * of its estimates over all windows. Not thread-safe; the owner serializes access and publishes
+ * the immutable result of {@link #ranking()}.
+ */
+public final class TrendingTracker {
+
+    private final int windows;
+    private final int width;
+    private final int depth;
+    private final int k;
+    private final ArrayDeque<Window> history = new ArrayDeque<>();
+
+    /**
+     * @param windows The number of windows kept, including the current one
+     * @param width   Counters per sketch row
+     * @param depth   Rows per sketch
+     * @param k       Keys kept per category and window, the largest useful ranking length
+     */
+    public TrendingTracker(int windows, int width, int depth, int k) {
+        this.windows = Math.max(1, windows);
+        this.width = width;
+        this.depth = depth;
+        this.k = Math.max(1, k);
+        history.addFirst(new Window(new CountMinSketch(width, depth)));
+    }
+
+    /**
+     * Counts clicks on a key in the current window.
+     *
+     * @param key      The clicked key, e.g. a canonical bookmark URL
+     * @param category The canonical category path of the key; {@code null} or {@code ""} for the root only
+     * @param count    The number of clicks, ignored unless positive
+     */
+    public void add(String key, String category, long count) {
+        if (count <= 0) {
+            return;
+        }
+        Window current = history.peekFirst();
+        long estimate = current.sketch.add(key, count);
+
+        String path = category == null ? "" : category;
+        while (true) {
+            current.topByCategory.computeIfAbsent(path, ignored -> new TopK(k)).offer(key, estimate);
+            if (path.isEmpty()) {
+                return;
+            }
+            int slash = path.lastIndexOf('/');
+            path = slash < 0 ? "" : path.substring(0, slash);
+        }
+    }
+
+    /**
+     * Starts a new window, dropping the oldest one once {@code windows} are kept.
+     * The dropped window's sketch is cleared and reused.
+     */
+    public void rotate() {
+        CountMinSketch sketch;
+        if (history.size() >= windows) {
+            sketch = history.removeLast().sketch;
+            sketch.clear();
+        } else {
+            sketch = new CountMinSketch(width, depth);
+        }
+        history.addFirst(new Window(sketch));
+    }
+
+    /**
+     * Ranks the trending keys of every category seen in the kept windows.
+     *
+     * @return The keys of each canonical category path, most clicked first, at most {@code k} each
+     */
+    public Map<String, String[]> ranking() {
+        Map<String, Set<String>> candidates = new HashMap<>();
+        for (Window window : history) {
+            for (Map.Entry<String, TopK> entry : window.topByCategory.entrySet()) {
+                TopK top = entry.getValue();
+                Set<String> keys = candidates.computeIfAbsent(entry.getKey(), ignored -> new HashSet<>());
+                for (int i = 0; i < top.size(); i++) {
+                    keys.add(top.key(i));
+                }
+            }
+        }
+
+        Map<String, Long> estimates = new HashMap<>();
+        Map<String, String[]> ranking = new HashMap<>(candidates.size() * 2);
+        for (Map.Entry<String, Set<String>> entry : candidates.entrySet()) {
+            List<String> keys = new ArrayList<>(entry.getValue());
+            for (String key : keys) {
+                estimates.computeIfAbsent(key, this::estimate);
+            }
+            keys.sort(Comparator.comparingLong((String key) -> estimates.get(key)).reversed()
+                    .thenComparing(Comparator.naturalOrder()));
+            ranking.put(entry.getKey(), keys.subList(0, Math.min(k, keys.size())).toArray(new String[0]));
+        }
+        return Map.copyOf(ranking);
+    }
+
+    /**
+     * @return The estimated clicks on a key over all kept windows
+     */
+    public long estimate(String key) {
+        long sum = 0;
+        for (Window window : history) {
+            if (window.sketch.getTotal() > 0) {
+                sum += window.sketch.estimate(key);
+            }
+        }
+        return sum;
+    }
+
+    private static final class Window {
+
+        private final CountMinSketch sketch;
+        private final Map<String, TopK> topByCategory = new HashMap<>();
+
+        private Window(CountMinSketch sketch) {
+            this.sketch = sketch;
+        }
+    }
+}
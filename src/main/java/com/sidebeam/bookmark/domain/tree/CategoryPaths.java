@@ -0,0 +1,42 @@
+package com.sidebeam.bookmark.domain.tree;
+
+/**
+ * Helpers for category path strings ("Parent/Child/Grandchild").
+ */
+public final class CategoryPaths {
+
+    private static final String SEPARATOR = "/";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CategoryPaths() {
+    }
+
+    /**
+     * Computes the stable id of a category path: the 64-bit FNV-1a hash of its UTF-16 code units.
+     * The id depends only on the path, so it stays the same across snapshots and instances.
+     *
+     * @param path The full category path; the root is the empty path
+     * @return The path id
+     */
+    public static long pathId(String path) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < path.length(); i++) {
+            hash = (hash ^ path.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Rewrites a category path into the form used by the tree's path lookups.
+     * Trailing separators are dropped the same way the tree builders split paths, so every
+     * category string of a bookmark maps to the path of the node it was counted in.
+     *
+     * @param path A category path, e.g. "Parent/Child/"
+     * @return The path as stored in the tree, e.g. "Parent/Child"
+     */
+    public static String canonical(String path) {
+        return String.join(SEPARATOR, path.split(SEPARATOR));
+    }
+}
@@ -0,0 +1,149 @@
+package com.sidebeam.bookmark.domain.tree;
+
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a category tree with hashed child lookup.
+ *
+ * Unlike {@link CategoryNode#buildTree(List)}, which scans the children list of every node
+ * for each path segment, this builder keeps an insertion-ordered hash map per node while
+ * accumulating paths. Children keep first-occurrence order, so the serialized tree is
+ * identical to the one produced by {@code CategoryNode.buildTree}. When the tree is built,
+ * subtree totals, full paths and stable path ids are computed in one bottom-up pass.
+ */
+public class CategoryTreeBuilder {
+
+    private static final String ROOT_NAME = "root";
+    private static final String SEPARATOR = "/";
+
+    private final Node root = new Node(ROOT_NAME);
+
+    /**
+     * Builds an indexed tree from a list of category paths.
+     *
+     * @param categoryPaths List of category paths (e.g., "Parent/Child/Grandchild")
+     * @return The indexed category tree
+     */
+    public static IndexedCategoryTree buildTree(List<String> categoryPaths) {
+        return new CategoryTreeBuilder().addAll(categoryPaths, 0, categoryPaths.size()).build();
+    }
+
+    /**
+     * Adds one bookmark with the given category path.
+     */
+    public CategoryTreeBuilder add(String path) {
+        return add(path, 1);
+    }
+
+    /**
+     * Adds {@code count} bookmarks with the given category path.
+     * {@code null} paths are ignored.
+     */
+    public CategoryTreeBuilder add(String path, int count) {
+        if (path == null) {
+            return this;
+        }
+
+        Node current = root;
+        for (String part : path.split(SEPARATOR)) {
+            current = current.child(part);
+        }
+        current.count += count;
+        return this;
+    }
+
+    /**
+     * Adds the category paths in {@code [from, to)} of the given list.
+     */
+    public CategoryTreeBuilder addAll(List<String> categoryPaths, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(categoryPaths.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * Merges another partial tree into this one. Nodes that only exist in the other tree are
+     * appended after the children of this tree, so merging partial trees built from consecutive
+     * chunks, in chunk order, yields the same child order as a sequential build.
+     *
+     * @param other A partial tree; it must not be used afterwards
+     * @return This builder
+     */
+    public CategoryTreeBuilder merge(CategoryTreeBuilder other) {
+        root.merge(other.root);
+        return this;
+    }
+
+    /**
+     * Freezes the accumulated paths into a tree of {@link CategoryNode}s.
+     */
+    public IndexedCategoryTree build() {
+        Map<String, CategoryNode> byPath = new HashMap<>();
+        CategoryNode rootNode = root.freeze("", byPath);
+        return new IndexedCategoryTree(rootNode, byPath);
+    }
+
+    /**
+     * Mutable node used while paths are accumulated.
+     */
+    private static final class Node {
+
+        private final String name;
+        private final LinkedHashMap<String, Node> children = new LinkedHashMap<>();
+        private int count;
+
+        private Node(String name) {
+            this.name = name;
+        }
+
+        private Node child(String childName) {
+            Node child = children.get(childName);
+            if (child == null) {
+                child = new Node(childName);
+                children.put(childName, child);
+            }
+            return child;
+        }
+
+        private void merge(Node other) {
+            count += other.count;
+            for (Node otherChild : other.children.values()) {
+                Node child = children.get(otherChild.name);
+                if (child == null) {
+                    children.put(otherChild.name, otherChild);
+                } else {
+                    child.merge(otherChild);
+                }
+            }
+        }
+
+        private CategoryNode freeze(String path, Map<String, CategoryNode> byPath) {
+            List<CategoryNode> frozenChildren = new ArrayList<>(children.size());
+            int totalCount = count;
+            for (Node child : children.values()) {
+                String childPath = path.isEmpty() ? child.name : path + SEPARATOR + child.name;
+                CategoryNode frozen = child.freeze(childPath, byPath);
+                totalCount += frozen.getTotalCount();
+                frozenChildren.add(frozen);
+            }
+
+            CategoryNode node = CategoryNode.builder()
+                    .name(name)
+                    .children(frozenChildren)
+                    .count(count)
+                    .totalCount(totalCount)
+                    .path(path)
+                    .pathId(CategoryPaths.pathId(path))
+                    .build();
+            byPath.put(path, node);
+            return node;
+        }
+    }
+}
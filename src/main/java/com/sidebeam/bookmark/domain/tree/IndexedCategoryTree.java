@@ -0,0 +1,56 @@
+package com.sidebeam.bookmark.domain.tree;
+
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A built category tree together with hashed lookups by full path and by path id.
+ * The tree must not be modified after it was built.
+ */
+public class IndexedCategoryTree {
+
+    private final CategoryNode root;
+    private final Map<String, CategoryNode> byPath;
+    private final Map<Long, CategoryNode> byPathId;
+
+    IndexedCategoryTree(CategoryNode root, Map<String, CategoryNode> byPath) {
+        this.root = root;
+        this.byPath = byPath;
+        this.byPathId = new HashMap<>(byPath.size() * 2);
+        for (CategoryNode node : byPath.values()) {
+            byPathId.put(node.getPathId(), node);
+        }
+    }
+
+    /**
+     * @return The root node, named "root"
+     */
+    public CategoryNode getRoot() {
+        return root;
+    }
+
+    /**
+     * @param path A full category path (e.g., "Parent/Child"); the empty path addresses the root
+     * @return The node, or {@code null} if no bookmark uses the path
+     */
+    public CategoryNode findByPath(String path) {
+        return byPath.get(path);
+    }
+
+    /**
+     * @param pathId A stable path id, see {@link CategoryPaths#pathId(String)}
+     * @return The node, or {@code null} if the id is unknown
+     */
+    public CategoryNode findByPathId(long pathId) {
+        return byPathId.get(pathId);
+    }
+
+    /**
+     * @return The number of nodes, including the root
+     */
+    public int size() {
+        return byPath.size();
+    }
+}
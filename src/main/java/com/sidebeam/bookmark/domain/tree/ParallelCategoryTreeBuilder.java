@@ -0,0 +1,112 @@
+package com.sidebeam.bookmark.domain.tree;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds a category tree on a {@link ForkJoinPool}.
+ *
+ * The list of paths is split into consecutive chunks; each chunk is accumulated into its own
+ * partial {@link CategoryTreeBuilder}, and partial trees are merged left to right as the fork/join
+ * tasks complete. Because a merge appends nodes of the right-hand tree after those of the
+ * left-hand tree, children end up in first-occurrence order, so the result is identical to a
+ * sequential build regardless of scheduling. Inputs no larger than one chunk are built sequentially.
+ */
+public class ParallelCategoryTreeBuilder {
+
+    /**
+     * The default number of paths accumulated by a single task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16_384;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelCategoryTreeBuilder() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool      The pool running the chunk and merge tasks
+     * @param chunkSize The number of paths accumulated by a single task
+     */
+    public ParallelCategoryTreeBuilder(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Builds an indexed tree from a list of category paths.
+     *
+     * @param categoryPaths List of category paths (e.g., "Parent/Child/Grandchild"); should support random access
+     * @return The indexed category tree
+     */
+    public IndexedCategoryTree build(List<String> categoryPaths) {
+        return build(categoryPaths, null);
+    }
+
+    /**
+     * Builds an indexed tree from distinct category paths and the number of bookmarks in each.
+     *
+     * @param categoryPaths List of category paths; should support random access
+     * @param counts        The number of bookmarks of each path, or {@code null} for one each
+     * @return The indexed category tree
+     */
+    public IndexedCategoryTree build(List<String> categoryPaths, int[] counts) {
+        if (counts != null && counts.length != categoryPaths.size()) {
+            throw new IllegalArgumentException("counts must match categoryPaths: "
+                    + counts.length + " != " + categoryPaths.size());
+        }
+        if (categoryPaths.size() <= chunkSize) {
+            return accumulate(categoryPaths, counts, 0, categoryPaths.size()).build();
+        }
+        return pool.invoke(new BuildTask(categoryPaths, counts, 0, categoryPaths.size())).build();
+    }
+
+    private static CategoryTreeBuilder accumulate(List<String> categoryPaths, int[] counts, int from, int to) {
+        CategoryTreeBuilder builder = new CategoryTreeBuilder();
+        if (counts == null) {
+            return builder.addAll(categoryPaths, from, to);
+        }
+        for (int i = from; i < to; i++) {
+            builder.add(categoryPaths.get(i), counts[i]);
+        }
+        return builder;
+    }
+
+    /**
+     * Accumulates {@code [from, to)} into a partial tree, splitting until a range fits in one chunk.
+     */
+    private final class BuildTask extends RecursiveTask<CategoryTreeBuilder> {
+
+        private final List<String> categoryPaths;
+        private final int[] counts;
+        private final int from;
+        private final int to;
+
+        private BuildTask(List<String> categoryPaths, int[] counts, int from, int to) {
+            this.categoryPaths = categoryPaths;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CategoryTreeBuilder compute() {
+            if (to - from <= chunkSize) {
+                return accumulate(categoryPaths, counts, from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            BuildTask left = new BuildTask(categoryPaths, counts, from, mid);
+            BuildTask right = new BuildTask(categoryPaths, counts, mid, to);
+            left.fork();
+            CategoryTreeBuilder rightTree = right.compute();
+            return left.join().merge(rightTree);
+        }
+    }
+}
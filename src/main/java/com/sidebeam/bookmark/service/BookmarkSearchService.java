@@ -0,0 +1,43 @@
+package com.sidebeam.bookmark.service;
+
+import com.sidebeam.bookmark.domain.search.Suggestion;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+
+import java.util.List;
+
+/**
+ * 현재 스냅샷의 북마크를 검색하는 서비스입니다.
+ */
+public interface BookmarkSearchService {
+
+    /**
+     * 검색어와 일치하는 북마크를 관련도 순으로 반환합니다.
+     * 검색어의 모든 단어가 일치해야 하며, 마지막 단어는 접두어로도 일치합니다.
+     *
+     * @param query 검색어
+     * @param limit 최대 결과 수 (null이면 기본값, 최대값을 넘으면 최대값으로 제한)
+     * @return 관련도 순으로 정렬된 북마크
+     */
+    BookmarkRows search(String query, Integer limit);
+
+    /**
+     * 검색어와 일치하는 북마크를 관련도 순으로 반환합니다.
+     * fuzzy가 true이면 오타를 허용하여 편집 거리가 가까운 단어도 일치로 보며,
+     * 정확히 일치하는 결과가 오타로 일치하는 결과보다 먼저 정렬됩니다.
+     *
+     * @param query 검색어
+     * @param limit 최대 결과 수 (null이면 기본값, 최대값을 넘으면 최대값으로 제한)
+     * @param fuzzy 오타 허용 여부
+     * @return 관련도 순으로 정렬된 북마크
+     */
+    BookmarkRows search(String query, Integer limit, boolean fuzzy);
+
+    /**
+     * 입력 중인 접두어로 시작하는 북마크 이름, 도메인, 카테고리 이름을 자주 쓰이는 순으로 반환합니다.
+     *
+     * @param prefix 입력한 접두어 (대소문자 구분 없음)
+     * @param limit  최대 결과 수 (null이면 노드당 보관 개수)
+     * @return 자동완성 후보 목록
+     */
+    List<Suggestion> suggest(String prefix, Integer limit);
+}
@@ -14,6 +14,14 @@ public interface BookmarkService {
      */
     List<Bookmark> getAllBookmarks();
 
+    /**
+     * 캐시에 저장된 북마크 목록을 반환합니다.
+     * getAllBookmarks와 달리 캐시가 비어 있어도 GitLab에서 데이터를 가져오지 않으므로 요청 스레드를 막지 않습니다.
+     *
+     * @return 캐시된 북마크 목록, 캐시가 비어 있으면 null
+     */
+    List<Bookmark> getCachedBookmarks();
+
     /**
      * 북마크 카테고리를 기반으로 한 트리 구조를 생성합니다.
      * 이 메서드는 북마크의 카테고리 정보를 사용하여 계층적인 카테고리 트리를 구성합니다.
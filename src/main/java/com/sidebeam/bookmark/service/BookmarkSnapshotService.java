@@ -0,0 +1,43 @@
+package com.sidebeam.bookmark.service;
+
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotBodies;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotDiff;
+
+public interface BookmarkSnapshotService {
+
+    /**
+     * 현재 북마크 데이터에 대한 스냅샷을 반환합니다.
+     * 새 스냅샷은 갱신 스케줄러와 애플리케이션 시작 시에만 생성되므로, 이 메서드는 GitLab을 기다리지 않고
+     * 마지막으로 게시된 스냅샷을 반환합니다.
+     */
+    BookmarkSnapshot getCurrentSnapshot();
+
+    /**
+     * 지정한 버전의 스냅샷을 반환합니다.
+     * 전체 스냅샷은 현재 스냅샷과 바로 직전에 교체된 스냅샷만 보관하므로,
+     * 페이지 커서는 새 버전이 한 번 게시되는 동안까지만 이어서 사용할 수 있습니다.
+     *
+     * @param version 스냅샷 버전
+     * @return 해당 버전의 스냅샷, 보관 중이 아니면 null
+     */
+    BookmarkSnapshot getSnapshot(String version);
+
+    /**
+     * 지정한 버전의 인코딩된 본문을 반환합니다.
+     * 현재 스냅샷과 최근에 교체된 스냅샷 몇 개의 본문만 보관하므로 오래된 버전은 찾을 수 없습니다.
+     *
+     * @param version 스냅샷 버전
+     * @return 해당 버전의 본문, 보관 중이 아니면 null
+     */
+    SnapshotBodies getSnapshotBodies(String version);
+
+    /**
+     * 지정한 버전 이후 현재 스냅샷까지의 변경 사항을 반환합니다.
+     * 연속된 스냅샷 사이의 변경 사항만 제한된 개수로 보관하므로 오래된 버전은 찾을 수 없습니다.
+     *
+     * @param version 클라이언트가 보유한 스냅샷 버전
+     * @return 해당 버전부터 현재 버전까지의 변경 사항, 보관 중인 이력으로 계산할 수 없으면 null
+     */
+    SnapshotDiff getChangesSince(String version);
+}
@@ -0,0 +1,39 @@
+package com.sidebeam.bookmark.service;
+
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+
+import java.util.List;
+
+/**
+ * 북마크 클릭을 집계하여 자주 쓰이는 북마크 순위를 제공하는 서비스입니다.
+ */
+public interface ClickTelemetryService {
+
+    /**
+     * 클릭 이벤트를 기록합니다.
+     * 현재 스냅샷에 있는 북마크의 URL만 집계하며, URL은 표기 차이를 무시하고 비교합니다.
+     *
+     * @param urls 클릭된 북마크 URL 목록 (같은 URL이 여러 번 있으면 그만큼 집계)
+     * @return 집계된 클릭 수
+     */
+    int recordClicks(List<String> urls);
+
+    /**
+     * 최근 클릭일수록 높은 가중치를 둔 인기 점수 순으로 북마크를 반환합니다.
+     * 순위는 주기적인 집계 시점에 갱신됩니다.
+     *
+     * @param limit 최대 결과 수 (null이면 기본값, 최대값을 넘으면 최대값으로 제한)
+     * @return 인기 순으로 정렬된 북마크
+     */
+    BookmarkRows popular(Integer limit);
+
+    /**
+     * 최근 시간 범위(설정된 윈도 크기 x 윈도 수)에 클릭이 많은 북마크를 카테고리별로 반환합니다.
+     * 하위 카테고리의 클릭도 포함하며, 순위는 주기적인 집계 시점에 갱신됩니다.
+     *
+     * @param categoryPath 카테고리 경로 (빈 문자열이면 전체)
+     * @param limit        최대 결과 수 (null이면 카테고리별 보관 수, 그보다 크면 보관 수로 제한)
+     * @return 최근 클릭 수 순으로 정렬된 북마크
+     */
+    BookmarkRows trending(String categoryPath, Integer limit);
+}
@@ -3,6 +3,11 @@ package com.sidebeam.bookmark.service;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * GitLab 저장소의 북마크 YAML 파일에 접근하는 서비스입니다.
+ * 각 메서드는 GitLab 응답을 기다리는 블로킹 호출이므로 스냅샷 갱신 스케줄러나 애플리케이션 시작 시에만
+ * 호출되며, 요청 처리 스레드에서는 호출되지 않습니다.
+ */
 public interface GitLabService {
 
     /**
@@ -21,4 +26,4 @@ public interface GitLabService {
      * 이 메서드는 재귀적으로 파일을 탐색하며, 설정된 파일 확장자를 가진 모든 YAML 파일의 경로를 반환합니다.
      */
     List<String> listYamlFiles();
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.sidebeam.bookmark.service;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * 새 스냅샷이 게시될 때 연결된 클라이언트에 알리는 서비스입니다.
+ */
+public interface SnapshotEventService {
+
+    /**
+     * 스냅샷 변경 이벤트 스트림을 반환합니다.
+     * 구독 직후 현재 버전을 한 번 보내고, 이후 새 스냅샷이 게시될 때마다 이벤트를 보냅니다.
+     * 유휴 연결이 끊기지 않도록 주기적으로 주석(keep-alive)을 보내며, 최대 수명이 지나면 스트림을 종료합니다.
+     *
+     * @param includeChanges 이전 버전과의 변경 사항을 이벤트에 포함할지 여부 (변경 사항이 작을 때만 포함)
+     * @return 서버 전송 이벤트 스트림
+     */
+    Flux<ServerSentEvent<String>> events(boolean includeChanges);
+}
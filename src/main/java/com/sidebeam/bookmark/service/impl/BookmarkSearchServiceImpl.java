@@ -0,0 +1,55 @@
+package com.sidebeam.bookmark.service.impl;
+
+import com.sidebeam.bookmark.config.SearchProperties;
+import com.sidebeam.bookmark.domain.search.Suggestion;
+import com.sidebeam.bookmark.domain.search.SuggestionTrie;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.service.BookmarkSearchService;
+import com.sidebeam.bookmark.service.BookmarkSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 스냅샷마다 생성된 역색인(SearchIndex)으로 북마크를 검색하는 서비스입니다.
+ * 검색 시 북마크 목록을 순회하지 않고 검색어 단어의 포스팅 목록만 교집합하여 BM25F 점수로 정렬합니다.
+ * 오타 허용 검색은 단어 사전의 트라이그램 색인으로 후보 단어를 고른 뒤 제한된 편집 거리로 검증합니다.
+ * 자동완성은 노드마다 상위 후보를 미리 계산해 둔 트라이로 접두어 길이만큼만 탐색합니다.
+ */
+@Slf4j
+@Service
+public class BookmarkSearchServiceImpl implements BookmarkSearchService {
+
+    private final BookmarkSnapshotService bookmarkSnapshotService;
+    private final SearchProperties searchProperties;
+
+    public BookmarkSearchServiceImpl(BookmarkSnapshotService bookmarkSnapshotService,
+                                     SearchProperties searchProperties) {
+        this.bookmarkSnapshotService = bookmarkSnapshotService;
+        this.searchProperties = searchProperties;
+    }
+
+    @Override
+    public BookmarkRows search(String query, Integer limit) {
+        return search(query, limit, false);
+    }
+
+    @Override
+    public BookmarkRows search(String query, Integer limit, boolean fuzzy) {
+        int resultLimit = limit == null ? searchProperties.getDefaultLimit() : limit;
+        resultLimit = Math.max(0, Math.min(resultLimit, searchProperties.getMaxLimit()));
+
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        int[] rows = snapshot.getSearchIndex().search(query, resultLimit, fuzzy);
+        log.debug("Search '{}' (fuzzy={}) returned {} results", query, fuzzy, rows.length);
+        return snapshot.getColumnStore().rows(rows);
+    }
+
+    @Override
+    public List<Suggestion> suggest(String prefix, Integer limit) {
+        SuggestionTrie trie = bookmarkSnapshotService.getCurrentSnapshot().getSuggestionTrie();
+        return trie.suggest(prefix, limit == null ? trie.getK() : limit);
+    }
+}
@@ -1,17 +1,23 @@
 package com.sidebeam.bookmark.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.sidebeam.bookmark.config.CacheConfig;
+import com.sidebeam.bookmark.domain.json.PackageNodePool;
 import com.sidebeam.bookmark.domain.model.Bookmark;
 import com.sidebeam.bookmark.domain.model.CategoryNode;
-import com.sidebeam.bookmark.domain.model.PackageNode;
+import com.sidebeam.bookmark.domain.tree.CategoryTreeBuilder;
 import com.sidebeam.bookmark.service.BookmarkService;
 import com.sidebeam.bookmark.service.GitLabService;
 import com.sidebeam.bookmark.service.SchemaValidationService;
+import com.sidebeam.common.util.StringInternPool;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -34,10 +40,13 @@ public class BookmarkServiceImpl implements BookmarkService {
     private final GitLabService gitLabService;
     private final SchemaValidationService schemaValidationService;
     private final ObjectMapper yamlMapper;
+    private final CacheManager cacheManager;
 
-    public BookmarkServiceImpl(GitLabService gitLabService, SchemaValidationService schemaValidationService) {
+    public BookmarkServiceImpl(GitLabService gitLabService, SchemaValidationService schemaValidationService,
+                               CacheManager cacheManager) {
         this.gitLabService = gitLabService;
         this.schemaValidationService = schemaValidationService;
+        this.cacheManager = cacheManager;
         this.yamlMapper = new ObjectMapper(new YAMLFactory());
     }
 
@@ -54,6 +63,12 @@ public class BookmarkServiceImpl implements BookmarkService {
         log.info("Fetching all bookmarks from GitLab");
         List<Bookmark> bookmarks = new ArrayList<>();
         Map<String, String> yamlFiles = gitLabService.fetchAllYamlFiles();
+        StringInternPool stringPool = new StringInternPool();
+        PackageNodePool packageNodePool = new PackageNodePool();
+        ObjectReader bookmarkReader = yamlMapper
+                .readerFor(yamlMapper.getTypeFactory().constructCollectionType(List.class, Bookmark.class))
+                .withAttribute(StringInternPool.ATTRIBUTE, stringPool)
+                .withAttribute(PackageNodePool.ATTRIBUTE, packageNodePool);
 
         // Validate all YAML files against the schema
         try {
@@ -68,8 +83,10 @@ public class BookmarkServiceImpl implements BookmarkService {
             String key = entry.getKey();
             String content = entry.getValue();
             try {
-                List<Bookmark> fileBookmarks = parseYamlContent(content);
-                // Set the source path for each bookmark and process packages
+                List<Bookmark> fileBookmarks = parseYamlContent(bookmarkReader, content);
+                // Extract module name from the key
+                String moduleName = stringPool.intern(key.contains(":") ? key.substring(0, key.indexOf(':')) : "unknown");
+                // Set the source path for each bookmark
                 fileBookmarks.forEach(bookmark -> {
                     // The key is now in the format "moduleName:fileName"
                     bookmark.setSourcePath(key);
@@ -79,12 +96,7 @@ public class BookmarkServiceImpl implements BookmarkService {
                         bookmark.setMeta(new HashMap<>());
                     }
 
-                    // Extract module name from the key
-                    String moduleName = key.contains(":") ? key.substring(0, key.indexOf(':')) : "unknown";
                     bookmark.getMeta().put("module", moduleName);
-
-                    // Convert string packages to PackageNode structure if needed
-                    processPackages(bookmark);
                 });
                 bookmarks.addAll(fileBookmarks);
             } catch (Exception e) {
@@ -96,6 +108,9 @@ public class BookmarkServiceImpl implements BookmarkService {
         checkDuplicateUrls(bookmarks);
 
         log.info("Fetched {} bookmarks from {} files", bookmarks.size(), yamlFiles.size());
+        log.info("Interning saved ~{} KB for this snapshot ({} duplicate strings, {} shared package nodes)",
+                (stringPool.getSavedBytes() + packageNodePool.getSavedBytes()) / 1024,
+                stringPool.getDuplicates(), packageNodePool.getSharedNodes());
         return bookmarks;
     }
 
@@ -113,11 +128,23 @@ public class BookmarkServiceImpl implements BookmarkService {
                 .map(Bookmark::getCategory)
                 .collect(Collectors.toList());
 
-        CategoryNode root = CategoryNode.buildTree(categories);
+        CategoryNode root = CategoryTreeBuilder.buildTree(categories).getRoot();
         log.info("Built category tree with {} categories", categories.size());
         return root;
     }
 
+    /**
+     * 북마크 캐시에 저장된 목록을 GitLab 호출 없이 반환합니다.
+     * getAllBookmarks는 인자가 없으므로 캐시 키는 SimpleKey.EMPTY입니다.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Bookmark> getCachedBookmarks() {
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKMARKS_CACHE);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(SimpleKey.EMPTY);
+        return cached == null ? null : (List<Bookmark>) cached.get();
+    }
+
     /**
      * 북마크 및 카테고리 트리 데이터의 캐시를 갱신하는 메서드.
      *
@@ -135,50 +162,15 @@ public class BookmarkServiceImpl implements BookmarkService {
 
     /**
      * 주어진 YAML 콘텐츠를 파싱하여 Bookmark 객체의 리스트로 반환합니다.
+     * packages 필드는 파싱 중에 PackageNode 트리로 변환되므로 별도의 후처리가 필요하지 않습니다.
      *
+     * @param reader  스냅샷 단위 속성이 설정된 Bookmark 리스트 리더
      * @param content YAML 형식의 문자열 콘텐츠
      * @return 파싱된 Bookmark 객체의 리스트
      * @throws IOException YAML 파싱 중 오류가 발생한 경우
      */
-    private List<Bookmark> parseYamlContent(String content) throws IOException {
-        return yamlMapper.readValue(content,
-                yamlMapper.getTypeFactory().constructCollectionType(List.class, Bookmark.class));
-    }
-
-    /**
-     * Process packages for a bookmark, converting from string list to PackageNode structure if needed.
-     * This handles backward compatibility with the old format.
-     *
-     * @param bookmark The bookmark to process
-     */
-    @SuppressWarnings("unchecked")
-    private void processPackages(Bookmark bookmark) {
-        // If packages is already in the correct format, no need to process
-        if (bookmark.getPackages() != null && !bookmark.getPackages().isEmpty() 
-                && bookmark.getPackages().get(0) instanceof PackageNode) {
-            return;
-        }
-
-        // Handle the case where packages might be a List<String> from YAML
-        Object packagesObj = yamlMapper.convertValue(bookmark.getPackages(), Object.class);
-        if (packagesObj instanceof List) {
-            List<?> packagesList = (List<?>) packagesObj;
-            if (!packagesList.isEmpty() && packagesList.get(0) instanceof String) {
-                // Convert from List<String> to List<PackageNode>
-                List<String> packagePaths = (List<String>) packagesList;
-                PackageNode root = PackageNode.buildTree(packagePaths);
-                if (root.getChildren() != null && !root.getChildren().isEmpty()) {
-                    bookmark.setPackages(root.getChildren());
-                } else {
-                    bookmark.setPackages(new ArrayList<>());
-                }
-            }
-        }
-
-        // Ensure meta is initialized
-        if (bookmark.getMeta() == null) {
-            bookmark.setMeta(new HashMap<>());
-        }
+    private List<Bookmark> parseYamlContent(ObjectReader reader, String content) throws IOException {
+        return reader.readValue(content);
     }
 
     /**
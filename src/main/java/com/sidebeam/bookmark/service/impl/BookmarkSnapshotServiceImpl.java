@@ -0,0 +1,408 @@
+package com.sidebeam.bookmark.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sidebeam.bookmark.config.FilterProperties;
+import com.sidebeam.bookmark.config.LookupProperties;
+import com.sidebeam.bookmark.config.SearchProperties;
+import com.sidebeam.bookmark.config.SnapshotProperties;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.search.SearchIndex;
+import com.sidebeam.bookmark.domain.search.SuggestionTrie;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.domain.snapshot.CategoryIndex;
+import com.sidebeam.bookmark.domain.snapshot.DictionaryIndex;
+import com.sidebeam.bookmark.domain.snapshot.EncodedBody;
+import com.sidebeam.bookmark.domain.snapshot.LazyEncodedBody;
+import com.sidebeam.bookmark.domain.snapshot.MetaIndex;
+import com.sidebeam.bookmark.domain.snapshot.PackageIndex;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotBodies;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotDiff;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotPublishedEvent;
+import com.sidebeam.bookmark.domain.snapshot.StringDictionary;
+import com.sidebeam.bookmark.domain.snapshot.UrlBloomFilter;
+import com.sidebeam.bookmark.domain.snapshot.UrlIndex;
+import com.sidebeam.bookmark.domain.tree.ParallelCategoryTreeBuilder;
+import com.sidebeam.bookmark.domain.tree.IndexedCategoryTree;
+import com.sidebeam.bookmark.service.BookmarkService;
+import com.sidebeam.bookmark.service.BookmarkSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 북마크 스냅샷을 생성하고 보관하는 서비스입니다.
+ * 스냅샷은 BookmarkService가 캐시한 북마크 목록으로부터 만들어지며,
+ * 캐시가 비워지거나 갱신되어 목록 인스턴스가 바뀌면 다음 조회 시 다시 생성됩니다.
+ * 버전별 URL을 위해 최근 스냅샷 몇 개를 함께 보관하고,
+ * 변경 사항 조회를 위해 연속된 스냅샷 사이의 차이를 더 많은 개수까지 보관합니다.
+ * 새 버전의 스냅샷이 게시되면 SnapshotPublishedEvent를 발행하며, 요청이 없어도 알림이 나가도록
+ * 캐시가 비워졌는지 주기적으로 확인하여 스냅샷을 미리 다시 생성합니다.
+ */
+@Slf4j
+@Service
+public class BookmarkSnapshotServiceImpl implements BookmarkSnapshotService {
+
+    private final BookmarkService bookmarkService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final SnapshotProperties snapshotProperties;
+    private final SearchProperties searchProperties;
+    private final FilterProperties filterProperties;
+    private final LookupProperties lookupProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ParallelCategoryTreeBuilder categoryTreeBuilder;
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    private volatile BookmarkSnapshot currentSnapshot;
+
+    /**
+     * 현재 스냅샷을 만든 캐시 목록을 알아보기 위한 약한 참조입니다.
+     * 스냅샷은 목록을 보관하지 않으므로, 목록이 캐시에서 제거되면 스냅샷과 무관하게 수거됩니다.
+     */
+    private volatile WeakReference<List<Bookmark>> currentSource = new WeakReference<>(null);
+
+    /**
+     * 현재 스냅샷으로 교체되기 직전의 스냅샷입니다. 새 버전이 게시되는 중에 페이지를 넘기던 요청이
+     * 같은 스냅샷에서 이어서 조회할 수 있도록 하나만 전체를 보관합니다.
+     */
+    private volatile BookmarkSnapshot previousSnapshot;
+
+    /**
+     * 최근 스냅샷의 인코딩된 본문 목록(최신순, 버전 중복 없음). 교체 시 새 목록으로 바꾸므로 잠금 없이 읽을 수 있습니다.
+     * 오래된 버전은 본문만 보관하여 컬럼 저장소와 인덱스가 이력의 길이만큼 남지 않도록 합니다.
+     */
+    private volatile List<SnapshotBodies> history = List.of();
+
+    /**
+     * 연속된 스냅샷 사이의 변경 사항 목록(최신순). history와 같은 방식으로 교체됩니다.
+     */
+    private volatile List<SnapshotDiff> diffs = List.of();
+
+    public BookmarkSnapshotServiceImpl(BookmarkService bookmarkService, ObjectMapper objectMapper,
+                                       SnapshotProperties snapshotProperties, SearchProperties searchProperties,
+                                       FilterProperties filterProperties, LookupProperties lookupProperties,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.bookmarkService = bookmarkService;
+        this.objectMapper = objectMapper;
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.snapshotProperties = snapshotProperties;
+        this.searchProperties = searchProperties;
+        this.filterProperties = filterProperties;
+        this.lookupProperties = lookupProperties;
+        this.eventPublisher = eventPublisher;
+        this.categoryTreeBuilder = new ParallelCategoryTreeBuilder();
+    }
+
+    /**
+     * 현재 스냅샷을 반환합니다. 요청 스레드는 GitLab을 호출하지 않으며, 북마크 캐시가 비워져도
+     * 갱신 스케줄러가 새 스냅샷을 게시할 때까지 기존 스냅샷을 그대로 반환합니다.
+     * 첫 스냅샷이 아직 없을 때만 시작 시 생성이 끝나기를 기다리거나 직접 생성합니다.
+     */
+    @Override
+    public BookmarkSnapshot getCurrentSnapshot() {
+        BookmarkSnapshot snapshot = currentSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        buildLock.lock();
+        try {
+            if (currentSnapshot == null) {
+                reload(bookmarkService.getAllBookmarks());
+            }
+            return currentSnapshot;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * 북마크 캐시가 현재 스냅샷을 만든 목록과 다르면 캐시를 다시 읽어 새 스냅샷을 생성합니다.
+     * 캐시가 비워졌으면 GitLab에서 다시 읽으므로 갱신 스케줄러와 시작 시에만 호출합니다.
+     * GitLab 호출 중 잠금을 보유하므로 가상 스레드가 캐리어 스레드에 고정되지 않도록 synchronized 대신 ReentrantLock을 사용합니다.
+     */
+    private void refreshSnapshot() {
+        if (currentSnapshot != null && isCurrentSource(bookmarkService.getCachedBookmarks())) {
+            return;
+        }
+        buildLock.lock();
+        try {
+            List<Bookmark> bookmarks = bookmarkService.getAllBookmarks();
+            if (currentSnapshot == null || !isCurrentSource(bookmarks)) {
+                reload(bookmarks);
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * 주어진 목록으로 새 스냅샷을 생성하여 게시합니다. buildLock을 보유한 상태에서 호출됩니다.
+     */
+    private void reload(List<Bookmark> bookmarks) {
+        publish(buildSnapshot(bookmarks));
+        currentSource = new WeakReference<>(bookmarks);
+    }
+
+    /**
+     * 주어진 목록이 현재 스냅샷을 만든 목록과 같은 인스턴스인지 확인합니다.
+     */
+    private boolean isCurrentSource(List<Bookmark> bookmarks) {
+        return bookmarks != null && bookmarks == currentSource.get();
+    }
+
+    /**
+     * 현재 스냅샷과 직전 스냅샷 중 버전이 일치하는 스냅샷을 반환합니다.
+     */
+    @Override
+    public BookmarkSnapshot getSnapshot(String version) {
+        BookmarkSnapshot current = getCurrentSnapshot();
+        if (current.getVersion().equals(version)) {
+            return current;
+        }
+        BookmarkSnapshot previous = previousSnapshot;
+        return previous != null && previous.getVersion().equals(version) ? previous : null;
+    }
+
+    /**
+     * 보관 중인 본문에서 버전이 일치하는 본문을 찾습니다.
+     * 먼저 현재 스냅샷을 확인하여 최신 버전이 항상 포함되도록 합니다.
+     */
+    @Override
+    public SnapshotBodies getSnapshotBodies(String version) {
+        BookmarkSnapshot current = getCurrentSnapshot();
+        if (current.getVersion().equals(version)) {
+            return SnapshotBodies.of(current);
+        }
+        for (SnapshotBodies bodies : history) {
+            if (bodies.getVersion().equals(version)) {
+                return bodies;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 보관 중인 변경 사항을 최신순으로 따라가며 요청한 버전에서 시작하는 변경 사항을 찾고,
+     * 그 이후의 변경 사항을 순서대로 합성합니다.
+     */
+    @Override
+    public SnapshotDiff getChangesSince(String version) {
+        BookmarkSnapshot current = getCurrentSnapshot();
+        if (current.getVersion().equals(version)) {
+            return SnapshotDiff.empty(version);
+        }
+        List<SnapshotDiff> chain = new ArrayList<>();
+        for (SnapshotDiff diff : diffs) {
+            chain.add(diff);
+            if (diff.getFromVersion().equals(version)) {
+                Collections.reverse(chain);
+                return SnapshotDiff.compose(chain);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 새 스냅샷을 현재 스냅샷으로 교체하고 이력에 추가합니다.
+     * 내용이 같아 버전이 같은 스냅샷은 이력에서 한 번만 유지하며, 버전이 바뀐 경우에만 이벤트를 발행합니다.
+     * buildLock을 보유한 상태에서 호출됩니다.
+     */
+    private void publish(BookmarkSnapshot snapshot) {
+        BookmarkSnapshot previousSnapshot = currentSnapshot;
+        boolean changed = previousSnapshot == null || !previousSnapshot.getVersion().equals(snapshot.getVersion());
+        SnapshotDiff diff = null;
+        if (previousSnapshot != null && changed) {
+            diff = SnapshotDiff.between(previousSnapshot, snapshot);
+            recordDiff(diff);
+        }
+
+        int limit = Math.max(1, snapshotProperties.getHistorySize());
+        List<SnapshotBodies> updated = new ArrayList<>(limit);
+        updated.add(SnapshotBodies.of(snapshot));
+        for (SnapshotBodies previous : history) {
+            if (updated.size() == limit) {
+                break;
+            }
+            if (!previous.getVersion().equals(snapshot.getVersion())) {
+                updated.add(previous);
+            }
+        }
+        history = List.copyOf(updated);
+        if (changed) {
+            this.previousSnapshot = previousSnapshot;
+        }
+        currentSnapshot = snapshot;
+
+        if (changed) {
+            eventPublisher.publishEvent(new SnapshotPublishedEvent(snapshot, diff));
+        }
+    }
+
+    /**
+     * 변경 사항을 이력의 맨 앞에 추가하고 설정된 개수를 넘는 오래된 변경 사항을 버립니다.
+     */
+    private void recordDiff(SnapshotDiff diff) {
+        int limit = Math.max(0, snapshotProperties.getDiffHistorySize());
+        List<SnapshotDiff> updated = new ArrayList<>(limit + 1);
+        updated.add(diff);
+        updated.addAll(diffs);
+        diffs = List.copyOf(updated.subList(0, Math.min(limit, updated.size())));
+        log.info("Recorded {}", diff);
+    }
+
+    /**
+     * 북마크 목록으로부터 스냅샷의 모든 구조를 생성합니다.
+     *
+     * @param bookmarks 스냅샷의 원본 북마크 목록
+     * @return 생성된 스냅샷
+     */
+    private BookmarkSnapshot buildSnapshot(List<Bookmark> bookmarks) {
+        long start = System.nanoTime();
+        BookmarkColumnStore columnStore = BookmarkColumnStore.from(bookmarks);
+        IndexedCategoryTree categoryTree = buildCategoryTree(columnStore);
+        CategoryIndex categoryIndex = CategoryIndex.build(columnStore, categoryTree);
+        SearchIndex searchIndex = SearchIndex.build(columnStore, searchProperties.getMetaKeys(),
+                searchProperties.getMaxPrefixTerms());
+        SuggestionTrie suggestionTrie = SuggestionTrie.build(columnStore, searchProperties.getSuggestionsPerNode());
+        PackageIndex packageIndex = PackageIndex.build(columnStore);
+        UrlIndex urlIndex = UrlIndex.build(columnStore);
+        EncodedBody bookmarksBody = encode(objectMapper, columnStore.rows());
+        EncodedBody categoriesBody = encode(objectMapper, categoryTree.getRoot());
+        EncodedBody packagesBody = encode(objectMapper, packageIndex.getTree());
+        String version = version(bookmarksBody);
+        UrlBloomFilter urlFilter = UrlBloomFilter.build(urlIndex, lookupProperties.getUrlFilterFalsePositiveRate());
+
+        BookmarkSnapshot snapshot = BookmarkSnapshot.builder()
+                .version(version)
+                .columnStore(columnStore)
+                .categoryTree(categoryTree)
+                .categoryIndex(categoryIndex)
+                .moduleIndex(DictionaryIndex.modules(columnStore))
+                .domainIndex(DictionaryIndex.domains(columnStore))
+                .sourceIndex(DictionaryIndex.sources(columnStore))
+                .metaIndex(MetaIndex.build(columnStore, filterProperties.getMetaKeys()))
+                .packageIndex(packageIndex)
+                .urlIndex(urlIndex)
+                .searchIndex(searchIndex)
+                .suggestionTrie(suggestionTrie)
+                .bookmarksBody(bookmarksBody)
+                .categoriesBody(categoriesBody)
+                .packagesBody(packagesBody)
+                .bookmarksCbor(new LazyEncodedBody(() -> serialize(cborMapper, columnStore.rows())))
+                .bookmarksSmile(new LazyEncodedBody(() -> serialize(smileMapper, columnStore.rows())))
+                .categoriesCbor(new LazyEncodedBody(() -> serialize(cborMapper, categoryTree.getRoot())))
+                .categoriesSmile(new LazyEncodedBody(() -> serialize(smileMapper, categoryTree.getRoot())))
+                .urlFilter(urlFilter.toBytes(version))
+                .createdAt(Instant.now())
+                .build();
+
+        log.info("Built bookmark snapshot {} with {} bookmarks ({} categories, {} domains, {} modules) in {} ms",
+                snapshot.getVersion(), columnStore.size(), columnStore.getCategories().size(), columnStore.getDomains().size(),
+                columnStore.getModules().size(), (System.nanoTime() - start) / 1_000_000);
+        if (urlIndex.getCollisions() > 0) {
+            log.warn("{} bookmarks share a canonical URL with an earlier bookmark; lookups return the first one",
+                    urlIndex.getCollisions());
+        }
+        log.info("Search index: {} terms, {} postings; {} suggestions", searchIndex.getTermCount(),
+                searchIndex.getPostingCount(), suggestionTrie.size());
+        log.info("Pre-serialized bookmarks: {} KB (gzip {} KB), categories: {} KB (gzip {} KB)",
+                bookmarksBody.getIdentity().length / 1024, bookmarksBody.getGzip().length / 1024,
+                categoriesBody.getIdentity().length / 1024, categoriesBody.getGzip().length / 1024);
+        log.info("URL filter: {} URLs, {} KB, {} hash functions", urlFilter.getEntries(), urlFilter.getBits() / 8 / 1024,
+                urlFilter.getHashes());
+        return snapshot;
+    }
+
+    /**
+     * 응답 본문을 JSON으로 한 번 직렬화하고 gzip 압축본을 함께 생성합니다.
+     */
+    private static EncodedBody encode(ObjectMapper mapper, Object value) {
+        return EncodedBody.of(serialize(mapper, value));
+    }
+
+    /**
+     * 응답 본문을 주어진 형식(JSON, CBOR, Smile)으로 직렬화합니다.
+     * CBOR와 Smile 본문은 요청하는 클라이언트가 일부뿐이므로 스냅샷 생성 시가 아니라 첫 요청 시 직렬화합니다.
+     */
+    private static byte[] serialize(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize snapshot response body", e);
+        }
+    }
+
+    /**
+     * 직렬화된 북마크 목록의 SHA-256 해시 앞 16바이트로 스냅샷 버전을 생성합니다.
+     * 카테고리 트리는 북마크 목록에서 파생되므로 같은 버전으로 함께 식별됩니다.
+     */
+    private static String version(EncodedBody bookmarksBody) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bookmarksBody.getIdentity());
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 컬럼 저장소의 카테고리 사전을 이용하여 카테고리 트리를 생성합니다.
+     * 서로 다른 카테고리 경로마다 한 번씩만 트리를 탐색하며, 사전이 최초 등장 순서를 유지하므로
+     * 자식 노드의 순서는 북마크 단위로 생성한 트리와 동일합니다.
+     * 카테고리 경로가 많으면 트리는 ForkJoinPool에서 청크 단위로 병렬 생성된 뒤 병합됩니다.
+     */
+    private IndexedCategoryTree buildCategoryTree(BookmarkColumnStore columnStore) {
+        StringDictionary categories = columnStore.getCategories();
+        int[] counts = new int[categories.size()];
+        for (int row = 0; row < columnStore.size(); row++) {
+            int categoryId = columnStore.categoryId(row);
+            if (categoryId != StringDictionary.NULL_ID) {
+                counts[categoryId]++;
+            }
+        }
+
+        return categoryTreeBuilder.build(categories.values(), counts);
+    }
+
+    /**
+     * 웹훅이나 TTL로 북마크 캐시가 비워졌는지 주기적으로 확인하고, 비워졌으면 스냅샷을 다시 생성합니다.
+     * 스냅샷을 다시 생성하는 곳은 이 메서드와 시작 시뿐이며, 새 버전을 게시하면 이벤트 스트림 구독자에게 바로 알립니다.
+     */
+    @Scheduled(fixedDelayString = "${snapshot.refresh-check-interval:10}000", initialDelayString = "${snapshot.refresh-check-interval:10}000")
+    public void refreshSnapshotScheduled() {
+        try {
+            refreshSnapshot();
+        } catch (RuntimeException e) {
+            log.error("Scheduled snapshot refresh failed", e);
+        }
+    }
+
+    /**
+     * 애플리케이션 시작 시 첫 스냅샷을 미리 생성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshotOnStartup() {
+        log.info("Building bookmark snapshot on startup");
+        refreshSnapshot();
+    }
+}
@@ -0,0 +1,194 @@
+package com.sidebeam.bookmark.service.impl;
+
+import com.sidebeam.bookmark.config.TelemetryProperties;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.domain.snapshot.UrlIndex;
+import com.sidebeam.bookmark.domain.telemetry.TrendingTracker;
+import com.sidebeam.bookmark.domain.tree.CategoryPaths;
+import com.sidebeam.bookmark.service.BookmarkSnapshotService;
+import com.sidebeam.bookmark.service.ClickTelemetryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클릭 이벤트를 잠금 없이 집계하고 주기적으로 시간 감쇠 인기 점수로 합산하는 서비스입니다.
+ * 요청 스레드는 북마크 URL별 LongAdder를 증가시키기만 하므로, 많은 클라이언트가 동시에 같은 북마크를 클릭해도
+ * 셀이 분산되어 경합하지 않습니다. 집계 스레드만 점수를 갱신하며, 점수는 반감기에 따라 지수적으로 감쇠합니다.
+ * 갱신된 순위는 새 배열로 교체하므로 조회 요청은 잠금 없이 읽습니다.
+ * 같은 집계 시점에 클릭 수를 카테고리별 인기 급상승 추적기(회전하는 윈도별 count-min sketch와 top-k)에도 더하므로,
+ * 요청 경로의 비용은 늘지 않습니다.
+ * 점수는 메모리에만 보관되므로 애플리케이션을 재시작하면 초기화됩니다.
+ */
+@Slf4j
+@Service
+public class ClickTelemetryServiceImpl implements ClickTelemetryService {
+
+    private static final double MIN_SCORE = 0.01;
+
+    private final BookmarkSnapshotService bookmarkSnapshotService;
+    private final TelemetryProperties telemetryProperties;
+
+    /**
+     * 마지막 집계 이후의 클릭 수. 키는 스냅샷의 정규화된 URL 인스턴스이므로 북마크 수를 넘지 않습니다.
+     */
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 정규화된 URL별 인기 점수. 집계 스레드에서만 접근합니다.
+     */
+    private final Map<String, Double> scores = new HashMap<>();
+
+    /**
+     * 점수 순으로 정렬된 정규화된 URL 목록.
+     */
+    private volatile String[] ranking = new String[0];
+
+    /**
+     * 카테고리별 최근 클릭 수 추적기. 집계 스레드에서만 접근합니다.
+     */
+    private final TrendingTracker trendingTracker;
+
+    /**
+     * 카테고리 경로별로 최근 클릭 수 순으로 정렬된 정규화된 URL 목록.
+     */
+    private volatile Map<String, String[]> trendingRanking = Map.of();
+
+    private long lastAggregation = System.nanoTime();
+    private long lastRotation = lastAggregation;
+
+    public ClickTelemetryServiceImpl(BookmarkSnapshotService bookmarkSnapshotService,
+                                     TelemetryProperties telemetryProperties) {
+        this.bookmarkSnapshotService = bookmarkSnapshotService;
+        this.telemetryProperties = telemetryProperties;
+        this.trendingTracker = new TrendingTracker(telemetryProperties.getTrendingWindows(),
+                telemetryProperties.getSketchWidth(), telemetryProperties.getSketchDepth(),
+                telemetryProperties.getTrendingTopK());
+    }
+
+    @Override
+    public int recordClicks(List<String> urls) {
+        UrlIndex urlIndex = bookmarkSnapshotService.getCurrentSnapshot().getUrlIndex();
+        int recorded = 0;
+        for (String url : urls) {
+            int row = urlIndex.find(url);
+            if (row < 0) {
+                continue;
+            }
+            String key = urlIndex.canonicalUrl(row);
+            LongAdder counter = pending.get(key);
+            if (counter == null) {
+                counter = pending.computeIfAbsent(key, ignored -> new LongAdder());
+            }
+            counter.increment();
+            recorded++;
+        }
+        return recorded;
+    }
+
+    @Override
+    public BookmarkRows popular(Integer limit) {
+        int resultLimit = limit == null ? telemetryProperties.getDefaultLimit() : limit;
+        resultLimit = Math.max(0, Math.min(resultLimit, telemetryProperties.getMaxLimit()));
+        return rows(ranking, resultLimit);
+    }
+
+    @Override
+    public BookmarkRows trending(String categoryPath, Integer limit) {
+        int maxLimit = telemetryProperties.getTrendingTopK();
+        int resultLimit = limit == null ? maxLimit : Math.max(0, Math.min(limit, maxLimit));
+        String[] ranked = trendingRanking.get(CategoryPaths.canonical(categoryPath));
+        return rows(ranked == null ? new String[0] : ranked, resultLimit);
+    }
+
+    /**
+     * 정렬된 정규화된 URL 목록 중 현재 스냅샷에 있는 북마크를 최대 resultLimit개 반환합니다.
+     */
+    private BookmarkRows rows(String[] ranked, int resultLimit) {
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        UrlIndex urlIndex = snapshot.getUrlIndex();
+        int[] rows = new int[Math.min(resultLimit, ranked.length)];
+        int count = 0;
+        for (int i = 0; i < ranked.length && count < rows.length; i++) {
+            // Bookmarks removed since the last aggregation are skipped
+            int row = urlIndex.find(ranked[i]);
+            if (row >= 0) {
+                rows[count++] = row;
+            }
+        }
+        return snapshot.getColumnStore().rows(count == rows.length ? rows : Arrays.copyOf(rows, count));
+    }
+
+    /**
+     * 마지막 집계 이후의 클릭 수를 점수에 더하고 순위를 다시 계산합니다.
+     * 기존 점수는 경과 시간에 따라 0.5^(경과 시간 / 반감기)로 감쇠하며, 아주 작아진 점수는 버립니다.
+     * 클릭 수는 북마크의 카테고리별 인기 급상승 추적기에도 더하며, 윈도 크기만큼 시간이 지날 때마다 새 윈도를 시작합니다.
+     */
+    @Scheduled(fixedDelayString = "${telemetry.aggregation-interval:60}000", initialDelayString = "${telemetry.aggregation-interval:60}000")
+    public synchronized void aggregate() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastAggregation) / 1e9;
+        lastAggregation = now;
+        long windowNanos = Math.max(1, telemetryProperties.getTrendingWindow()) * 1_000_000_000L;
+        for (int i = 0; now - lastRotation >= windowNanos; i++) {
+            // After a long pause all windows are stale; rotating more than the kept count changes nothing
+            if (i < telemetryProperties.getTrendingWindows()) {
+                trendingTracker.rotate();
+            }
+            lastRotation += windowNanos;
+        }
+        double decay = Math.pow(0.5, elapsedSeconds / Math.max(1, telemetryProperties.getHalfLife()));
+
+        for (Iterator<Map.Entry<String, Double>> it = scores.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Double> entry = it.next();
+            double score = entry.getValue() * decay;
+            if (score < MIN_SCORE) {
+                it.remove();
+            } else {
+                entry.setValue(score);
+            }
+        }
+
+        long clicks = 0;
+        BookmarkSnapshot snapshot = bookmarkSnapshotService.getCurrentSnapshot();
+        BookmarkColumnStore store = snapshot.getColumnStore();
+        UrlIndex urlIndex = snapshot.getUrlIndex();
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            int row = urlIndex.find(entry.getKey());
+            if (count > 0) {
+                scores.merge(entry.getKey(), (double) count, Double::sum);
+                clicks += count;
+                if (row >= 0) {
+                    String category = store.category(row);
+                    trendingTracker.add(entry.getKey(), category == null ? "" : CategoryPaths.canonical(category), count);
+                }
+            } else if (row < 0) {
+                // No longer a bookmark, so no new clicks can be recorded for it
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+        }
+
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(scores.entrySet());
+        entries.sort(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        int size = Math.min(entries.size(), Math.max(0, telemetryProperties.getMaxLimit()));
+        String[] updated = new String[size];
+        for (int i = 0; i < size; i++) {
+            updated[i] = entries.get(i).getKey();
+        }
+        ranking = updated;
+        trendingRanking = trendingTracker.ranking();
+        log.debug("Aggregated {} clicks; {} bookmarks have a popularity score", clicks, scores.size());
+    }
+}
@@ -41,9 +41,11 @@ public class GitLabServiceImpl implements GitLabService {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Map<String, String> fetchAllYamlFiles() {
         return springCacheManager.getCachedData(Map.class)
-                .switchIfEmpty(this.fetchAndCacheAllYamlFiles())
+                .map(data -> (Map<String, String>) data)
+                .switchIfEmpty(Mono.defer(this::fetchAndCacheAllYamlFiles))
                 .block();
     }
 
@@ -0,0 +1,120 @@
+package com.sidebeam.bookmark.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.config.NotificationProperties;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkChanges;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotDiff;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotNotification;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotPublishedEvent;
+import com.sidebeam.bookmark.service.SnapshotEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * 스냅샷 게시 이벤트를 서버 전송 이벤트(SSE)로 중계하는 서비스입니다.
+ * 이벤트 본문은 게시 시 한 번만 직렬화되어 모든 연결이 같은 문자열을 공유하며,
+ * keep-alive 타이머도 모든 연결이 하나를 공유하므로 유휴 연결은 스레드나 타이머를 점유하지 않습니다.
+ * 느린 클라이언트는 다른 클라이언트를 지연시키지 않고 해당 클라이언트의 이벤트만 누락됩니다.
+ */
+@Slf4j
+@Service
+public class SnapshotEventServiceImpl implements SnapshotEventService {
+
+    private static final String EVENT_NAME = "snapshot";
+
+    private final ObjectMapper objectMapper;
+    private final NotificationProperties notificationProperties;
+
+    private final Sinks.Many<PreparedEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final Flux<ServerSentEvent<String>> heartbeat;
+
+    /**
+     * 마지막으로 게시된 스냅샷의 이벤트. 새로 연결한 클라이언트에 현재 버전을 알리는 데 사용합니다.
+     */
+    private volatile PreparedEvent latest;
+
+    public SnapshotEventServiceImpl(ObjectMapper objectMapper, NotificationProperties notificationProperties) {
+        this.objectMapper = objectMapper;
+        this.notificationProperties = notificationProperties;
+        this.heartbeat = Flux.interval(Duration.ofSeconds(notificationProperties.getHeartbeatInterval()))
+                .map(tick -> ServerSentEvent.<String>builder().comment("keepalive").build())
+                .share();
+    }
+
+    /**
+     * 새 스냅샷이 게시되면 이벤트 본문을 직렬화하여 연결된 모든 스트림에 전달합니다.
+     * 변경 사항은 설정된 크기 이하일 때만 변경 사항을 요청한 스트림용 본문에 포함합니다.
+     */
+    @EventListener
+    public void onSnapshotPublished(SnapshotPublishedEvent event) {
+        BookmarkSnapshot snapshot = event.getSnapshot();
+        SnapshotDiff diff = event.getDiff();
+        try {
+            SnapshotNotification.SnapshotNotificationBuilder notification = SnapshotNotification.builder()
+                    .version(snapshot.getVersion())
+                    .previousVersion(diff == null ? null : diff.getFromVersion())
+                    .createdAt(snapshot.getCreatedAt());
+            String plain = objectMapper.writeValueAsString(notification.build());
+            String withChanges = plain;
+            if (diff != null && diff.size() <= notificationProperties.getMaxDeltaSize()) {
+                withChanges = objectMapper.writeValueAsString(
+                        notification.changes(BookmarkChanges.of(diff.getFromVersion(), diff)).build());
+            }
+
+            PreparedEvent prepared = new PreparedEvent(snapshot.getVersion(), plain, withChanges);
+            latest = prepared;
+            Sinks.EmitResult result = sink.tryEmitNext(prepared);
+            log.info("Notified snapshot {} to {} event streams ({})", snapshot.getVersion(),
+                    sink.currentSubscriberCount(), result);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize snapshot notification for {}", snapshot.getVersion(), e);
+        }
+    }
+
+    /**
+     * 이벤트 싱크를 먼저 구독한 뒤 현재 버전을 읽으므로 구독 중에 게시된 버전도 누락되지 않습니다.
+     * 이 경우 같은 버전이 두 번 전달될 수 있으며, 클라이언트는 이벤트 id로 중복을 무시할 수 있습니다.
+     */
+    @Override
+    public Flux<ServerSentEvent<String>> events(boolean includeChanges) {
+        Flux<ServerSentEvent<String>> updates = sink.asFlux()
+                .map(event -> toServerSentEvent(event, includeChanges));
+        Flux<ServerSentEvent<String>> initial = Flux.defer(() -> {
+            PreparedEvent current = latest;
+            return current == null ? Flux.empty() : Flux.just(toServerSentEvent(current, false));
+        });
+        return Flux.merge(updates, initial, heartbeat)
+                .take(Duration.ofSeconds(notificationProperties.getMaxLifetime()));
+    }
+
+    private static ServerSentEvent<String> toServerSentEvent(PreparedEvent event, boolean includeChanges) {
+        return ServerSentEvent.builder(includeChanges ? event.withChanges : event.plain)
+                .id(event.version)
+                .event(EVENT_NAME)
+                .build();
+    }
+
+    /**
+     * 한 번 직렬화된 이벤트 본문.
+     */
+    private static final class PreparedEvent {
+
+        private final String version;
+        private final String plain;
+        private final String withChanges;
+
+        private PreparedEvent(String version, String plain, String withChanges) {
+            this.version = version;
+            this.plain = plain;
+            this.withChanges = withChanges;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.sidebeam.common.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한 번의 스냅샷 생성 동안 반복되는 문자열 값을 하나의 인스턴스로 공유하기 위한 풀입니다.
+ * JVM 전역 {@link String#intern()}과 달리 스냅샷이 교체되면 풀과 함께 수거되며,
+ * 중복 제거로 절약된 힙 크기를 추정하여 보고합니다.
+ *
+ * 이 클래스는 스레드 안전하지 않으며, 하나의 스냅샷을 구성하는 스레드에서만 사용해야 합니다.
+ */
+public class StringInternPool {
+
+    /**
+     * 역직렬화 컨텍스트에 풀을 등록할 때 사용하는 속성 키입니다.
+     */
+    public static final Object ATTRIBUTE = StringInternPool.class;
+
+    private static final int OBJECT_ALIGNMENT = 8;
+    private static final int STRING_HEADER_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final Map<String, String> strings = new HashMap<>();
+
+    private long duplicates;
+
+    private long savedBytes;
+
+    /**
+     * 주어진 값과 같은 문자열이 이미 풀에 있으면 기존 인스턴스를 반환합니다.
+     *
+     * @param value 공유할 문자열
+     * @return 풀에 보관된 문자열 인스턴스
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String existing = strings.putIfAbsent(value, value);
+        if (existing == null) {
+            return value;
+        }
+        if (existing != value) {
+            duplicates++;
+            savedBytes += estimateRetainedSize(value);
+        }
+        return existing;
+    }
+
+    /**
+     * @return 풀에 보관된 서로 다른 문자열의 수
+     */
+    public int getDistinctStrings() {
+        return strings.size();
+    }
+
+    /**
+     * @return 기존 인스턴스로 대체된 중복 문자열의 수
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * @return 중복 문자열을 대체하여 절약된 힙 크기의 추정치 (바이트)
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    /**
+     * 압축 문자열(compact strings)과 압축 참조를 사용하는 64비트 JVM 기준으로
+     * 문자열 하나가 점유하는 힙 크기를 추정합니다.
+     */
+    static long estimateRetainedSize(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_HEADER_BYTES + align(ARRAY_HEADER_BYTES + (long) value.length() * bytesPerChar);
+    }
+
+    private static long align(long size) {
+        return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+}
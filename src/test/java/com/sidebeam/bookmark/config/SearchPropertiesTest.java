@@ -0,0 +1,39 @@
+package com.sidebeam.bookmark.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchProperties 클래스의 테스트입니다.
+ * 접두어 확장 수와 노드별 추천 수가 1 미만이면 애플리케이션이 시작되지 않는지 확인합니다.
+ */
+class SearchPropertiesTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class,
+                    ValidationAutoConfiguration.class))
+            .withUserConfiguration(SearchProperties.class);
+
+    @Test
+    void binding_shouldAcceptDefaults() {
+        // Act & Assert
+        runner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertEquals(64, context.getBean(SearchProperties.class).getMaxPrefixTerms());
+        });
+    }
+
+    @Test
+    void binding_shouldRejectNonPositiveLimits() {
+        // Act & Assert
+        runner.withPropertyValues("search.max-prefix-terms=0")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+        runner.withPropertyValues("search.suggestions-per-node=-1")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+}
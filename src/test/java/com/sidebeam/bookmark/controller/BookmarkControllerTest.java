@@ -0,0 +1,274 @@
+package com.sidebeam.bookmark.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.sidebeam.bookmark.config.CacheProperties;
+import com.sidebeam.bookmark.config.FilterProperties;
+import com.sidebeam.bookmark.config.LookupProperties;
+import com.sidebeam.bookmark.config.PaginationProperties;
+import com.sidebeam.bookmark.config.SearchProperties;
+import com.sidebeam.bookmark.config.SnapshotProperties;
+import com.sidebeam.bookmark.config.TelemetryProperties;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkPage;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.service.BookmarkService;
+import com.sidebeam.bookmark.service.impl.BookmarkSearchServiceImpl;
+import com.sidebeam.bookmark.service.impl.BookmarkSnapshotServiceImpl;
+import com.sidebeam.bookmark.service.impl.ClickTelemetryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BookmarkController 클래스의 테스트입니다.
+ * NDJSON 스트림이 JSON 목록과 구별되는 조건별 ETag와 Vary: Accept를 보내고 If-None-Match를 따르는지,
+ * 메타데이터 조건을 JSON 목록과 같게 적용하는지 확인합니다.
+ * CBOR, Smile 본문이 JSON 본문과 같은 북마크로 디코딩되고 첫 요청 시에만 인코딩되는지,
+ * 요청마다 계산되는 목록 응답이 Vary: Accept를 보내는지, 페이지 커서가 발급된 조회에만 쓰이는지도 확인합니다.
+ */
+class BookmarkControllerTest {
+
+    private static final MultiValueMap<String, String> NO_PARAMS = new LinkedMultiValueMap<>();
+
+    private final StubBookmarkService bookmarkService = new StubBookmarkService();
+    private BookmarkSnapshotServiceImpl snapshotService;
+    private BookmarkController controller;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkService.load(List.of(
+                bookmark("GitLab", "DevOps/SCM", "platform"),
+                bookmark("Grafana", "Ops/Monitoring", "sre"),
+                bookmark("Runner Dashboard", "DevOps/CI", "platform")));
+        snapshotService = new BookmarkSnapshotServiceImpl(bookmarkService, new ObjectMapper(), new SnapshotProperties(),
+                new SearchProperties(), new FilterProperties(), new LookupProperties(), event -> { });
+        snapshotService.refreshSnapshotScheduled();
+        controller = new BookmarkController(snapshotService,
+                new BookmarkSearchServiceImpl(snapshotService, new SearchProperties()),
+                new ClickTelemetryServiceImpl(snapshotService, new TelemetryProperties()),
+                new CacheProperties(), new SnapshotProperties(), new PaginationProperties(), new LookupProperties(),
+                new TelemetryProperties(), new ObjectMapper());
+    }
+
+    @Test
+    void streamBookmarks_shouldTagEachQueryApartFromTheJsonListing() {
+        // Arrange
+        String version = snapshotService.getCurrentSnapshot().getVersion();
+
+        // Act
+        ResponseEntity<?> all = controller.streamBookmarks(null, null, false, NO_PARAMS, null);
+        ResponseEntity<?> category = controller.streamBookmarks(null, "DevOps", true, NO_PARAMS, null);
+        ResponseEntity<?> projected = controller.streamBookmarks("name,url", "DevOps", true, NO_PARAMS, null);
+        ResponseEntity<?> json = controller.getAllBookmarks(null, null, null, null, false, NO_PARAMS, null, null);
+
+        // Assert
+        Set<String> etags = Set.of(etag(all), etag(category), etag(projected), etag(json));
+        assertEquals(4, etags.size(), etags.toString());
+        assertEquals("\"" + version + "-ndjson\"", etag(all));
+        for (ResponseEntity<?> response : List.of(all, category, projected)) {
+            assertEquals(HttpHeaders.ACCEPT, response.getHeaders().getFirst(HttpHeaders.VARY));
+        }
+    }
+
+    @Test
+    void streamBookmarks_shouldHonorIfNoneMatch() {
+        // Arrange
+        String etag = etag(controller.streamBookmarks(null, "DevOps", true, NO_PARAMS, null));
+        String jsonEtag = etag(controller.getAllBookmarks(null, null, null, null, false, NO_PARAMS, null, null));
+
+        // Act
+        ResponseEntity<?> notModified = controller.streamBookmarks(null, "DevOps", true, NO_PARAMS, etag);
+        ResponseEntity<?> otherQuery = controller.streamBookmarks(null, "Ops", true, NO_PARAMS, etag);
+        ResponseEntity<?> jsonTag = controller.streamBookmarks(null, null, false, NO_PARAMS, jsonEtag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(etag, etag(notModified));
+        assertEquals(HttpHeaders.ACCEPT, notModified.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(HttpStatus.OK, otherQuery.getStatusCode());
+        assertEquals(HttpStatus.OK, jsonTag.getStatusCode());
+    }
+
+    @Test
+    void streamBookmarks_shouldApplyMetaFilters() throws Exception {
+        // Arrange
+        MultiValueMap<String, String> platform = new LinkedMultiValueMap<>();
+        platform.add("meta.owner", "platform");
+        MultiValueMap<String, String> unindexed = new LinkedMultiValueMap<>();
+        unindexed.add("meta.color", "blue");
+
+        // Act
+        ResponseEntity<?> filtered = controller.streamBookmarks("name", null, false, platform, null);
+        ResponseEntity<?> rejected = controller.streamBookmarks(null, null, false, unindexed, null);
+
+        // Assert
+        assertEquals(List.of("{\"name\":\"GitLab\"}", "{\"name\":\"Runner Dashboard\"}"), lines(filtered));
+        assertNotEquals(etag(controller.streamBookmarks("name", null, false, NO_PARAMS, null)), etag(filtered));
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+    }
+
+    @Test
+    void binaryBodies_shouldDecodeToTheSameBookmarksAsJson() throws Exception {
+        // Arrange
+        ObjectMapper json = new ObjectMapper();
+        TypeReference<List<Bookmark>> bookmarkList = new TypeReference<>() {
+        };
+        List<Bookmark> expected = json.readValue(
+                (byte[]) controller.getAllBookmarks(null, null, null, null, false, NO_PARAMS, null, null).getBody(), bookmarkList);
+        CategoryNode expectedTree = json.readValue(controller.getCategoryTree(null, null).getBody(), CategoryNode.class);
+
+        for (ObjectMapper binary : List.of(new CBORMapper(), new SmileMapper())) {
+            String accept = binary instanceof CBORMapper ? MediaType.APPLICATION_CBOR_VALUE : BodyFormat.SMILE_VALUE;
+
+            // Act
+            ResponseEntity<?> bookmarks = controller.getAllBookmarksBinary(null, null, null, null, false, NO_PARAMS,
+                    accept, null, null);
+            ResponseEntity<byte[]> categories = controller.getCategoryTreeBinary(accept, null, null);
+
+            // Assert
+            assertEquals(accept, bookmarks.getHeaders().getContentType().toString());
+            assertEquals(expected, binary.readValue((byte[]) bookmarks.getBody(), bookmarkList));
+            assertEquals(expectedTree, binary.readValue(categories.getBody(), CategoryNode.class));
+        }
+        assertEquals(3, expected.size());
+    }
+
+    @Test
+    void binaryBodies_shouldBeEncodedOnFirstRequestOnly() {
+        // Arrange
+        BookmarkSnapshot snapshot = snapshotService.getCurrentSnapshot();
+        String cborEtag = "\"" + snapshot.getVersion() + "-cbor\"";
+
+        // Act
+        ResponseEntity<?> notModified = controller.getAllBookmarksBinary(null, null, null, null, false, NO_PARAMS,
+                MediaType.APPLICATION_CBOR_VALUE, null, cborEtag);
+        boolean encodedFor304 = snapshot.getBookmarksCbor().isEncoded();
+        ResponseEntity<?> first = controller.getAllBookmarksBinary(null, null, null, null, false, NO_PARAMS,
+                MediaType.APPLICATION_CBOR_VALUE, null, null);
+        ResponseEntity<?> second = controller.getAllBookmarksBinary(null, null, null, null, false, NO_PARAMS,
+                MediaType.APPLICATION_CBOR_VALUE, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertFalse(encodedFor304);
+        assertTrue(snapshot.getBookmarksCbor().isEncoded());
+        assertSame(first.getBody(), second.getBody());
+        assertFalse(snapshot.getBookmarksSmile().isEncoded());
+        assertFalse(snapshot.getCategoriesCbor().isEncoded());
+        assertFalse(snapshot.getCategoriesSmile().isEncoded());
+    }
+
+    @Test
+    void computedListings_shouldVaryOnAccept() {
+        // Arrange
+        MultiValueMap<String, String> platform = new LinkedMultiValueMap<>();
+        platform.add("meta.owner", "platform");
+
+        // Act
+        List<ResponseEntity<?>> responses = List.of(
+                controller.getAllBookmarks(null, null, "name", null, false, NO_PARAMS, null, null),
+                controller.getAllBookmarks(1, null, null, null, false, NO_PARAMS, null, null),
+                controller.getAllBookmarks(null, null, null, null, false, platform, null, null),
+                controller.getAllBookmarks(null, null, "unknown", null, false, NO_PARAMS, null, null),
+                controller.getAllBookmarks(null, "not a cursor", null, null, false, NO_PARAMS, null, null),
+                controller.getAllBookmarksBinary(null, null, null, "DevOps", true, NO_PARAMS,
+                        MediaType.APPLICATION_CBOR_VALUE, null, null),
+                controller.getBookmarksByModule("tools", null, null, null));
+
+        // Assert
+        for (ResponseEntity<?> response : responses) {
+            assertEquals(HttpHeaders.ACCEPT, response.getHeaders().getFirst(HttpHeaders.VARY), response.toString());
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, responses.get(3).getStatusCode());
+    }
+
+    @Test
+    void pageCursor_shouldOnlyContinueTheQueryItWasIssuedFor() {
+        // Arrange
+        MultiValueMap<String, String> platform = new LinkedMultiValueMap<>();
+        platform.add("meta.owner", "platform");
+        String cursor = ((BookmarkPage) controller.getAllBookmarks(1, null, null, "DevOps", true, NO_PARAMS, null, null)
+                .getBody()).getNextCursor();
+
+        // Act
+        ResponseEntity<?> sameQuery = controller.getAllBookmarks(1, cursor, "name", "DevOps", true, NO_PARAMS, null, null);
+        ResponseEntity<?> otherCategory = controller.getAllBookmarks(1, cursor, null, "Ops", true, NO_PARAMS, null, null);
+        ResponseEntity<?> withMeta = controller.getAllBookmarks(1, cursor, null, "DevOps", true, platform, null, null);
+        ResponseEntity<?> otherEndpoint = controller.getBookmarksByModule("tools", 1, cursor, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, sameQuery.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, otherCategory.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, withMeta.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, otherEndpoint.getStatusCode());
+    }
+
+    private static String etag(ResponseEntity<?> response) {
+        return response.getHeaders().getFirst(HttpHeaders.ETAG);
+    }
+
+    private static List<String> lines(ResponseEntity<?> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private static Bookmark bookmark(String name, String category, String owner) {
+        return Bookmark.builder()
+                .name(name)
+                .url("https://" + name.toLowerCase().replace(' ', '-') + ".example.com")
+                .category(category)
+                .meta(Map.of("owner", owner))
+                .build();
+    }
+
+    /**
+     * 테스트에서 지정한 목록을 북마크 캐시처럼 반환하는 BookmarkService입니다.
+     */
+    private static final class StubBookmarkService implements BookmarkService {
+
+        private volatile List<Bookmark> cached;
+
+        private void load(List<Bookmark> bookmarks) {
+            cached = bookmarks;
+        }
+
+        @Override
+        public List<Bookmark> getAllBookmarks() {
+            return cached;
+        }
+
+        @Override
+        public List<Bookmark> getCachedBookmarks() {
+            return cached;
+        }
+
+        @Override
+        public CategoryNode getCategoryTree() {
+            return null;
+        }
+
+        @Override
+        public void refreshBookmarks() {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.sidebeam.bookmark.controller;
+
+import com.sidebeam.bookmark.domain.snapshot.EncodedBody;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EncodedResponses 클래스의 테스트입니다.
+ * Accept-Encoding 헤더에 따라 미리 압축된 본문이 올바르게 선택되는지,
+ * 그리고 If-None-Match가 스냅샷 버전과 일치할 때 304가 반환되는지 확인합니다.
+ */
+class EncodedResponsesTest {
+
+    private static final byte[] JSON = "[{\"name\":\"GitLab\"}]".getBytes(StandardCharsets.UTF_8);
+    private static final String VERSION = "0123456789abcdef";
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(60, TimeUnit.SECONDS);
+
+    @Test
+    void acceptsGzip_shouldHonorQualityValues() {
+        // Assert
+        assertTrue(EncodedResponses.acceptsGzip("gzip, deflate, br"));
+        assertTrue(EncodedResponses.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(EncodedResponses.acceptsGzip("*"));
+        assertFalse(EncodedResponses.acceptsGzip("gzip;q=0"));
+        assertFalse(EncodedResponses.acceptsGzip("gzip;q=0, *"));
+        assertFalse(EncodedResponses.acceptsGzip("identity"));
+        assertFalse(EncodedResponses.acceptsGzip(null));
+    }
+
+    @Test
+    void ok_shouldServeGzipBytesWhenAccepted() throws Exception {
+        // Arrange
+        EncodedBody body = EncodedBody.of(JSON);
+
+        // Act
+        ResponseEntity<byte[]> gzipped = EncodedResponses.ok(body, VERSION, CACHE_CONTROL, "gzip", null);
+        ResponseEntity<byte[]> plain = EncodedResponses.ok(body, VERSION, CACHE_CONTROL, null, null);
+
+        // Assert
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(JSON, in.readAllBytes());
+        }
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(body.getIdentity(), plain.getBody());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, plain.getHeaders().getFirst(HttpHeaders.VARY));
+        assertNotEquals(gzipped.getHeaders().getFirst(HttpHeaders.ETAG), plain.getHeaders().getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void ok_shouldReturnNotModifiedForCurrentVersion() {
+        // Arrange
+        EncodedBody body = EncodedBody.of(JSON);
+        String gzipEtag = EncodedResponses.etag(VERSION, true);
+
+        // Act
+        ResponseEntity<byte[]> current = EncodedResponses.ok(body, VERSION, CACHE_CONTROL, null, "W/" + gzipEtag);
+        ResponseEntity<byte[]> stale = EncodedResponses.ok(body, VERSION, CACHE_CONTROL, null, "\"fedcba9876543210\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, current.getStatusCode());
+        assertNull(current.getBody());
+        assertEquals(EncodedResponses.etag(VERSION, false), current.getHeaders().getFirst(HttpHeaders.ETAG));
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+        assertArrayEquals(JSON, stale.getBody());
+    }
+
+    @Test
+    void binaryFormat_shouldPreferHigherQuality() {
+        // Assert
+        assertEquals(BodyFormat.CBOR, EncodedResponses.binaryFormat("application/cbor"));
+        assertEquals(BodyFormat.SMILE, EncodedResponses.binaryFormat("application/x-jackson-smile"));
+        assertEquals(BodyFormat.CBOR, EncodedResponses.binaryFormat("application/x-jackson-smile;q=0.5, application/cbor"));
+        assertEquals(BodyFormat.SMILE, EncodedResponses.binaryFormat("application/cbor;q=0.8, application/x-jackson-smile"));
+        assertEquals(BodyFormat.CBOR, EncodedResponses.binaryFormat(null));
+    }
+
+    @Test
+    void ok_shouldTagBinaryFormatsSeparately() {
+        // Arrange
+        EncodedBody body = EncodedBody.of(new byte[]{(byte) 0x9f, (byte) 0xff});
+
+        // Act
+        ResponseEntity<byte[]> cbor = EncodedResponses.ok(body, BodyFormat.CBOR, VERSION, CACHE_CONTROL, null, null);
+        ResponseEntity<byte[]> jsonTagged = EncodedResponses.ok(body, BodyFormat.CBOR, VERSION, CACHE_CONTROL, null,
+                EncodedResponses.etag(VERSION, false));
+        ResponseEntity<byte[]> cborTagged = EncodedResponses.ok(body, BodyFormat.CBOR, VERSION, CACHE_CONTROL, null,
+                cbor.getHeaders().getFirst(HttpHeaders.ETAG));
+
+        // Assert
+        assertEquals("application/cbor", cbor.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        assertEquals("\"" + VERSION + "-cbor\"", cbor.getHeaders().getFirst(HttpHeaders.ETAG));
+        assertEquals("Accept, Accept-Encoding", cbor.getHeaders().getFirst(HttpHeaders.VARY));
+        assertEquals(HttpStatus.OK, jsonTagged.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, cborTagged.getStatusCode());
+    }
+}
@@ -0,0 +1,150 @@
+package com.sidebeam.bookmark.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.config.FilterProperties;
+import com.sidebeam.bookmark.config.LookupProperties;
+import com.sidebeam.bookmark.config.SearchProperties;
+import com.sidebeam.bookmark.config.SnapshotProperties;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotPointer;
+import com.sidebeam.bookmark.service.BookmarkService;
+import com.sidebeam.bookmark.service.impl.BookmarkSnapshotServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SnapshotController 클래스의 테스트입니다.
+ * 버전별 URL은 immutable로 캐시되고 이력에서 밀려난 버전은 404를 반환하는지,
+ * /snapshots/current 포인터는 매번 재검증되는지 확인합니다.
+ */
+class SnapshotControllerTest {
+
+    private final StubBookmarkService bookmarkService = new StubBookmarkService();
+    private BookmarkSnapshotServiceImpl snapshotService;
+    private SnapshotController controller;
+
+    @BeforeEach
+    void setUp() {
+        SnapshotProperties snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setHistorySize(2);
+        snapshotService = new BookmarkSnapshotServiceImpl(bookmarkService, new ObjectMapper(), snapshotProperties,
+                new SearchProperties(), new FilterProperties(), new LookupProperties(), event -> { });
+        controller = new SnapshotController(snapshotService, includeChanges -> Flux.empty());
+    }
+
+    @Test
+    void versionedUrls_shouldBeImmutableForRetainedVersions() {
+        // Arrange
+        String first = publish("GitLab");
+        String second = publish("Grafana");
+
+        // Act
+        ResponseEntity<byte[]> bookmarks = controller.getBookmarks(first, null, null);
+        ResponseEntity<byte[]> categories = controller.getCategoryTree(first, null, null);
+        ResponseEntity<byte[]> current = controller.getBookmarks(second, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, bookmarks.getStatusCode());
+        assertTrue(new String(bookmarks.getBody(), StandardCharsets.UTF_8).contains("GitLab"));
+        assertEquals(HttpStatus.OK, categories.getStatusCode());
+        assertTrue(new String(current.getBody(), StandardCharsets.UTF_8).contains("Grafana"));
+        for (ResponseEntity<byte[]> response : List.of(bookmarks, categories, current)) {
+            String cacheControl = response.getHeaders().getCacheControl();
+            assertTrue(cacheControl.contains("immutable"), cacheControl);
+            assertTrue(cacheControl.contains("max-age=31536000"), cacheControl);
+        }
+    }
+
+    @Test
+    void versionedUrls_shouldReturn404ForEvictedVersions() {
+        // Arrange
+        String evicted = publish("GitLab");
+        String previous = publish("Grafana");
+        publish("Jenkins");
+
+        // Act
+        ResponseEntity<byte[]> bookmarks = controller.getBookmarks(evicted, null, null);
+        ResponseEntity<byte[]> categories = controller.getCategoryTree(evicted, null, null);
+        ResponseEntity<byte[]> retained = controller.getBookmarks(previous, null, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, bookmarks.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, categories.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getBookmarks("unknown", null, null).getStatusCode());
+        assertEquals(HttpStatus.OK, retained.getStatusCode());
+        // Only the bodies of older versions are kept; the full snapshot is kept for the previous version alone
+        assertNull(snapshotService.getSnapshot(evicted));
+        assertNotNull(snapshotService.getSnapshot(previous));
+    }
+
+    @Test
+    void current_shouldRequireRevalidation() {
+        // Arrange
+        String version = publish("GitLab");
+
+        // Act
+        ResponseEntity<SnapshotPointer> pointer = controller.getCurrentSnapshot(null);
+        ResponseEntity<SnapshotPointer> notModified =
+                controller.getCurrentSnapshot(pointer.getHeaders().getFirst(HttpHeaders.ETAG));
+
+        // Assert
+        assertEquals(HttpStatus.OK, pointer.getStatusCode());
+        assertEquals(version, pointer.getBody().getVersion());
+        assertEquals("/snapshots/" + version + "/bookmarks", pointer.getBody().getBookmarks());
+        assertEquals("no-cache", pointer.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals("no-cache", notModified.getHeaders().getCacheControl());
+        assertNull(notModified.getBody());
+    }
+
+    private String publish(String name) {
+        bookmarkService.load(List.of(Bookmark.builder()
+                .name(name)
+                .url("https://" + name.toLowerCase() + ".example.com")
+                .category("DevOps/" + name)
+                .build()));
+        snapshotService.refreshSnapshotScheduled();
+        return snapshotService.getCurrentSnapshot().getVersion();
+    }
+
+    /**
+     * 테스트에서 지정한 목록을 북마크 캐시처럼 반환하는 BookmarkService입니다.
+     */
+    private static final class StubBookmarkService implements BookmarkService {
+
+        private volatile List<Bookmark> cached;
+
+        private void load(List<Bookmark> bookmarks) {
+            cached = bookmarks;
+        }
+
+        @Override
+        public List<Bookmark> getAllBookmarks() {
+            return cached;
+        }
+
+        @Override
+        public List<Bookmark> getCachedBookmarks() {
+            return cached;
+        }
+
+        @Override
+        public CategoryNode getCategoryTree() {
+            return null;
+        }
+
+        @Override
+        public void refreshBookmarks() {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.sidebeam.bookmark.domain.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkField;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BookmarkNdjsonWriter 클래스의 테스트입니다.
+ * 북마크마다 한 줄의 JSON 객체를 쓰고, 각 줄이 배열 직렬화의 원소와 같은지 확인합니다.
+ */
+class BookmarkNdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+            Bookmark.builder().name("GitLab").url("https://gitlab.com").domain("gitlab.com")
+                    .category("DevOps/GitLab").meta(Map.of("module", "dev")).sourcePath("dev:a.yml").build(),
+            Bookmark.builder().name("Jenkins").url("https://jenkins.io").domain("jenkins.io")
+                    .category("DevOps/CI").sourcePath("dev:a.yml").build(),
+            Bookmark.builder().name("Docs").url("https://docs.example.com").domain("docs.example.com")
+                    .category("Docs").sourcePath("docs:b.yml").build()
+    ));
+
+    @Test
+    void write_shouldWriteOneObjectPerLine() throws Exception {
+        // Arrange
+        BookmarkNdjsonWriter writer = new BookmarkNdjsonWriter(objectMapper, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        writer.write(store.rows(), out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        for (int row = 0; row < lines.length; row++) {
+            assertEquals(objectMapper.valueToTree(store.toBookmark(row)), objectMapper.readTree(lines[row]));
+        }
+    }
+
+    @Test
+    void write_shouldHonorProjection() throws Exception {
+        // Arrange
+        BookmarkRows rows = store.rows().slice(1, 2).project(BookmarkField.parse("name,url"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        new BookmarkNdjsonWriter(objectMapper).write(rows, out);
+
+        // Assert
+        assertEquals("{\"name\":\"Jenkins\",\"url\":\"https://jenkins.io\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
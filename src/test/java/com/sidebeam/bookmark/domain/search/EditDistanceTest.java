@@ -0,0 +1,32 @@
+package com.sidebeam.bookmark.domain.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EditDistance 클래스의 테스트입니다.
+ * 삽입, 삭제, 치환, 인접 문자 교환을 한 번의 편집으로 계산하고 최대 거리를 넘으면 계산을 중단하는지 확인합니다.
+ */
+class EditDistanceTest {
+
+    @Test
+    void boundedDamerau_shouldCountEachEditOnce() {
+        // Act & Assert
+        assertEquals(0, EditDistance.boundedDamerau("gitlab", "gitlab", 2));
+        assertEquals(1, EditDistance.boundedDamerau("gitlab", "gitlba", 2));
+        assertEquals(1, EditDistance.boundedDamerau("gitlab", "gitla", 2));
+        assertEquals(1, EditDistance.boundedDamerau("gitlab", "gitlabs", 2));
+        assertEquals(1, EditDistance.boundedDamerau("gitlab", "gitlob", 2));
+        assertEquals(2, EditDistance.boundedDamerau("kubernetes", "kubrenetse", 2));
+    }
+
+    @Test
+    void boundedDamerau_shouldStopAboveMax() {
+        // Act & Assert
+        assertEquals(2, EditDistance.boundedDamerau("jenkins", "jira", 1));
+        assertEquals(2, EditDistance.boundedDamerau("grafana", "grafanaxyz", 1));
+        assertEquals(3, EditDistance.boundedDamerau("abcdef", "badcfe", 2));
+        assertEquals(3, EditDistance.boundedDamerau("", "abc", 3));
+    }
+}
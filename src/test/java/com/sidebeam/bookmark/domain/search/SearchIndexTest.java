@@ -0,0 +1,120 @@
+package com.sidebeam.bookmark.domain.search;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchIndex 클래스의 테스트입니다.
+ * 필드 가중치에 따른 순위, 모든 단어 일치 조건, 마지막 단어의 접두어 일치를 확인합니다.
+ */
+class SearchIndexTest {
+
+    private final BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+            Bookmark.builder().name("GitLab").url("https://gitlab.example.com").domain("gitlab.example.com")
+                    .category("DevOps/SCM").meta(Map.of("owner", "devops-team")).build(),
+            Bookmark.builder().name("Runner Dashboard").url("https://runners.example.com").domain("runners.example.com")
+                    .category("DevOps/GitLab").meta(Map.of("owner", "platform")).build(),
+            Bookmark.builder().name("Jenkins").url("https://jenkins.example.com").domain("jenkins.example.com")
+                    .category("DevOps/CI").meta(Map.of("owner", "devops-team")).build(),
+            Bookmark.builder().name("Wiki").url("https://wiki.example.com").domain("wiki.example.com")
+                    .category("Docs").build()
+    ));
+
+    private final SearchIndex index = SearchIndex.build(store, List.of("owner"), 64);
+
+    @Test
+    void search_shouldRankNameMatchesFirst() {
+        // Act
+        int[] rows = index.search("gitlab", 10);
+
+        // Assert
+        assertArrayEquals(new int[]{0, 1}, rows);
+    }
+
+    @Test
+    void search_shouldRequireAllTermsAndMatchLastTermAsPrefix() {
+        // Act & Assert
+        assertArrayEquals(new int[]{1}, index.search("gitlab run", 10));
+        assertArrayEquals(new int[]{0, 2}, index.search("DevOps-Te", 10));
+        assertArrayEquals(new int[0], index.search("wiki jenkins", 10));
+        assertArrayEquals(new int[0], index.search("  ", 10));
+    }
+
+    @Test
+    void search_shouldCapPrefixTermsByDocumentFrequencyOnEveryPath() {
+        // Arrange
+        BookmarkColumnStore tools = BookmarkColumnStore.from(List.of(
+                Bookmark.builder().name("Alpha Tools").url("https://a.example.com").category("Misc").build(),
+                Bookmark.builder().name("Alpine Tools").url("https://b.example.com").category("Misc").build(),
+                Bookmark.builder().name("Alpine Docs").url("https://c.example.com").category("Misc").build(),
+                Bookmark.builder().name("Alps Tools").url("https://d.example.com").category("Misc").build(),
+                Bookmark.builder().name("Alps Docs").url("https://e.example.com").category("Misc").build(),
+                Bookmark.builder().name("Alps Wiki").url("https://f.example.com").category("Misc").build()
+        ));
+        SearchIndex capped = SearchIndex.build(tools, List.of(), 2);
+
+        // Act
+        int[] single = capped.search("alp", 10);
+        int[] multi = capped.search("tools alp", 10);
+        int[] fuzzy = capped.search("tools alp", 10, true);
+
+        // Assert: "alpha" is in one row only, so "alpine" and "alps" are kept
+        Arrays.sort(single);
+        Arrays.sort(multi);
+        Arrays.sort(fuzzy);
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, single);
+        assertArrayEquals(new int[]{1, 3}, multi);
+        assertArrayEquals(new int[]{1, 3}, fuzzy);
+        assertArrayEquals(new int[]{0}, capped.search("alpha", 10));
+    }
+
+    @Test
+    void search_shouldHonorLimit() {
+        // Act
+        int[] rows = index.search("example", 2);
+
+        // Assert
+        assertEquals(2, rows.length);
+        assertEquals(4, index.search("example", 10).length);
+    }
+
+    @Test
+    void fuzzySearch_shouldMatchMisspelledTerms() {
+        // Act & Assert
+        assertArrayEquals(new int[0], index.search("jenkisn", 10));
+        assertArrayEquals(new int[]{2}, index.search("jenkisn", 10, true));
+        assertArrayEquals(new int[]{2}, index.search("jnkins", 10, true));
+        assertArrayEquals(new int[]{1}, index.search("gitlba runer", 10, true));
+        assertArrayEquals(new int[]{3}, index.search("wkki", 10, true));
+    }
+
+    @Test
+    void fuzzySearch_shouldRankExactMatchesBeforeTypos() {
+        // Arrange
+        BookmarkColumnStore tools = BookmarkColumnStore.from(List.of(
+                Bookmark.builder().name("Grafana").url("https://grafana.example.com").category("Monitoring").build(),
+                Bookmark.builder().name("Graphana Mirror").url("https://mirror.example.com").category("Monitoring").build()
+        ));
+        SearchIndex toolIndex = SearchIndex.build(tools, List.of(), 64);
+
+        // Act
+        int[] rows = toolIndex.search("graphana", 10, true);
+
+        // Assert
+        assertArrayEquals(new int[]{1, 0}, rows);
+    }
+
+    @Test
+    void build_shouldRejectNonPositivePrefixExpansion() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SearchIndex.build(store, List.of("owner"), 0));
+        assertThrows(IllegalArgumentException.class, () -> SearchIndex.build(store, List.of("owner"), -1));
+    }
+}
@@ -0,0 +1,55 @@
+package com.sidebeam.bookmark.domain.search;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SuggestionTrie 클래스의 테스트입니다.
+ * 접두어 조회 결과가 사용 빈도 순으로 정렬되는지, 이름 중간 단어와 압축된 간선 중간에서도 일치하는지 확인합니다.
+ */
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = SuggestionTrie.build(BookmarkColumnStore.from(List.of(
+            Bookmark.builder().name("GitLab").url("https://a").domain("gitlab.com").category("DevOps/Git").build(),
+            Bookmark.builder().name("GitLab Runner").url("https://b").domain("gitlab.com").category("DevOps/CI").build(),
+            Bookmark.builder().name("Grafana").url("https://c").domain("grafana.net").category("Monitoring").build()
+    )), 3);
+
+    @Test
+    void suggest_shouldRankByCountWithinTopK() {
+        // Act
+        List<String> texts = texts(trie.suggest("G", 10));
+
+        // Assert
+        assertEquals(List.of("gitlab.com", "Git", "GitLab"), texts);
+    }
+
+    @Test
+    void suggest_shouldMatchLaterWordsAndPartialEdges() {
+        // Act & Assert
+        assertEquals(List.of("GitLab Runner"), texts(trie.suggest("run", 10)));
+        assertEquals(List.of("Grafana", "grafana.net"), texts(trie.suggest(" GRAF ", 10)));
+        assertEquals(List.of("DevOps"), texts(trie.suggest("dev", 1)));
+        assertTrue(trie.suggest("kafka", 10).isEmpty());
+    }
+
+    @Test
+    void build_shouldRejectNonPositiveSuggestionsPerNode() {
+        // Arrange
+        BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+                Bookmark.builder().name("GitLab").url("https://gitlab.com").category("DevOps").build()));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SuggestionTrie.build(store, 0));
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).collect(Collectors.toList());
+    }
+}
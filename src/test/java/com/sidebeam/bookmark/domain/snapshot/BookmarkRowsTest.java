@@ -0,0 +1,65 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BookmarkRows 클래스의 테스트입니다.
+ * 페이지 분할과 필드 선택이 컬럼 저장소를 복사하지 않고 직렬화에 반영되는지 확인합니다.
+ */
+class BookmarkRowsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+            Bookmark.builder().name("GitLab").url("https://gitlab.com").domain("gitlab.com")
+                    .category("DevOps/GitLab").meta(Map.of("module", "dev")).sourcePath("dev:a.yml").build(),
+            Bookmark.builder().name("Jenkins").url("https://jenkins.io").domain("jenkins.io")
+                    .category("DevOps/CI").sourcePath("dev:a.yml").build(),
+            Bookmark.builder().name("Docs").url("https://docs.example.com").domain("docs.example.com")
+                    .category("Docs").sourcePath("docs:b.yml").build()
+    ));
+
+    @Test
+    void project_shouldWriteOnlySelectedFields() throws Exception {
+        // Arrange
+        BookmarkRows rows = store.rows().slice(1, 3).project(BookmarkField.parse("name, url"));
+
+        // Act
+        String json = objectMapper.writeValueAsString(rows);
+
+        // Assert
+        assertEquals("[{\"name\":\"Jenkins\",\"url\":\"https://jenkins.io\"},"
+                + "{\"name\":\"Docs\",\"url\":\"https://docs.example.com\"}]", json);
+        assertArrayEquals(new int[]{1, 2}, rows.toArray());
+    }
+
+    @Test
+    void parse_shouldRejectUnknownFields() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> BookmarkField.parse("name,owner"));
+        assertEquals(BookmarkField.all(), BookmarkField.parse(null));
+    }
+
+    @Test
+    void pageCursor_shouldRoundTrip() {
+        // Arrange
+        PageCursor cursor = new PageCursor("0123456789abcdef", "5f3a9c0e7b21d486", 200);
+
+        // Act
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals("0123456789abcdef", decoded.getVersion());
+        assertEquals("5f3a9c0e7b21d486", decoded.getQuery());
+        assertEquals(200, decoded.getOffset());
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(new PageCursor("0123456789abcdef", "", 200).encode()));
+    }
+}
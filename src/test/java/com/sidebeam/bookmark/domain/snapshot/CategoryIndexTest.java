@@ -0,0 +1,55 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.tree.CategoryTreeBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CategoryIndex 클래스의 테스트입니다.
+ * 카테고리 단독 조회와 하위 트리 조회가 올바른 행을 스냅샷 순서대로 반환하는지 확인합니다.
+ */
+class CategoryIndexTest {
+
+    private static final List<String> CATEGORIES = List.of(
+            "DevOps/GitLab", "Docs", "DevOps/CI", "DevOps", "DevOps/CI/Runners", "DevOps/GitLab", "Docs/"
+    );
+
+    private final BookmarkColumnStore store = BookmarkColumnStore.from(bookmarks());
+    private final CategoryIndex index = CategoryIndex.build(store, CategoryTreeBuilder.buildTree(CATEGORIES));
+
+    @Test
+    void rows_shouldReturnExactCategoryInSnapshotOrder() {
+        // Act
+        BookmarkRows rows = index.rows("DevOps/GitLab", false);
+
+        // Assert
+        assertArrayEquals(new int[]{0, 5}, rows.toArray());
+        assertArrayEquals(new int[]{1, 6}, index.rows("Docs", false).toArray());
+        assertEquals(0, index.count("Unknown", true));
+    }
+
+    @Test
+    void rows_shouldReturnWholeSubtree() {
+        // Act
+        BookmarkRows rows = index.rows("DevOps", true);
+
+        // Assert
+        assertArrayEquals(new int[]{3, 0, 5, 2, 4}, rows.toArray());
+        assertEquals(2, index.count("DevOps/CI", true));
+        assertEquals(CATEGORIES.size(), index.count("", true));
+    }
+
+    private static List<Bookmark> bookmarks() {
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES.size(); i++) {
+            bookmarks.add(Bookmark.builder().name("Bookmark " + i).url("https://example.com/" + i)
+                    .category(CATEGORIES.get(i)).build());
+        }
+        return bookmarks;
+    }
+}
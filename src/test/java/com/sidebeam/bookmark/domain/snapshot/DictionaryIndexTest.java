@@ -0,0 +1,47 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DictionaryIndex 클래스의 테스트입니다.
+ * 모듈, 도메인, 소스 경로 값마다 해당 행을 스냅샷 순서대로 반환하는지 확인합니다.
+ */
+class DictionaryIndexTest {
+
+    private final BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+            Bookmark.builder().name("GitLab").url("https://gitlab.com").domain("gitlab.com")
+                    .category("DevOps").meta(Map.of("module", "dev")).sourcePath("dev:a.yml").build(),
+            Bookmark.builder().name("Docs").url("https://docs.example.com").domain("docs.example.com")
+                    .category("Docs").meta(Map.of("module", "docs")).sourcePath("docs:b.yml").build(),
+            Bookmark.builder().name("GitLab Issues").url("https://gitlab.com/issues").domain("gitlab.com")
+                    .category("DevOps").meta(Map.of("module", "dev")).sourcePath("dev:a.yml").build(),
+            Bookmark.builder().name("Orphan").url("https://orphan.example.com").domain("orphan.example.com")
+                    .category("Misc").build()
+    ));
+
+    @Test
+    void rows_shouldReturnRowsOfEachValueInSnapshotOrder() {
+        // Act & Assert
+        assertArrayEquals(new int[]{0, 2}, DictionaryIndex.modules(store).rows("dev").toArray());
+        assertArrayEquals(new int[]{1}, DictionaryIndex.modules(store).rows("docs").toArray());
+        assertArrayEquals(new int[]{0, 2}, DictionaryIndex.domains(store).rows("gitlab.com").toArray());
+        assertArrayEquals(new int[]{1}, DictionaryIndex.sources(store).rows("docs:b.yml").toArray());
+    }
+
+    @Test
+    void rows_shouldBeEmptyForUnknownValues() {
+        // Arrange
+        DictionaryIndex modules = DictionaryIndex.modules(store);
+
+        // Act & Assert
+        assertEquals(0, modules.rows("ops").size());
+        assertEquals(0, modules.count(null));
+        assertEquals(2, modules.count("dev"));
+    }
+}
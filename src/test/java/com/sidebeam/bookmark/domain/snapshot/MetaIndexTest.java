@@ -0,0 +1,58 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MetaIndex 클래스의 테스트입니다.
+ * 메타데이터 조건을 키 사이에는 AND, 같은 키의 값 사이에는 OR로 결합하는지 확인합니다.
+ */
+class MetaIndexTest {
+
+    private final BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+            Bookmark.builder().name("Grafana").url("https://grafana.example.com").category("Ops")
+                    .meta(Map.of("owner", "platform", "env", "prod", "tags", List.of("metrics", "dashboards"))).build(),
+            Bookmark.builder().name("Grafana Staging").url("https://grafana.stg.example.com").category("Ops")
+                    .meta(Map.of("owner", "platform", "env", "staging")).build(),
+            Bookmark.builder().name("Wiki").url("https://wiki.example.com").category("Docs")
+                    .meta(Map.of("owner", "docs", "env", "prod", "tags", List.of("dashboards"))).build(),
+            Bookmark.builder().name("Orphan").url("https://orphan.example.com").category("Misc").build()
+    ));
+
+    private final MetaIndex index = MetaIndex.build(store, List.of("owner", "env", "tags"));
+
+    @Test
+    void rows_shouldIntersectKeys() {
+        // Arrange
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        filters.put("owner", List.of("platform"));
+        filters.put("env", List.of("prod"));
+
+        // Act
+        BookmarkRows rows = index.rows(filters, null);
+
+        // Assert
+        assertArrayEquals(new int[]{0}, rows.toArray());
+    }
+
+    @Test
+    void rows_shouldUnionValuesOfOneKeyAndIndexListElements() {
+        // Act & Assert
+        assertArrayEquals(new int[]{0, 1}, index.rows(Map.of("env", List.of("prod", "staging")), store.rows(new int[]{1, 0})).toArray());
+        assertArrayEquals(new int[]{0, 2}, index.rows(Map.of("tags", List.of("dashboards")), null).toArray());
+        assertEquals(0, index.rows(Map.of("owner", List.of("nobody")), null).size());
+        assertEquals(2, index.count("owner", "platform"));
+    }
+
+    @Test
+    void rows_shouldRejectKeysWithoutIndex() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> index.rows(Map.of("team", List.of("a")), null));
+    }
+}
@@ -0,0 +1,53 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.PackageNode;
+import com.sidebeam.bookmark.domain.model.PackageTreeNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PackageIndex 클래스의 테스트입니다.
+ * 북마크별 패키지 트리를 합친 트리의 개수와 패키지 경로별 조회 결과를 확인합니다.
+ */
+class PackageIndexTest {
+
+    private final BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+            Bookmark.builder().name("GitLab Docs").url("https://docs.gitlab.com").category("Docs")
+                    .packages(PackageNode.buildTree(List.of("/dev/doc/gitlab", "/dev/ci")).getChildren()).build(),
+            Bookmark.builder().name("Wiki").url("https://wiki.example.com").category("Docs")
+                    .packages(PackageNode.buildTree(List.of("/dev/doc")).getChildren()).build(),
+            Bookmark.builder().name("Orphan").url("https://orphan.example.com").category("Misc").build(),
+            Bookmark.builder().name("Grafana").url("https://grafana.example.com").category("Ops")
+                    .packages(PackageNode.buildTree(List.of("/ops")).getChildren()).build()
+    ));
+
+    private final PackageIndex index = PackageIndex.build(store);
+
+    @Test
+    void getTree_shouldMergePackagesWithCounts() {
+        // Act
+        PackageTreeNode root = index.getTree();
+
+        // Assert
+        assertEquals(3, root.getCount());
+        assertEquals(List.of("dev", "ops"), root.getChildren().stream().map(PackageTreeNode::getKey).toList());
+        PackageTreeNode dev = root.getChildren().get(0);
+        assertEquals(2, dev.getCount());
+        assertEquals(List.of("doc", "ci"), dev.getChildren().stream().map(PackageTreeNode::getKey).toList());
+        assertEquals("dev/doc/gitlab", dev.getChildren().get(0).getChildren().get(0).getPath());
+    }
+
+    @Test
+    void rows_shouldIncludeBookmarksOfDescendantPackages() {
+        // Act & Assert
+        assertArrayEquals(new int[]{0, 1}, index.rows("dev/doc").toArray());
+        assertArrayEquals(new int[]{0}, index.rows("/dev/doc/gitlab/").toArray());
+        assertArrayEquals(new int[]{3}, index.rows("ops").toArray());
+        assertEquals(0, index.rows("dev/unknown").size());
+        assertEquals(1, index.count("dev/ci"));
+    }
+}
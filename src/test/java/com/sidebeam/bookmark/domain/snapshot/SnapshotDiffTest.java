@@ -0,0 +1,131 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.PackageNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SnapshotDiff 클래스의 테스트입니다.
+ * URL 기준으로 추가, 변경, 삭제를 구분하는지와 연속된 변경 사항을 하나로 합성하는지 확인합니다.
+ */
+class SnapshotDiffTest {
+
+    private static Bookmark bookmark(String name, String url) {
+        return builder(name, url).build();
+    }
+
+    private static Bookmark.BookmarkBuilder builder(String name, String url) {
+        return Bookmark.builder().name(name).url(url).domain("example.com").category("Tools");
+    }
+
+    private static BookmarkSnapshot snapshot(String version, Bookmark... bookmarks) {
+        return BookmarkSnapshot.builder().version(version).columnStore(BookmarkColumnStore.from(List.of(bookmarks))).build();
+    }
+
+    @Test
+    void between_shouldClassifyBookmarksByUrl() {
+        // Arrange
+        BookmarkSnapshot v1 = snapshot("v1", bookmark("GitLab", "https://a"), bookmark("Jira", "https://b"),
+                bookmark("Wiki", "https://c"));
+        BookmarkSnapshot v2 = snapshot("v2", bookmark("GitLab", "https://a"), bookmark("Jira Cloud", "https://b"),
+                bookmark("Grafana", "https://d"));
+
+        // Act
+        SnapshotDiff diff = SnapshotDiff.between(v1, v2);
+
+        // Assert
+        assertEquals("v1", diff.getFromVersion());
+        assertEquals("v2", diff.getToVersion());
+        assertEquals(Set.of("https://d"), diff.getAdded().keySet());
+        assertEquals("Jira Cloud", diff.getChanged().get("https://b").getName());
+        assertEquals(Set.of("https://c"), diff.getRemoved());
+        assertEquals(3, diff.size());
+    }
+
+    @Test
+    void between_shouldCompareMetadataAndPackagesOfRows() {
+        // Arrange
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("owner", "platform");
+        meta.put("module", "ops");
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("module", "ops");
+        reordered.put("owner", "platform");
+        Map<String, Object> otherOwner = new LinkedHashMap<>(meta);
+        otherOwner.put("owner", "sre");
+        BookmarkSnapshot v1 = snapshot("v1",
+                builder("GitLab", "https://a").meta(meta).build(),
+                builder("Jira", "https://b").meta(meta).build(),
+                builder("Wiki", "https://c").packages(PackageNode.buildTree(List.of("/dev/doc")).getChildren()).build());
+        BookmarkSnapshot v2 = snapshot("v2",
+                builder("GitLab", "https://a").meta(reordered).build(),
+                builder("Jira", "https://b").meta(otherOwner).build(),
+                builder("Wiki", "https://c").packages(PackageNode.buildTree(List.of("/dev/ci")).getChildren()).build());
+
+        // Act
+        SnapshotDiff diff = SnapshotDiff.between(v1, v2);
+
+        // Assert
+        assertEquals(Set.of("https://b", "https://c"), diff.getChanged().keySet());
+        assertEquals("sre", diff.getChanged().get("https://b").getMeta().get("owner"));
+        assertEquals("ops", diff.getChanged().get("https://b").getMeta().get("module"));
+        assertTrue(diff.getAdded().isEmpty());
+        assertTrue(diff.getRemoved().isEmpty());
+    }
+
+    @Test
+    void compose_shouldCollapseConsecutiveDiffs() {
+        // Arrange
+        BookmarkSnapshot v1 = snapshot("v1", bookmark("GitLab", "https://a"), bookmark("Wiki", "https://c"));
+        BookmarkSnapshot v2 = snapshot("v2", bookmark("Grafana", "https://d"), bookmark("Temp", "https://e"));
+        BookmarkSnapshot v3 = snapshot("v3", bookmark("GitLab CE", "https://a"), bookmark("Grafana OSS", "https://d"));
+
+        // Act
+        SnapshotDiff diff = SnapshotDiff.compose(List.of(SnapshotDiff.between(v1, v2), SnapshotDiff.between(v2, v3)));
+
+        // Assert
+        assertEquals("v1", diff.getFromVersion());
+        assertEquals("v3", diff.getToVersion());
+        assertEquals("Grafana OSS", diff.getAdded().get("https://d").getName());
+        assertEquals(Set.of("https://d"), diff.getAdded().keySet());
+        assertEquals("GitLab CE", diff.getChanged().get("https://a").getName());
+        assertEquals(Set.of("https://c"), diff.getRemoved());
+    }
+
+    @Test
+    void compose_shouldDropBookmarksRestoredToTheirOriginalContent() {
+        // Arrange
+        BookmarkSnapshot v1 = snapshot("v1", bookmark("GitLab", "https://a"), bookmark("Wiki", "https://c"));
+        BookmarkSnapshot v2 = snapshot("v2", bookmark("GitLab CE", "https://a"));
+        BookmarkSnapshot v3 = snapshot("v3", bookmark("GitLab", "https://a"), bookmark("Wiki", "https://c"));
+        BookmarkSnapshot v4 = snapshot("v4", bookmark("GitLab", "https://a"), bookmark("Wiki Docs", "https://c"));
+
+        // Act
+        SnapshotDiff restored = SnapshotDiff.compose(List.of(SnapshotDiff.between(v1, v2), SnapshotDiff.between(v2, v3)));
+        SnapshotDiff readded = SnapshotDiff.compose(List.of(SnapshotDiff.between(v1, v2), SnapshotDiff.between(v2, v4)));
+
+        // Assert
+        assertTrue(restored.isEmpty(), restored.toString());
+        assertEquals(Set.of("https://c"), readded.getChanged().keySet());
+        assertEquals("Wiki Docs", readded.getChanged().get("https://c").getName());
+        assertTrue(readded.getAdded().isEmpty());
+        assertTrue(readded.getRemoved().isEmpty());
+    }
+
+    @Test
+    void compose_shouldRejectGaps() {
+        // Arrange
+        SnapshotDiff first = SnapshotDiff.empty("v1");
+        SnapshotDiff second = SnapshotDiff.empty("v2");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SnapshotDiff.compose(List.of(first, second)));
+    }
+}
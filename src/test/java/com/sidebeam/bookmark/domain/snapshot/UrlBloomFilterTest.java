@@ -0,0 +1,78 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UrlBloomFilter 클래스의 테스트입니다.
+ * 등록된 URL은 항상 포함으로 판정되고, 오탐률이 설정값 근처이며, 직렬화 형식이 문서와 일치하는지 확인합니다.
+ */
+class UrlBloomFilterTest {
+
+    private static UrlIndex urlIndex(int size) {
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            bookmarks.add(Bookmark.builder().name("Bookmark " + i).url("https://example.com/pages/" + i).category("Test").build());
+        }
+        return UrlIndex.build(BookmarkColumnStore.from(bookmarks));
+    }
+
+    @Test
+    void murmur3_shouldMatchReferenceValues() {
+        // Act & Assert
+        assertEquals(0, UrlBloomFilter.murmur3(new byte[0], 0));
+        assertEquals(0x514e28b7, UrlBloomFilter.murmur3(new byte[0], 1));
+        assertEquals(0x248bfa47, UrlBloomFilter.murmur3("hello".getBytes(StandardCharsets.UTF_8), 0));
+        assertEquals(0x5d211726, UrlBloomFilter.murmur3("aa".getBytes(StandardCharsets.UTF_8), 0x9747b28c));
+        assertEquals(0xb3dd93fa, UrlBloomFilter.murmur3("abc".getBytes(StandardCharsets.UTF_8), 0));
+    }
+
+    @Test
+    void mightContain_shouldAcceptAllUrlsAndFewOthers() {
+        // Arrange
+        UrlBloomFilter filter = UrlBloomFilter.build(urlIndex(10_000), 0.01);
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("HTTPS://example.com/pages/" + i + "/"));
+            if (filter.mightContain("https://example.com/other/" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertEquals(7, filter.getHashes());
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void toBytes_shouldWriteDocumentedHeaderAndRoundTrip() {
+        // Arrange
+        UrlBloomFilter filter = UrlBloomFilter.build(urlIndex(100), 0.01);
+        String version = "0123456789abcdef0123456789abcdef";
+
+        // Act
+        byte[] bytes = filter.toBytes(version);
+        UrlBloomFilter read = UrlBloomFilter.fromBytes(bytes);
+
+        // Assert
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+        assertEquals("SBBF", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(1, bytes[4]);
+        assertEquals(filter.getHashes(), bytes[5]);
+        assertEquals(filter.getBits(), header.getInt(8));
+        assertEquals(100, header.getInt(12));
+        assertEquals((byte) 0x01, bytes[16]);
+        assertEquals(UrlBloomFilter.HEADER_BYTES + filter.getBits() / 8, bytes.length);
+        assertTrue(read.mightContain("https://example.com/pages/42"));
+        assertThrows(IllegalArgumentException.class, () -> UrlBloomFilter.fromBytes(new byte[8]));
+    }
+}
@@ -0,0 +1,51 @@
+package com.sidebeam.bookmark.domain.snapshot;
+
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UrlCanonicalizer와 UrlIndex 클래스의 테스트입니다.
+ * 표기만 다른 URL이 같은 북마크로 조회되는지 확인합니다.
+ */
+class UrlIndexTest {
+
+    @Test
+    void canonicalize_shouldFoldSchemeHostPortSlashAndFragment() {
+        // Act & Assert
+        assertEquals("https://gitlab.com/group/Project", UrlCanonicalizer.canonicalize(" HTTPS://GitLab.COM:443/group/Project/#readme "));
+        assertEquals("http://example.com", UrlCanonicalizer.canonicalize("http://example.com:80/"));
+        assertEquals("http://example.com:8080/a?x=1", UrlCanonicalizer.canonicalize("http://Example.com:8080/a/?x=1"));
+        assertEquals("https://user@host.example.com/a", UrlCanonicalizer.canonicalize("https://user@Host.example.com/a"));
+        assertEquals("https://[::1]", UrlCanonicalizer.canonicalize("https://[::1]:443/"));
+    }
+
+    @Test
+    void canonicalize_shouldReturnCanonicalUrlsAsIs() {
+        // Arrange
+        String url = "https://gitlab.com/group/project?tab=issues";
+
+        // Act & Assert
+        assertSame(url, UrlCanonicalizer.canonicalize(url));
+    }
+
+    @Test
+    void find_shouldMatchAnySpellingOfABookmarkUrl() {
+        // Arrange
+        BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+                Bookmark.builder().name("GitLab").url("https://gitlab.com/").category("DevOps").build(),
+                Bookmark.builder().name("Docs").url("https://docs.example.com/guide").category("Docs").build()
+        ));
+        UrlIndex index = UrlIndex.build(store);
+
+        // Act & Assert
+        assertEquals(0, index.find("HTTPS://GITLAB.COM"));
+        assertEquals(1, index.find("https://docs.example.com:443/guide/#intro"));
+        assertEquals(-1, index.find("https://docs.example.com/Guide"));
+        assertEquals(-1, index.find(null));
+        assertEquals(0, index.getCollisions());
+    }
+}
@@ -0,0 +1,70 @@
+package com.sidebeam.bookmark.domain.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CountMinSketch와 TrendingTracker 클래스의 테스트입니다.
+ * 추정치가 실제 클릭 수보다 작아지지 않는지, 카테고리별 순위가 윈도 회전에 따라 오래된 클릭을 잊는지 확인합니다.
+ */
+class TrendingTrackerTest {
+
+    @Test
+    void countMinSketch_shouldNeverUndercount() {
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("https://example.com/" + i, i % 7 + 1);
+        }
+
+        // Assert
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(sketch.estimate("https://example.com/" + i) >= i % 7 + 1);
+        }
+        assertEquals(0, new CountMinSketch(64, 4).estimate("https://example.com/0"));
+    }
+
+    @Test
+    void ranking_shouldRankHeavyHittersPerCategoryAndAncestor() {
+        // Arrange
+        TrendingTracker tracker = new TrendingTracker(3, 256, 4, 2);
+        tracker.add("https://grafana.example.com", "Ops/Monitoring", 5);
+        tracker.add("https://prometheus.example.com", "Ops/Monitoring", 3);
+        tracker.add("https://alerts.example.com", "Ops/Monitoring", 1);
+        tracker.add("https://gitlab.com", "DevOps", 4);
+
+        // Act
+        Map<String, String[]> ranking = tracker.ranking();
+
+        // Assert
+        assertArrayEquals(new String[]{"https://grafana.example.com", "https://prometheus.example.com"},
+                ranking.get("Ops/Monitoring"));
+        assertArrayEquals(ranking.get("Ops/Monitoring"), ranking.get("Ops"));
+        assertArrayEquals(new String[]{"https://gitlab.com"}, ranking.get("DevOps"));
+        assertArrayEquals(new String[]{"https://grafana.example.com", "https://gitlab.com"}, ranking.get(""));
+    }
+
+    @Test
+    void rotate_shouldForgetClicksOlderThanKeptWindows() {
+        // Arrange
+        TrendingTracker tracker = new TrendingTracker(2, 256, 4, 5);
+        tracker.add("https://old.example.com", "Docs", 10);
+        tracker.rotate();
+        tracker.add("https://new.example.com", "Docs", 3);
+
+        // Act
+        String[] withinWindows = tracker.ranking().get("Docs");
+        tracker.rotate();
+        String[] afterRotation = tracker.ranking().get("Docs");
+
+        // Assert
+        assertArrayEquals(new String[]{"https://old.example.com", "https://new.example.com"}, withinWindows);
+        assertArrayEquals(new String[]{"https://new.example.com"}, afterRotation);
+        assertEquals(3, tracker.estimate("https://new.example.com"));
+    }
+}
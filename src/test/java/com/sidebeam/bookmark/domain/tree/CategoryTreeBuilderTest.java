@@ -0,0 +1,68 @@
+package com.sidebeam.bookmark.domain.tree;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CategoryTreeBuilder 클래스의 테스트입니다.
+ * 기존 CategoryNode.buildTree와 동일한 직렬화 결과를 만드는지, 그리고
+ * 하위 트리 합계와 경로 ID가 올바르게 계산되는지 확인합니다.
+ */
+class CategoryTreeBuilderTest {
+
+    private static final List<String> CATEGORIES = List.of(
+            "DevOps/GitLab",
+            "Search/Engine",
+            "DevOps/CI/Runners",
+            "DevOps/GitLab",
+            "Docs",
+            "DevOps/CI"
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void buildTree_shouldSerializeLikeLinearBuilder() throws Exception {
+        // Act
+        IndexedCategoryTree tree = CategoryTreeBuilder.buildTree(CATEGORIES);
+
+        // Assert
+        assertEquals(objectMapper.writeValueAsString(CategoryNode.buildTree(CATEGORIES)),
+                objectMapper.writeValueAsString(tree.getRoot()));
+    }
+
+    @Test
+    void buildTree_shouldPrecomputeSubtreeTotals() {
+        // Act
+        IndexedCategoryTree tree = CategoryTreeBuilder.buildTree(CATEGORIES);
+
+        // Assert
+        assertEquals(6, tree.getRoot().getTotalCount());
+        assertEquals(4, tree.findByPath("DevOps").getTotalCount());
+        assertEquals(0, tree.findByPath("DevOps").getCount());
+        assertEquals(2, tree.findByPath("DevOps/CI").getTotalCount());
+        assertEquals(1, tree.findByPath("DevOps/CI").getCount());
+        assertEquals(2, tree.findByPath("DevOps/GitLab").getCount());
+        assertNull(tree.findByPath("DevOps/Unknown"));
+    }
+
+    @Test
+    void buildTree_shouldAssignStablePathIds() {
+        // Act
+        IndexedCategoryTree first = CategoryTreeBuilder.buildTree(CATEGORIES);
+        IndexedCategoryTree second = CategoryTreeBuilder.buildTree(List.of("Docs", "DevOps/CI/Runners"));
+
+        // Assert
+        CategoryNode runners = first.findByPath("DevOps/CI/Runners");
+        assertEquals("DevOps/CI/Runners", runners.getPath());
+        assertEquals(runners.getPathId(), second.findByPath("DevOps/CI/Runners").getPathId());
+        assertEquals(CategoryPaths.pathId("DevOps/CI/Runners"), runners.getPathId());
+        assertSame(runners, first.findByPathId(runners.getPathId()));
+        assertNotEquals(runners.getPathId(), first.findByPath("DevOps/CI").getPathId());
+    }
+}
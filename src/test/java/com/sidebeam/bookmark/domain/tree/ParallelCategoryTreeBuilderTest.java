@@ -0,0 +1,67 @@
+package com.sidebeam.bookmark.domain.tree;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ParallelCategoryTreeBuilder 클래스의 테스트입니다.
+ * 청크 단위로 병렬 생성한 트리가 순차 생성한 트리와 자식 순서까지 동일한지 확인합니다.
+ */
+class ParallelCategoryTreeBuilderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void build_shouldMatchSequentialBuild() throws Exception {
+        // Arrange
+        List<String> categories = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            categories.add("Group" + (i % 7) + "/Team" + (i % 13) + (i % 3 == 0 ? "/Service" + (i % 5) : ""));
+        }
+        ParallelCategoryTreeBuilder builder = new ParallelCategoryTreeBuilder(ForkJoinPool.commonPool(), 8);
+
+        // Act
+        IndexedCategoryTree parallel = builder.build(categories);
+        IndexedCategoryTree sequential = CategoryTreeBuilder.buildTree(categories);
+
+        // Assert
+        assertEquals(objectMapper.writeValueAsString(sequential.getRoot()),
+                objectMapper.writeValueAsString(parallel.getRoot()));
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(500, parallel.getRoot().getTotalCount());
+        assertEquals(sequential.findByPath("Group3/Team4").getTotalCount(),
+                parallel.findByPath("Group3/Team4").getTotalCount());
+    }
+
+    @Test
+    void build_withCounts_shouldMatchBuildOfRepeatedPaths() throws Exception {
+        // Arrange
+        List<String> distinct = new ArrayList<>();
+        int[] counts = new int[40];
+        List<String> repeated = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            distinct.add("Group" + (i % 3) + "/Team" + i);
+            counts[i] = i % 4 + 1;
+            for (int j = 0; j < counts[i]; j++) {
+                repeated.add(distinct.get(i));
+            }
+        }
+        ParallelCategoryTreeBuilder builder = new ParallelCategoryTreeBuilder(ForkJoinPool.commonPool(), 8);
+
+        // Act
+        IndexedCategoryTree weighted = builder.build(distinct, counts);
+        IndexedCategoryTree sequential = CategoryTreeBuilder.buildTree(repeated);
+
+        // Assert
+        assertEquals(objectMapper.writeValueAsString(sequential.getRoot()),
+                objectMapper.writeValueAsString(weighted.getRoot()));
+        assertEquals(repeated.size(), weighted.getRoot().getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> builder.build(distinct, new int[1]));
+    }
+}
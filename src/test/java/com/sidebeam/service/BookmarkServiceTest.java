@@ -2,6 +2,7 @@ package com.sidebeam.service;
 
 import com.sidebeam.bookmark.domain.model.Bookmark;
 import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.model.PackageNode;
 import com.sidebeam.bookmark.service.BookmarkService;
 import com.sidebeam.bookmark.service.GitLabService;
 import com.sidebeam.bookmark.service.SchemaValidationService;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
@@ -30,6 +32,9 @@ class BookmarkServiceTest {
     @Mock
     private SchemaValidationService schemaValidationService;
 
+    @Mock
+    private CacheManager cacheManager;
+
     private BookmarkService bookmarkService;
 
     private final String TEST_YAML = """
@@ -57,7 +62,7 @@ class BookmarkServiceTest {
 
     @BeforeEach
     void setUp() {
-        bookmarkService = new BookmarkServiceImpl(gitLabService, schemaValidationService);
+        bookmarkService = new BookmarkServiceImpl(gitLabService, schemaValidationService, cacheManager);
     }
 
     @Test
@@ -186,6 +191,91 @@ class BookmarkServiceTest {
         // The method doesn't return anything or have observable side effects
     }
 
+    @Test
+    void getAllBookmarks_shouldBuildSharedPackageTreesFromBothFormats() {
+        // Arrange
+        String yamlWithPackages = """
+                # Legacy list of package paths
+                - name: GitLab Docs
+                  url: https://docs.gitlab.com
+                  domain: docs.gitlab.com
+                  category: DevOps/GitLab
+                  packages:
+                    - /dev/doc/gitlab
+                    - /dev/ci
+
+                # Tree format describing the same packages
+                - name: GitLab CI
+                  url: https://docs.gitlab.com/ci
+                  domain: docs.gitlab.com
+                  category: DevOps/GitLab
+                  packages:
+                    - key: dev
+                      children:
+                        - key: doc
+                          children:
+                            - key: gitlab
+                        - key: ci
+                """;
+
+        Map<String, String> yamlFiles = new HashMap<>();
+        yamlFiles.put("ops:test_bookmarks.yml", yamlWithPackages);
+        when(gitLabService.fetchAllYamlFiles()).thenReturn(yamlFiles);
+
+        // Act
+        List<Bookmark> bookmarks = bookmarkService.getAllBookmarks();
+
+        // Assert
+        assertEquals(2, bookmarks.size());
+
+        List<PackageNode> legacyPackages = bookmarks.get(0).getPackages();
+        assertEquals(1, legacyPackages.size());
+        assertEquals("dev", legacyPackages.get(0).getKey());
+        assertEquals(2, legacyPackages.get(0).getChildren().size());
+        assertEquals("doc", legacyPackages.get(0).getChildren().get(0).getKey());
+        assertEquals("ci", legacyPackages.get(0).getChildren().get(1).getKey());
+
+        // Identical package trees are shared between bookmarks
+        assertSame(legacyPackages.get(0), bookmarks.get(1).getPackages().get(0));
+
+        // Shared nodes are immutable, so no bookmark can change another's packages
+        List<PackageNode> sharedChildren = legacyPackages.get(0).getChildren();
+        assertThrows(UnsupportedOperationException.class, () -> sharedChildren.add(new PackageNode("ops", null)));
+    }
+
+    @Test
+    void getAllBookmarks_shouldShareRepeatedFieldValues() {
+        // Arrange
+        String firstFile = """
+                - name: GitLab Docs
+                  url: https://docs.gitlab.com
+                  domain: docs.gitlab.com
+                  category: DevOps/GitLab
+                """;
+        String secondFile = """
+                - name: GitLab CI
+                  url: https://docs.gitlab.com/ci
+                  domain: docs.gitlab.com
+                  category: DevOps/GitLab
+                """;
+
+        Map<String, String> yamlFiles = new HashMap<>();
+        yamlFiles.put("ops:first.yml", firstFile);
+        yamlFiles.put("ops:second.yml", secondFile);
+        when(gitLabService.fetchAllYamlFiles()).thenReturn(yamlFiles);
+
+        // Act
+        List<Bookmark> bookmarks = bookmarkService.getAllBookmarks();
+
+        // Assert
+        assertEquals(2, bookmarks.size());
+        Bookmark first = bookmarks.get(0);
+        Bookmark second = bookmarks.get(1);
+        assertSame(first.getCategory(), second.getCategory());
+        assertSame(first.getDomain(), second.getDomain());
+        assertSame(first.getMeta().get("module"), second.getMeta().get("module"));
+    }
+
     @Test
     void getAllBookmarks_shouldDetectDuplicateUrls() {
         // Arrange
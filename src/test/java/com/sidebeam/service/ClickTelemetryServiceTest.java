@@ -0,0 +1,141 @@
+package com.sidebeam.service;
+
+import com.sidebeam.bookmark.config.TelemetryProperties;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkColumnStore;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkRows;
+import com.sidebeam.bookmark.domain.snapshot.BookmarkSnapshot;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotBodies;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotDiff;
+import com.sidebeam.bookmark.domain.snapshot.UrlIndex;
+import com.sidebeam.bookmark.service.BookmarkSnapshotService;
+import com.sidebeam.bookmark.service.impl.ClickTelemetryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClickTelemetryServiceImpl 클래스의 테스트입니다.
+ * 클릭이 집계 후 인기 순위에 반영되는지, 북마크가 아닌 URL은 무시되는지,
+ * 동시에 들어온 클릭이 빠짐없이 집계되는지, 인기 급상승 목록이 상위 카테고리에도 반영되는지 확인합니다.
+ */
+class ClickTelemetryServiceTest {
+
+    private ClickTelemetryServiceImpl telemetryService;
+
+    @BeforeEach
+    void setUp() {
+        BookmarkColumnStore store = BookmarkColumnStore.from(List.of(
+                Bookmark.builder().name("GitLab").url("https://gitlab.com").category("DevOps").build(),
+                Bookmark.builder().name("Docs").url("https://docs.example.com").category("Docs").build(),
+                Bookmark.builder().name("Grafana").url("https://grafana.example.com").category("Ops/Monitoring").build()
+        ));
+        BookmarkSnapshot snapshot = BookmarkSnapshot.builder()
+                .version("v1")
+                .columnStore(store)
+                .urlIndex(UrlIndex.build(store))
+                .build();
+        BookmarkSnapshotService snapshotService = new BookmarkSnapshotService() {
+            @Override
+            public BookmarkSnapshot getCurrentSnapshot() {
+                return snapshot;
+            }
+
+            @Override
+            public BookmarkSnapshot getSnapshot(String version) {
+                return snapshot;
+            }
+
+            @Override
+            public SnapshotBodies getSnapshotBodies(String version) {
+                return SnapshotBodies.of(snapshot);
+            }
+
+            @Override
+            public SnapshotDiff getChangesSince(String version) {
+                return null;
+            }
+        };
+        telemetryService = new ClickTelemetryServiceImpl(snapshotService, new TelemetryProperties());
+    }
+
+    private static List<String> names(BookmarkRows rows) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            names.add(rows.getStore().name(rows.row(i)));
+        }
+        return names;
+    }
+
+    @Test
+    void popular_shouldRankByClicksAfterAggregation() {
+        // Arrange
+        int recorded = telemetryService.recordClicks(List.of("https://docs.example.com", "https://grafana.example.com",
+                "HTTPS://DOCS.EXAMPLE.COM/", "https://unknown.example.com"));
+
+        // Act
+        List<String> before = names(telemetryService.popular(null));
+        telemetryService.aggregate();
+        List<String> after = names(telemetryService.popular(null));
+
+        // Assert
+        assertEquals(3, recorded);
+        assertEquals(List.of(), before);
+        assertEquals(List.of("Docs", "Grafana"), after);
+        assertEquals(List.of("Docs"), names(telemetryService.popular(1)));
+    }
+
+    @Test
+    void recordClicks_shouldCountConcurrentClicks() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                int recorded = 0;
+                for (int click = 0; click < 1000; click++) {
+                    recorded += telemetryService.recordClicks(List.of("https://gitlab.com"));
+                }
+                return recorded;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executor.shutdown();
+        telemetryService.recordClicks(List.of("https://grafana.example.com", "https://grafana.example.com"));
+        telemetryService.aggregate();
+
+        // Assert
+        assertEquals(8000, total);
+        assertEquals(List.of("GitLab", "Grafana"), names(telemetryService.popular(null)));
+    }
+
+    @Test
+    void trending_shouldRankClicksWithinCategoryAndAncestors() {
+        // Arrange
+        telemetryService.recordClicks(List.of("https://grafana.example.com", "https://grafana.example.com",
+                "https://docs.example.com", "https://gitlab.com", "https://gitlab.com", "https://gitlab.com"));
+
+        // Act
+        telemetryService.aggregate();
+
+        // Assert
+        assertEquals(List.of("Grafana"), names(telemetryService.trending("Ops/Monitoring", null)));
+        assertEquals(List.of("Grafana"), names(telemetryService.trending("Ops/", null)));
+        assertEquals(List.of("Docs"), names(telemetryService.trending("Docs", null)));
+        assertEquals(List.of("GitLab", "Grafana", "Docs"), names(telemetryService.trending("", null)));
+        assertEquals(List.of("GitLab"), names(telemetryService.trending("", 1)));
+        assertEquals(List.of(), names(telemetryService.trending("Unknown", null)));
+    }
+}
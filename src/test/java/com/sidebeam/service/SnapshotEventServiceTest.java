@@ -0,0 +1,190 @@
+package com.sidebeam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sidebeam.bookmark.config.FilterProperties;
+import com.sidebeam.bookmark.config.LookupProperties;
+import com.sidebeam.bookmark.config.NotificationProperties;
+import com.sidebeam.bookmark.config.SearchProperties;
+import com.sidebeam.bookmark.config.SnapshotProperties;
+import com.sidebeam.bookmark.domain.model.Bookmark;
+import com.sidebeam.bookmark.domain.model.CategoryNode;
+import com.sidebeam.bookmark.domain.snapshot.SnapshotPublishedEvent;
+import com.sidebeam.bookmark.service.BookmarkService;
+import com.sidebeam.bookmark.service.impl.BookmarkSnapshotServiceImpl;
+import com.sidebeam.bookmark.service.impl.SnapshotEventServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SnapshotEventServiceImpl 클래스의 테스트입니다.
+ * 구독 시 현재 버전을 보내는지, 버전이 바뀔 때마다 하나의 이벤트만 보내고 같은 버전의 재생성에는 보내지 않는지,
+ * 변경 사항이 설정된 크기 이하일 때만 포함되는지, 스트림이 최대 수명 후 종료되는지 확인합니다.
+ */
+class SnapshotEventServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final StubBookmarkService bookmarkService = new StubBookmarkService();
+    private final NotificationProperties notificationProperties = new NotificationProperties();
+    private SnapshotEventServiceImpl eventService;
+    private BookmarkSnapshotServiceImpl snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        notificationProperties.setMaxDeltaSize(2);
+        eventService = new SnapshotEventServiceImpl(objectMapper, notificationProperties);
+        snapshotService = new BookmarkSnapshotServiceImpl(bookmarkService, new ObjectMapper(), new SnapshotProperties(),
+                new SearchProperties(), new FilterProperties(), new LookupProperties(),
+                event -> eventService.onSnapshotPublished((SnapshotPublishedEvent) event));
+    }
+
+    @Test
+    void events_shouldSendCurrentVersionOnSubscribe() {
+        // Arrange
+        String version = publish("GitLab");
+
+        // Act & Assert
+        StepVerifier.create(eventService.events(false))
+                .assertNext(event -> {
+                    assertEquals(version, event.id());
+                    assertEquals("snapshot", event.event());
+                    assertTrue(event.data().contains("\"version\":\"" + version + "\""), event.data());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void events_shouldSendOneEventPerVersionChange() {
+        // Arrange
+        String first = publish("GitLab");
+        List<String> versions = new ArrayList<>();
+        List<ServerSentEvent<String>> updates = new ArrayList<>();
+
+        // Act: rebuilding identical content keeps the version, so the next event must be the new version
+        StepVerifier.create(eventService.events(false))
+                .assertNext(event -> assertEquals(first, event.id()))
+                .then(() -> versions.add(publish("GitLab")))
+                .then(() -> versions.add(publish("GitLab", "Grafana")))
+                .consumeNextWith(updates::add)
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        // Assert
+        assertEquals(first, versions.get(0));
+        assertNotEquals(first, versions.get(1));
+        assertEquals(versions.get(1), updates.get(0).id());
+        assertTrue(updates.get(0).data().contains("\"previousVersion\":\"" + first + "\""), updates.get(0).data());
+    }
+
+    @Test
+    void events_shouldAttachOnlySmallDeltasWhenRequested() {
+        // Arrange
+        publish("GitLab");
+
+        // Act & Assert
+        StepVerifier.create(eventService.events(true))
+                .assertNext(event -> assertFalse(event.data().contains("\"changes\""), event.data()))
+                .then(() -> publish("GitLab", "Grafana"))
+                .assertNext(event -> {
+                    assertTrue(event.data().contains("\"changes\""), event.data());
+                    assertTrue(event.data().contains("Grafana"), event.data());
+                })
+                .then(() -> publish("Jenkins", "Wiki"))
+                .assertNext(event -> assertFalse(event.data().contains("\"changes\""), event.data()))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void events_shouldOmitDeltasUnlessRequested() {
+        // Arrange
+        publish("GitLab");
+
+        // Act & Assert
+        StepVerifier.create(eventService.events(false))
+                .expectNextCount(1)
+                .then(() -> publish("GitLab", "Grafana"))
+                .assertNext(event -> assertFalse(event.data().contains("\"changes\""), event.data()))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void events_shouldCompleteAfterMaxLifetime() {
+        // Arrange
+        NotificationProperties properties = new NotificationProperties();
+        properties.setHeartbeatInterval(25);
+        properties.setMaxLifetime(60);
+
+        // Act & Assert: keep-alive comments at 25s and 50s, then the stream ends at 60s
+        StepVerifier.withVirtualTime(() -> new SnapshotEventServiceImpl(objectMapper, properties).events(false))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(25))
+                .assertNext(SnapshotEventServiceTest::assertKeepAlive)
+                .thenAwait(Duration.ofSeconds(25))
+                .assertNext(SnapshotEventServiceTest::assertKeepAlive)
+                .thenAwait(Duration.ofSeconds(10))
+                .expectComplete()
+                .verify(TIMEOUT);
+    }
+
+    private static void assertKeepAlive(ServerSentEvent<String> event) {
+        assertEquals("keepalive", event.comment());
+        assertNull(event.data());
+    }
+
+    private String publish(String... names) {
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (String name : names) {
+            bookmarks.add(Bookmark.builder()
+                    .name(name)
+                    .url("https://" + name.toLowerCase() + ".example.com")
+                    .category("DevOps")
+                    .build());
+        }
+        bookmarkService.load(bookmarks);
+        snapshotService.refreshSnapshotScheduled();
+        return snapshotService.getCurrentSnapshot().getVersion();
+    }
+
+    /**
+     * 테스트에서 지정한 목록을 북마크 캐시처럼 반환하는 BookmarkService입니다.
+     */
+    private static final class StubBookmarkService implements BookmarkService {
+
+        private volatile List<Bookmark> cached;
+
+        private void load(List<Bookmark> bookmarks) {
+            cached = bookmarks;
+        }
+
+        @Override
+        public List<Bookmark> getAllBookmarks() {
+            return cached;
+        }
+
+        @Override
+        public List<Bookmark> getCachedBookmarks() {
+            return cached;
+        }
+
+        @Override
+        public CategoryNode getCategoryTree() {
+            return null;
+        }
+
+        @Override
+        public void refreshBookmarks() {
+        }
+    }
+}
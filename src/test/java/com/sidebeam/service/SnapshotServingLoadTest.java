@@ -0,0 +1,219 @@
+package com.sidebeam.service;
+
+import com.sidebeam.bookmark.service.GitLabService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GitLab이 느릴 때 실제 서버가 북마크 요청을 계속 처리하는지 확인하는 부하 테스트입니다.
+ * 애플리케이션을 임의 포트로 띄우고 GitLabService를 응답마다 지연되는 스텁으로 바꾼 뒤,
+ * 웹훅으로 북마크 캐시를 주기적으로 비우면서 여러 클라이언트가 HTTP로 /bookmarks를 요청합니다.
+ * 캐시를 다시 읽는 것은 스냅샷 갱신 스케줄러뿐이므로, 요청은 GitLab을 기다리지 않고 기존 스냅샷으로 응답해야 합니다.
+ * 기본 테스트 작업에서는 제외되며 ./gradlew loadTest로 실행합니다.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "snapshot.refresh-check-interval=1",
+        "logging.level.com.sidebeam=WARN",
+        "logging.level.com.sidebeam.service.SnapshotServingLoadTest=INFO",
+        "webhook.secret-token=" + SnapshotServingLoadTest.WEBHOOK_TOKEN
+})
+class SnapshotServingLoadTest {
+
+    static final String WEBHOOK_TOKEN = "load-test";
+
+    private static final long GITLAB_LATENCY_MS = 1_500;
+    private static final long EVICT_INTERVAL_MS = 3_000;
+    private static final long WARMUP_MS = 3_000;
+    private static final long RUN_MS = 10_000;
+    private static final int CLIENTS = 20;
+    private static final int BOOKMARKS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SlowGitLabService gitLabService;
+
+    @Test
+    void bookmarks_shouldKeepServingWhileGitLabIsSlow() throws Exception {
+        // Arrange
+        HttpClient client = HttpClient.newBuilder().build();
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        AtomicLongArray histogram = new AtomicLongArray(64);
+        Set<String> etags = ConcurrentHashMap.newKeySet();
+        int loadsBefore = gitLabService.loads.get();
+        long measureFrom = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MS);
+        long deadline = measureFrom + TimeUnit.MILLISECONDS.toNanos(RUN_MS);
+
+        // Act
+        Thread evictor = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(WARMUP_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            while (System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(EVICT_INTERVAL_MS);
+                    client.send(HttpRequest.newBuilder(uri("/webhook/gitlab"))
+                            .header("Content-Type", "application/json")
+                            .header("X-Gitlab-Token", WEBHOOK_TOKEN)
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"event_name\":\"push\"}"))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    failed.increment();
+                }
+            }
+        });
+
+        // Closed-loop clients: each sends the next request when the previous response arrives.
+        // Responses during the warm-up are not recorded, and the cache is not evicted until it ends.
+        HttpRequest request = HttpRequest.newBuilder(uri("/bookmarks")).GET().build();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    HttpResponse<byte[]> response;
+                    try {
+                        response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    } catch (Exception e) {
+                        failed.increment();
+                        continue;
+                    }
+                    if (response.statusCode() != 200 || response.body().length == 0) {
+                        failed.increment();
+                        continue;
+                    }
+                    if (start < measureFrom) {
+                        continue;
+                    }
+                    response.headers().firstValue("ETag").ifPresent(etags::add);
+                    long micros = Math.max(1, (System.nanoTime() - start) / 1_000);
+                    histogram.incrementAndGet(63 - Long.numberOfLeadingZeros(micros));
+                    completed.increment();
+                }
+            }));
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        evictor.interrupt();
+        evictor.join();
+
+        long p99Micros = p99Micros(histogram);
+        int reloads = gitLabService.loads.get() - loadsBefore;
+        log.info("[load] {} req/s, p99 {} us, {} failed, GitLab reloads {}, versions served {}",
+                completed.sum() * 1000 / RUN_MS, p99Micros, failed.sum(), reloads, etags.size());
+
+        // Assert
+        assertEquals(0, failed.sum());
+        assertTrue(p99Micros < GITLAB_LATENCY_MS * 1000 / 2,
+                "requests must not wait for GitLab, p99 was " + p99Micros + " us");
+        assertTrue(reloads >= 2, "the refresher should reload after evictions, got " + reloads);
+        assertTrue(reloads <= RUN_MS / EVICT_INTERVAL_MS + 1, "one reload per eviction expected, got " + reloads);
+        assertTrue(etags.size() >= 2, "new versions should be served while clients keep reading, got " + etags);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static long p99Micros(AtomicLongArray histogram) {
+        long total = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            total += histogram.get(i);
+        }
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= total * 0.99) {
+                return 1L << (i + 1);
+            }
+        }
+        return 0;
+    }
+
+    @TestConfiguration
+    static class SlowGitLabConfig {
+
+        @Bean
+        @Primary
+        SlowGitLabService slowGitLabService() {
+            return new SlowGitLabService();
+        }
+    }
+
+    /**
+     * 호출마다 GITLAB_LATENCY_MS만큼 지연되는 GitLabService입니다.
+     * 읽을 때마다 한 북마크의 이름이 바뀌므로 다시 읽은 데이터는 새 스냅샷 버전이 됩니다.
+     */
+    static final class SlowGitLabService implements GitLabService {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        public Map<String, String> fetchAllYamlFiles() {
+            sleep();
+            int load = loads.incrementAndGet();
+            StringBuilder yaml = new StringBuilder();
+            for (int i = 0; i < BOOKMARKS; i++) {
+                yaml.append("- name: \"Tool ").append(i == 0 ? "0 (load " + load + ")" : String.valueOf(i)).append("\"\n")
+                        .append("  url: \"https://tool").append(i).append(".example.com\"\n")
+                        .append("  domain: \"tool").append(i).append(".example.com\"\n")
+                        .append("  category: \"Team").append(i % 20).append("/Area").append(i % 7).append("\"\n")
+                        .append("  meta:\n")
+                        .append("    owner: \"team-").append(i % 20).append("\"\n");
+            }
+            return Map.of("tools:bookmarks.yml", yaml.toString());
+        }
+
+        @Override
+        public String fetchYamlFile(String filePath) {
+            sleep();
+            return "";
+        }
+
+        @Override
+        public List<String> listYamlFiles() {
+            sleep();
+            return List.of("bookmarks.yml");
+        }
+
+        private static void sleep() {
+            try {
+                Thread.sleep(GITLAB_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}